@@ -0,0 +1,314 @@
+package duke;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import duke.exception.CorruptedStorageException;
+import duke.task.Task;
+
+/**
+ * A class that represents the archive of completed tasks on the hard disk.
+ * Archived tasks are stored in blocks of up to {@link #BLOCK_SIZE} tasks, where each block is
+ * compressed on its own. A separate index file records where each block is, together with a
+ * summary of the descriptions in the block, so that a search only needs to read and decompress
+ * the blocks which could contain a match.
+ */
+class Archive {
+    /**
+     * The maximum number of tasks stored in each block.
+     */
+    private static final int BLOCK_SIZE = 256;
+
+    /**
+     * The number of bits in the summary of each block. Every three consecutive characters of the
+     * descriptions in a block sets two of these bits.
+     */
+    private static final int FILTER_BITS = 8192;
+    private static final int FILTER_WORDS = FILTER_BITS / Long.SIZE;
+    private static final int FILTER_SHIFT =
+            Integer.SIZE - Integer.numberOfTrailingZeros(FILTER_BITS);
+    private static final int MIN_FILTERED_KEYWORD_LENGTH = 3;
+
+    /**
+     * The size of each entry in the index file, which consists of the offset of the block in the
+     * archive, the compressed size of the block, the number of tasks in the block, and then the
+     * summary of the block.
+     */
+    private static final int INDEX_ENTRY_SIZE =
+            Long.BYTES + Integer.BYTES + Integer.BYTES + FILTER_WORDS * Long.BYTES;
+
+    private final Path archivePath;
+    private final Path indexPath;
+
+    /**
+     * The sizes of the archive and the index before the last append, or <code>-1</code> if the
+     * last append has been removed.
+     */
+    private long archiveSizeBeforeAppend = -1;
+    private long indexSizeBeforeAppend = -1;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param archivePath The path to save archived tasks to in the hard disk. The index is saved
+     *                    next to it, with an additional <code>.idx</code> extension.
+     */
+    Archive(Path archivePath) {
+        this.archivePath = archivePath;
+        this.indexPath = archivePath.resolveSibling(archivePath.getFileName() + ".idx");
+    }
+
+    /**
+     * Appends the given tasks to the archive as new blocks.
+     * Existing blocks are never rewritten.
+     *
+     * @param tasks The tasks to be archived.
+     * @throws IOException               If there are issues reading/writing to the archive.
+     * @throws CorruptedStorageException If an archive without an index could not be read.
+     */
+    void append(List<Task> tasks) throws IOException, CorruptedStorageException {
+        this.indexIfUnindexed();
+        long archiveSize = Files.exists(this.archivePath) ? Files.size(this.archivePath) : 0;
+        long indexSize = Files.exists(this.indexPath) ? Files.size(this.indexPath) : 0;
+        Archive.writeBlocks(tasks, this.archivePath, this.indexPath);
+        this.archiveSizeBeforeAppend = archiveSize;
+        // A partially written entry at the end of the index was cut off before appending
+        this.indexSizeBeforeAppend = indexSize - indexSize % INDEX_ENTRY_SIZE;
+    }
+
+    /**
+     * Removes the tasks appended by the last call to {@link #append(List)} from the archive.
+     * Other processes must have been kept from appending since, so that only those tasks are
+     * removed. Nothing is removed if they were already removed.
+     *
+     * @throws IOException If there are issues writing to the archive.
+     */
+    void removeLastAppend() throws IOException {
+        if (this.indexSizeBeforeAppend < 0) {
+            return;
+        }
+
+        // The index is cut first, so that it never refers to a block that does not exist
+        try (FileChannel index = FileChannel.open(this.indexPath, StandardOpenOption.WRITE)) {
+            index.truncate(this.indexSizeBeforeAppend);
+        }
+        try (FileChannel archive = FileChannel.open(this.archivePath, StandardOpenOption.WRITE)) {
+            archive.truncate(this.archiveSizeBeforeAppend);
+        }
+        this.archiveSizeBeforeAppend = -1;
+        this.indexSizeBeforeAppend = -1;
+    }
+
+    /**
+     * Returns the archived tasks whose description contains the given keyword.
+     * Only the blocks whose summary shows that they could contain the keyword are decompressed.
+     *
+     * @param keyword The keyword to search for.
+     * @return A list of the matching archived <code>Task</code>s.
+     * @throws IOException               If there are issues reading the archive.
+     * @throws CorruptedStorageException If some archived tasks could not be de-serialised.
+     */
+    List<Task> search(String keyword) throws IOException, CorruptedStorageException {
+        List<Task> matchingTasks = new ArrayList<>();
+        if (!Files.exists(this.archivePath)) {
+            return matchingTasks;
+        }
+        this.indexIfUnindexed();
+
+        long[] keywordFilter = null;
+        if (keyword.length() >= MIN_FILTERED_KEYWORD_LENGTH) {
+            keywordFilter = new long[FILTER_WORDS];
+            Archive.addToFilter(keywordFilter, keyword);
+        }
+
+        // A partially written entry at the end of the index is ignored, along with its block
+        long numBlocks = Files.size(this.indexPath) / INDEX_ENTRY_SIZE;
+        long[] blockFilter = new long[FILTER_WORDS];
+        try (FileChannel archive = FileChannel.open(this.archivePath, StandardOpenOption.READ);
+                DataInputStream index = new DataInputStream(new BufferedInputStream(
+                        Files.newInputStream(this.indexPath)))) {
+            for (long i = 0; i < numBlocks; i++) {
+                long offset = index.readLong();
+                int length = index.readInt();
+                index.readInt();
+                for (int j = 0; j < FILTER_WORDS; j++) {
+                    blockFilter[j] = index.readLong();
+                }
+
+                if (keywordFilter != null && !Archive.containsAll(blockFilter, keywordFilter)) {
+                    continue;
+                }
+                for (Task task : Archive.readBlock(archive, offset, length)) {
+                    if (task.containsKeyword(keyword)) {
+                        matchingTasks.add(task);
+                    }
+                }
+            }
+        }
+
+        return matchingTasks;
+    }
+
+    /**
+     * Builds the index for an archive which does not have one, such as an archive that was
+     * written as a single compressed stream, by rewriting the archive as indexed blocks.
+     */
+    private void indexIfUnindexed() throws IOException, CorruptedStorageException {
+        if (!Files.exists(this.archivePath) || Files.exists(this.indexPath)) {
+            return;
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(this.archivePath)),
+                StandardCharsets.UTF_8))) {
+            String serialisedTask;
+            while ((serialisedTask = reader.readLine()) != null) {
+                tasks.add(Storage.deserialiseTask(serialisedTask));
+            }
+        }
+
+        // The rewritten archive is still a valid compressed stream, so if this is interrupted
+        // before the index is moved into place, it is simply indexed again next time
+        Path tempArchivePath =
+                this.archivePath.resolveSibling(this.archivePath.getFileName() + ".tmp");
+        Path tempIndexPath = this.indexPath.resolveSibling(this.indexPath.getFileName() + ".tmp");
+        Files.deleteIfExists(tempArchivePath);
+        Files.deleteIfExists(tempIndexPath);
+        Archive.writeBlocks(tasks, tempArchivePath, tempIndexPath);
+        Files.move(tempArchivePath, this.archivePath, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tempIndexPath, this.indexPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Appends the given tasks to the archive as new blocks, and then their entries to the index.
+     * The blocks are forced to the hard disk before the index refers to them, so the index never
+     * refers to a block that does not exist, even if the computer crashes. A partially written
+     * entry left at the end of the index by an earlier crash is cut off first, as the new entries
+     * would otherwise be read out of step with the entry size.
+     */
+    private static void writeBlocks(List<Task> tasks, Path archivePath, Path indexPath)
+            throws IOException {
+        ByteArrayOutputStream indexEntries = new ByteArrayOutputStream();
+        try (FileChannel archive = FileChannel.open(archivePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            DataOutputStream index = new DataOutputStream(indexEntries);
+            long offset = archive.size();
+            for (int from = 0; from < tasks.size(); from += BLOCK_SIZE) {
+                List<Task> blockTasks =
+                        tasks.subList(from, Math.min(from + BLOCK_SIZE, tasks.size()));
+                ByteBuffer block = ByteBuffer.wrap(Archive.compressBlock(blockTasks));
+                int length = block.remaining();
+                while (block.hasRemaining()) {
+                    archive.write(block, offset + block.position());
+                }
+
+                long[] blockFilter = new long[FILTER_WORDS];
+                for (Task task : blockTasks) {
+                    Archive.addToFilter(blockFilter, task.getDescription());
+                }
+                index.writeLong(offset);
+                index.writeInt(length);
+                index.writeInt(blockTasks.size());
+                for (long word : blockFilter) {
+                    index.writeLong(word);
+                }
+                offset += length;
+            }
+            archive.force(true);
+        }
+
+        try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            long indexSize = index.size() - index.size() % INDEX_ENTRY_SIZE;
+            index.truncate(indexSize);
+            ByteBuffer entries = ByteBuffer.wrap(indexEntries.toByteArray());
+            while (entries.hasRemaining()) {
+                index.write(entries, indexSize + entries.position());
+            }
+            index.force(true);
+        }
+    }
+
+    private static byte[] compressBlock(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(block),
+                StandardCharsets.UTF_8)) {
+            for (Task task : tasks) {
+                task.serialiseTo(writer);
+                writer.write('\n');
+            }
+        }
+        return block.toByteArray();
+    }
+
+    private static List<Task> readBlock(FileChannel archive, long offset, int length)
+            throws IOException, CorruptedStorageException {
+        ByteBuffer block = ByteBuffer.allocate(length);
+        while (block.hasRemaining()) {
+            if (archive.read(block, offset + block.position()) < 0) {
+                throw new CorruptedStorageException("Some archived tasks are missing!");
+            }
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(block.array())),
+                StandardCharsets.UTF_8))) {
+            String serialisedTask;
+            while ((serialisedTask = reader.readLine()) != null) {
+                tasks.add(Storage.deserialiseTask(serialisedTask));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Sets the bits of the filter for every three consecutive characters in the given text.
+     * Characters are compared the same way as in {@link Task#containsKeyword(String)}, so a block
+     * with a description that contains the keyword has every bit of the keyword's filter set.
+     */
+    private static void addToFilter(long[] filter, String text) {
+        for (int i = 0; i + MIN_FILTERED_KEYWORD_LENGTH <= text.length(); i++) {
+            int trigram = (Archive.foldCase(text.charAt(i)) * 31
+                    + Archive.foldCase(text.charAt(i + 1))) * 31
+                    + Archive.foldCase(text.charAt(i + 2));
+            int firstBit = (trigram * 0x9E3779B9) >>> FILTER_SHIFT;
+            int secondBit = (trigram * 0x85EBCA6B) >>> FILTER_SHIFT;
+            filter[firstBit / Long.SIZE] |= 1L << firstBit;
+            filter[secondBit / Long.SIZE] |= 1L << secondBit;
+        }
+    }
+
+    private static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static boolean containsAll(long[] filter, long[] otherFilter) {
+        for (int i = 0; i < FILTER_WORDS; i++) {
+            if ((filter[i] & otherFilter[i]) != otherFilter[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package duke;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A bounded pool of task descriptions, used so that tasks sharing the same description also share
+ * the same <code>String</code> instance.
+ * Descriptions are only weakly referenced, so a description is dropped from the pool once no task
+ * uses it anymore.
+ */
+class DescriptionPool {
+    /**
+     * The maximum number of distinct descriptions held before the pool is cleared.
+     */
+    private static final int MAX_SIZE = 4096;
+
+    /**
+     * Maps each pooled description to a weak reference to itself. The value has to be weak as well,
+     * otherwise it would keep its own key alive.
+     */
+    private static final Map<String, WeakReference<String>> POOL = new WeakHashMap<>();
+
+    /**
+     * Returns the pooled instance of the given description, adding it to the pool if it is not
+     * already present.
+     *
+     * @param description The description to be pooled.
+     * @return A description equal to the given one, shared with all other callers.
+     */
+    static synchronized String intern(String description) {
+        WeakReference<String> reference = POOL.get(description);
+        String pooledDescription = reference == null ? null : reference.get();
+        if (pooledDescription != null) {
+            return pooledDescription;
+        }
+
+        // Clearing only means later duplicates are no longer shared with earlier ones, so this is
+        // a cheap way of keeping the pool bounded.
+        if (POOL.size() >= MAX_SIZE) {
+            POOL.clear();
+        }
+        POOL.put(description, new WeakReference<>(description));
+        return description;
+    }
+}
@@ -2,9 +2,18 @@ package duke;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
+import duke.command.ArchiveCommand;
 import duke.command.Command;
+import duke.exception.CorruptedStorageException;
 import duke.exception.DukeException;
+import duke.exception.StaleStorageException;
+import duke.task.Task;
+import duke.task.TaskLayout;
 import duke.task.TaskList;
 import javafx.application.Platform;
 
@@ -17,35 +26,227 @@ public class Duke {
      */
     private static final Path FILE_PATH = Paths.get(".", "data", "duke.txt");
 
+    /**
+     * The file path where archived tasks will be stored.
+     */
+    private static final Path ARCHIVE_FILE_PATH = Paths.get(".", "data", "archive.gz");
+
+    /**
+     * The system property that chooses how soon saved tasks are made durable, which is one of
+     * "sync", "group" or "async". Every save is made durable immediately if it is not set.
+     */
+    private static final String DURABILITY_PROPERTY = "duke.durability";
+
+    /**
+     * The system property that chooses how the tasks are laid out in memory, which is one of
+     * "objects" or "columns". Every task is kept as an object if it is not set.
+     */
+    private static final String TASK_LAYOUT_PROPERTY = "duke.taskLayout";
+
+    /**
+     * The number of completed tasks that can be kept in the list before they are automatically
+     * archived when the chat bot starts.
+     */
+    private static final int MAX_COMPLETED_TASKS = 100;
+
     /**
      * The message that is used to greet the user.
      */
     private static final String GREETING =
             "Hello! I'm Duke\nType 'help' to see what I can do for you!";
 
+    /**
+     * The message that is used to warn the user about saved tasks that were damaged.
+     */
+    private static final String QUARANTINE_WARNING =
+            "Warning: %d saved tasks were damaged and could not be loaded. "
+            + "They have been set aside in %s.";
+
+    /**
+     * The message that is used to warn the user that changes made to the saved tasks by other
+     * programs will only be seen when the next command is given.
+     */
+    private static final String WATCH_FAILURE_WARNING =
+            "%s\nChanges made by other programs will only show up once you type a command.";
+
+    /**
+     * The message that is used to warn the user that today's snapshot could not be taken.
+     */
+    private static final String SNAPSHOT_FAILURE_WARNING =
+            "%s\nToday's snapshot was not taken. Type 'snapshot' to try again.";
+
+    /**
+     * The message that is used to warn the user that the completed tasks could not be archived
+     * at startup.
+     */
+    private static final String ARCHIVE_FAILURE_WARNING =
+            "%s\nThe completed tasks were not archived. Type 'archive' to try again.";
+
+    /**
+     * The number of times a command is made again on the tasks saved by another program, before
+     * giving up on saving its changes.
+     */
+    private static final int MAX_REBASE_ATTEMPTS = 3;
+
     /**
      * The storage associated with the chat bot.
      */
     private final Storage storage;
 
+    /**
+     * Runs actions on the thread that every command is given on, which is the JavaFX application
+     * thread unless another one was chosen.
+     */
+    private final Executor commandExecutor;
+
     /**
      * The list of tasks associated with the chat bot.
      */
     private TaskList tasks;
 
     /**
-     * Initialises a new instance of Duke.
+     * Shows the user warnings about work that Duke did in the background, rather than in reply
+     * to an input.
+     */
+    private Consumer<String> warningHandler = warning -> { };
+
+    /**
+     * Initialises a new instance of Duke, with an empty list of tasks until the saved tasks are
+     * loaded with {@link #loadTasks()}. Every command must be given on the JavaFX application
+     * thread.
      */
     public Duke() {
-        this.storage = new Storage(Duke.FILE_PATH);
+        this(Platform::runLater);
+    }
+
+    /**
+     * Initialises a new instance of Duke, with an empty list of tasks until the saved tasks are
+     * loaded with {@link #loadTasks()}. Every command must be given on the thread that the given
+     * executor runs actions on.
+     *
+     * @param commandExecutor Runs actions on the thread that every command is given on.
+     */
+    Duke(Executor commandExecutor) {
+        this.commandExecutor = commandExecutor;
+        Durability durability =
+                Durability.fromKeyword(System.getProperty(Duke.DURABILITY_PROPERTY, ""));
+        this.storage = new Storage(Duke.FILE_PATH, Duke.ARCHIVE_FILE_PATH,
+                durability == null ? Durability.SYNC : durability);
+        this.tasks = new TaskList();
+        this.tasks.setChangeRecorder(this.storage.getHistory());
+    }
+
+    /**
+     * Sets how to show the user warnings about work that Duke did in the background, such as
+     * merging changes made to the saved tasks by other programs. This must be called before
+     * {@link #loadTasks()}, and the warnings can be given on any thread.
+     *
+     * @param warningHandler Shows the given warning to the user.
+     */
+    public void setWarningHandler(Consumer<String> warningHandler) {
+        this.warningHandler = warningHandler;
+    }
+
+    /**
+     * Loads the saved tasks into the list of tasks, which takes time in proportion to the number
+     * of saved tasks. This can be called from any thread, but no other method may be called
+     * until it returns. The list stays empty if the saved tasks could not be read.
+     *
+     * @throws CorruptedStorageException If the saved tasks could not be read.
+     */
+    public void loadTasks() throws CorruptedStorageException {
+        TaskLayout layout =
+                TaskLayout.fromKeyword(System.getProperty(Duke.TASK_LAYOUT_PROPERTY, ""));
+        TaskList loadedTasks = new TaskList(this.storage.loadTasks(),
+                layout == null ? TaskLayout.OBJECTS : layout);
+        loadedTasks.setChangeRecorder(this.storage.getHistory());
+        this.tasks = loadedTasks;
 
+        this.archiveIfTooManyCompletedTasks();
+        this.snapshotIfNoneToday();
         try {
-            this.tasks = new TaskList(this.storage.loadTasks());
+            // Changes are merged on the thread that every command runs on
+            this.storage.watchForExternalChanges(
+                    () -> this.commandExecutor.execute(this::mergeExternalChanges));
         } catch (DukeException e) {
-            this.tasks = new TaskList();
+            // Changes made by other programs are still merged before each command
+            this.warningHandler.accept(String.format(Duke.WATCH_FAILURE_WARNING, e.getMessage()));
         }
     }
 
+    /**
+     * Merges the changes that other programs made to the saved tasks into the list of tasks, so
+     * that the list shows them without restarting.
+     */
+    private void mergeExternalChanges() {
+        try {
+            this.storage.mergeExternalChanges(this.tasks);
+        } catch (DukeException e) {
+            this.warningHandler.accept(e.getMessage());
+        }
+    }
+
+    /**
+     * Takes a snapshot of the list in the background if none has been taken today, so that the
+     * list can be compared with or restored to how it was on any recent day.
+     */
+    private void snapshotIfNoneToday() {
+        try {
+            String latestName = this.storage.findSnapshot(null);
+            if (latestName != null && latestName.startsWith(LocalDate.now().toString())) {
+                return;
+            }
+        } catch (DukeException e) {
+            this.warningHandler.accept(String.format(Duke.SNAPSHOT_FAILURE_WARNING,
+                    e.getMessage()));
+            return;
+        }
+
+        // The snapshot is written from a copy, so the list can be changed in the meantime
+        TaskList snapshot = this.tasks.snapshot();
+        CompletableFuture.runAsync(() -> {
+            try {
+                this.storage.saveSnapshot(snapshot);
+            } catch (DukeException e) {
+                this.warningHandler.accept(String.format(Duke.SNAPSHOT_FAILURE_WARNING,
+                        e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Archives all completed tasks if there are more than {@link #MAX_COMPLETED_TASKS} of them,
+     * so that the list does not keep growing with old tasks. The user is told how many tasks were
+     * archived, or why they could not be, through the warning handler.
+     */
+    private void archiveIfTooManyCompletedTasks() {
+        int numCompletedTasks = 0;
+        for (Task task : this.tasks) {
+            if (task.isDone()) {
+                numCompletedTasks++;
+            }
+        }
+
+        if (numCompletedTasks > Duke.MAX_COMPLETED_TASKS) {
+            try {
+                this.warningHandler.accept(this.execute(new ArchiveCommand()));
+            } catch (DukeException e) {
+                // The tasks stay in the list, so this is also retried on the next start
+                this.warningHandler.accept(
+                        String.format(Duke.ARCHIVE_FAILURE_WARNING, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Returns the list of tasks associated with the chat bot.
+     *
+     * @return The list of tasks associated with the chat bot.
+     */
+    public TaskList getTasks() {
+        return this.tasks;
+    }
+
     /**
      * Returns the message that Duke will use to greet the user when first launching the
      * application.
@@ -56,6 +257,20 @@ public class Duke {
         return Duke.GREETING;
     }
 
+    /**
+     * Returns a warning about the saved tasks that were damaged and set aside when the saved tasks
+     * were loaded.
+     *
+     * @return The warning, or <code>null</code> if no saved tasks were damaged.
+     */
+    public String getQuarantineWarning() {
+        int numQuarantinedTasks = this.storage.getNumQuarantinedTasks();
+        if (numQuarantinedTasks == 0) {
+            return null;
+        }
+        return String.format(Duke.QUARANTINE_WARNING, numQuarantinedTasks,
+                this.storage.getQuarantinePath());
+    }
 
     /**
      * Generates the Duke's response to the given input.
@@ -67,11 +282,66 @@ public class Duke {
         try {
             Command c = Parser.parse(input);
             if (c.isExit()) {
+                // Saves may still be waiting to be written in the background
+                storage.flush();
                 Platform.exit();
             }
-            return c.execute(tasks, storage);
+            return this.execute(c);
         } catch (DukeException e) {
             return (e.getMessage());
         }
     }
+
+    /**
+     * Writes any saves that are still waiting to be written in the background, and stops watching
+     * the saved tasks for changes. This is called when the application stops, however it is
+     * closed, and no other method may be called afterwards.
+     *
+     * @throws CorruptedStorageException If the remaining saves could not be written.
+     */
+    public void close() throws CorruptedStorageException {
+        this.storage.close();
+    }
+
+    /**
+     * Executes the given command, recording the changes it makes to the list as a single edit that
+     * can be undone.
+     * Changes that other programs made to the saved tasks are merged first, so the command sees
+     * them. If they changed the saved tasks again before the command could save its changes, the
+     * command's changes are reversed and theirs are merged. The command is then made again on top
+     * of their changes, as long as the tasks it changed kept their IDs, such as when each program
+     * only added tasks. Otherwise, the command's changes are not saved.
+     * Other Duke processes are kept from saving while the command is made again, so that they
+     * cannot change the saved tasks again in the meantime.
+     */
+    private String execute(Command command) throws DukeException {
+        this.storage.mergeExternalChanges(this.tasks);
+        EditHistory history = this.storage.getHistory();
+        boolean isLocked = false;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                history.beginEdit();
+                try {
+                    return command.execute(this.tasks, this.storage);
+                } catch (StaleStorageException e) {
+                    int maxChangedTaskId = history.cancelEdit(this.tasks);
+                    if (!isLocked) {
+                        this.storage.lockSavedTasks();
+                        isLocked = true;
+                    }
+                    this.storage.mergeExternalChanges(this.tasks);
+                    if (attempt == Duke.MAX_REBASE_ATTEMPTS
+                            || maxChangedTaskId > this.storage.getNumTasksKeptByMerge()) {
+                        throw e;
+                    }
+                } finally {
+                    history.endEdit();
+                }
+            }
+        } finally {
+            if (isLocked) {
+                this.storage.unlockSavedTasks();
+            }
+        }
+    }
 }
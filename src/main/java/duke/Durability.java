@@ -0,0 +1,53 @@
+package duke;
+
+/**
+ * Represents how soon saved tasks are made durable on the hard disk, trading the number of tasks
+ * that can be lost in a crash against the number of commands that can be handled per second.
+ */
+public enum Durability {
+    /**
+     * Every save is flushed to the hard disk before the command that made it completes.
+     */
+    SYNC("sync"),
+
+    /**
+     * Saves made within {@link SnapshotFlusher#GROUP_LINGER_MILLIS} milliseconds of each other, or
+     * while an earlier save is still being flushed, are flushed together, and all of the saves
+     * complete once that single flush is done. Only saves made by different threads can be
+     * grouped, since each save waits for its flush; the chat bot makes all of its saves on one
+     * thread, so this only trades a little latency for throughput when the storage is shared.
+     */
+    GROUP("group"),
+
+    /**
+     * Saves are flushed in the background at most once every
+     * {@link SnapshotFlusher#ASYNC_FLUSH_INTERVAL_MILLIS} milliseconds, so the most recent changes
+     * can be lost in a crash.
+     */
+    ASYNC("async");
+
+    /**
+     * The keyword used to specify this durability.
+     */
+    private final String keyword;
+
+    Durability(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns the durability with the given keyword.
+     * The keyword is case-insensitive.
+     *
+     * @param keyword The keyword of the durability, for example "group".
+     * @return The durability with the given keyword, or <code>null</code> if there is none.
+     */
+    public static Durability fromKeyword(String keyword) {
+        for (Durability durability : Durability.values()) {
+            if (durability.keyword.equalsIgnoreCase(keyword)) {
+                return durability;
+            }
+        }
+        return null;
+    }
+}
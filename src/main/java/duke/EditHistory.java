@@ -0,0 +1,770 @@
+package duke;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import duke.exception.CorruptedStorageException;
+import duke.task.ChangeRecorder;
+import duke.task.Serialisable;
+import duke.task.Task;
+import duke.task.TaskChange;
+import duke.task.TaskList;
+
+/**
+ * The history of edits made to a {@link TaskList}, which can be undone and redone.
+ * Each edit is kept as the changes that reverse it, where a change only holds the one task that it
+ * changed, so undoing an edit takes as long as the edit did no matter how long the list is.
+ * Reversing an edit records the changes that reverse it in turn, which is what redoing it applies.
+ * Only the last {@link #MAX_EDITS} edits are kept, with the oldest edit dropped to make room for
+ * a new one.
+ * The saved history is a journal: each save only appends the edits added since the last save,
+ * and the history is only rewritten in full once enough has been appended.
+ */
+public class EditHistory implements ChangeRecorder {
+    /**
+     * The maximum number of edits that can be undone.
+     */
+    static final int MAX_EDITS = 100;
+
+    /**
+     * The number of records that can be appended to the saved history before it is rewritten in
+     * full, which keeps it within about twice the size of the edits that it holds.
+     */
+    private static final int MAX_JOURNAL_RECORDS = MAX_EDITS;
+
+    private static final String ERROR_HISTORY_OUT_OF_DATE_MSG =
+            "The history of edits no longer matches the saved tasks, so it has been cleared.";
+
+    private final Path historyPath;
+    private final Path tempHistoryPath;
+
+    /**
+     * The edits that can be undone, from the oldest to the latest.
+     */
+    private final Deque<Edit> undoableEdits = new ArrayDeque<>();
+
+    /**
+     * The edits that can be redone, from the earliest undone to the latest undone.
+     */
+    private final Deque<Edit> redoableEdits = new ArrayDeque<>();
+
+    /**
+     * Whether changes are currently recorded as part of an edit.
+     */
+    private boolean isEditing;
+
+    /**
+     * The edit that changes are currently recorded into, which is only created once the first
+     * change is recorded, so that commands which change nothing leave no edit behind.
+     */
+    private Edit currentEdit;
+
+    /**
+     * The changes applied to the list by the current edit, including those applied by undoing or
+     * redoing another edit, in the order they were applied.
+     */
+    private final List<Edit> appliedEdits = new ArrayList<>(1);
+
+    /**
+     * The edits that could be undone and redone before the current edit first changed them, or
+     * <code>null</code> if it has not changed them, so that cancelling the edit can restore them.
+     */
+    private Deque<Edit> previousUndoableEdits;
+    private Deque<Edit> previousRedoableEdits;
+
+    /**
+     * Whether the history has changed since it was last saved.
+     */
+    private boolean isChanged;
+
+    /**
+     * The hash of the saved tasks that the history was last saved or loaded for.
+     */
+    private long savedTasksHash;
+
+    /**
+     * The edits that could be undone and redone when the history was last saved or loaded, which
+     * the next save appends the differences from.
+     */
+    private List<Edit> savedUndoableEdits = List.of();
+    private List<Edit> savedRedoableEdits = List.of();
+
+    /**
+     * The size of the saved history once this history last saved or loaded it, or
+     * <code>-1</code> if it must be rewritten in full. A saved history of another size was saved
+     * by another process since, so it is never appended to.
+     */
+    private long savedHistorySize = -1;
+
+    /**
+     * The number of records appended to the saved history since it was last rewritten in full.
+     */
+    private int numJournalRecords;
+
+    /**
+     * Initialises a new instance with no edits.
+     *
+     * @param historyPath The path to save the history to in the hard disk.
+     */
+    EditHistory(Path historyPath) {
+        this.historyPath = historyPath;
+        // Each process writes its own temporary file, since other processes may save at once
+        this.tempHistoryPath = historyPath.resolveSibling(
+                historyPath.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+    }
+
+    /**
+     * Starts recording the changes made to the list as a single edit, such as all the tasks
+     * deleted by one command.
+     */
+    public void beginEdit() {
+        this.endEdit();
+        this.isEditing = true;
+    }
+
+    /**
+     * Stops recording changes into the current edit.
+     */
+    public void endEdit() {
+        this.isEditing = false;
+        this.currentEdit = null;
+        this.appliedEdits.clear();
+        this.previousUndoableEdits = null;
+        this.previousRedoableEdits = null;
+    }
+
+    /**
+     * Stops recording changes into the current edit, and reverses the changes recorded so far, as
+     * if the edit was never made. The reversed edit can neither be undone nor redone, and the
+     * edits that it undid or redid can be undone or redone again.
+     *
+     * @param tasks The list that the edit was made to.
+     * @return The highest ID of the tasks that the edit changed or deleted, or that it added
+     *         anywhere but the end of the list, which is <code>0</code> if it only added tasks to
+     *         the end of the list or changed nothing.
+     * @throws CorruptedStorageException If the edit no longer fits the list, in which case the
+     *                                   history is cleared.
+     */
+    public int cancelEdit(TaskList tasks) throws CorruptedStorageException {
+        List<Edit> edits = new ArrayList<>(this.appliedEdits);
+        Deque<Edit> undoableEdits = this.previousUndoableEdits;
+        Deque<Edit> redoableEdits = this.previousRedoableEdits;
+        this.endEdit();
+        if (edits.isEmpty()) {
+            return 0;
+        }
+
+        int maxTaskId = 0;
+        int numTasks = tasks.size();
+        // Going from the last change to the first, the list is as it was just after each change
+        for (int i = edits.size() - 1; i >= 0; i--) {
+            List<Change> changes = edits.get(i).changes;
+            for (int j = changes.size() - 1; j >= 0; j--) {
+                Change change = changes.get(j);
+                if (change.type != TaskChange.Type.ADDED || change.taskId != numTasks) {
+                    maxTaskId = Math.max(maxTaskId, change.taskId);
+                }
+                if (change.type == TaskChange.Type.ADDED) {
+                    numTasks--;
+                } else if (change.type == TaskChange.Type.DELETED) {
+                    numTasks++;
+                }
+            }
+        }
+
+        for (int i = edits.size() - 1; i >= 0; i--) {
+            this.reverse(edits.get(i), tasks);
+        }
+        if (undoableEdits != null) {
+            this.undoableEdits.clear();
+            this.undoableEdits.addAll(undoableEdits);
+            this.redoableEdits.clear();
+            this.redoableEdits.addAll(redoableEdits);
+        }
+        return maxTaskId;
+    }
+
+    /**
+     * Records a change made to the list as part of the current edit, if there is one.
+     * The first change of an edit clears the edits that could be redone, since they were made on a
+     * list that no longer exists.
+     *
+     * @param type         The kind of change.
+     * @param taskId       The ID of the changed task at the time of the change.
+     * @param previousTask The task as it was just before the change, serialised, or
+     *                     <code>null</code> if the task was added.
+     */
+    @Override
+    public void record(TaskChange.Type type, int taskId, String previousTask) {
+        if (!this.isEditing) {
+            return;
+        }
+
+        if (this.currentEdit == null) {
+            this.keepEditsForCancel();
+            this.currentEdit = new Edit();
+            this.appliedEdits.add(this.currentEdit);
+            this.addEdit(this.undoableEdits, this.currentEdit);
+            this.redoableEdits.clear();
+        }
+        this.currentEdit.changes.add(new Change(type, taskId, previousTask));
+        this.isChanged = true;
+    }
+
+    /**
+     * Reverses the latest edit that has not been undone.
+     *
+     * @param tasks The list that the edit was made to.
+     * @return <code>true</code> if an edit was undone, <code>false</code> if there was none.
+     * @throws CorruptedStorageException If the edit no longer fits the list, in which case the
+     *                                   history is cleared.
+     */
+    public boolean undo(TaskList tasks) throws CorruptedStorageException {
+        if (this.undoableEdits.isEmpty()) {
+            return false;
+        }
+        this.keepEditsForCancel();
+        Edit edit = this.undoableEdits.peekLast();
+        Edit reversedEdit = this.reverse(edit, tasks);
+        this.undoableEdits.removeLast();
+        this.addEdit(this.redoableEdits, reversedEdit);
+        if (this.isEditing) {
+            this.appliedEdits.add(reversedEdit);
+        }
+        return true;
+    }
+
+    /**
+     * Makes the latest undone edit again.
+     *
+     * @param tasks The list that the edit was undone on.
+     * @return <code>true</code> if an edit was redone, <code>false</code> if there was none.
+     * @throws CorruptedStorageException If the edit no longer fits the list, in which case the
+     *                                   history is cleared.
+     */
+    public boolean redo(TaskList tasks) throws CorruptedStorageException {
+        if (this.redoableEdits.isEmpty()) {
+            return false;
+        }
+        this.keepEditsForCancel();
+        Edit edit = this.redoableEdits.peekLast();
+        Edit reversedEdit = this.reverse(edit, tasks);
+        this.redoableEdits.removeLast();
+        this.addEdit(this.undoableEdits, reversedEdit);
+        if (this.isEditing) {
+            this.appliedEdits.add(reversedEdit);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of edits that can be undone.
+     *
+     * @return The number of edits that can be undone.
+     */
+    public int getNumUndoableEdits() {
+        return this.undoableEdits.size();
+    }
+
+    /**
+     * Returns the number of edits that can be redone.
+     *
+     * @return The number of edits that can be redone.
+     */
+    public int getNumRedoableEdits() {
+        return this.redoableEdits.size();
+    }
+
+    /**
+     * Keeps the edits that can be undone and redone as they are before the current edit first
+     * changes them, so that {@link #cancelEdit(TaskList)} can restore them.
+     */
+    private void keepEditsForCancel() {
+        if (this.isEditing && this.previousUndoableEdits == null) {
+            this.previousUndoableEdits = new ArrayDeque<>(this.undoableEdits);
+            this.previousRedoableEdits = new ArrayDeque<>(this.redoableEdits);
+        }
+    }
+
+    /**
+     * Keeps the edits if reversing them only changes the given number of tasks at the start of
+     * the list, and removes every edit otherwise. This is used once other programs changed only
+     * the tasks after those, which the edits then still fit.
+     *
+     * @param numTasksKept The number of tasks at the start of the list that stayed the same.
+     */
+    void keepIfWithin(int numTasksKept) {
+        if (EditHistory.isWithin(this.undoableEdits, numTasksKept)
+                && EditHistory.isWithin(this.redoableEdits, numTasksKept)) {
+            // The history is saved again for the changed tasks
+            this.isChanged = true;
+        } else {
+            this.clear();
+        }
+    }
+
+    /**
+     * Returns whether reversing the given edits one after another, latest first, only changes the
+     * given number of tasks at the start of the list.
+     */
+    private static boolean isWithin(Deque<Edit> edits, int numTasks) {
+        Iterator<Edit> iterator = edits.descendingIterator();
+        while (iterator.hasNext()) {
+            List<Change> changes = iterator.next().changes;
+            for (int i = changes.size() - 1; i >= 0; i--) {
+                Change change = changes.get(i);
+                int maxTaskId = change.type == TaskChange.Type.DELETED ? numTasks + 1 : numTasks;
+                if (change.taskId < 1 || change.taskId > maxTaskId) {
+                    return false;
+                }
+
+                if (change.type == TaskChange.Type.ADDED) {
+                    numTasks--;
+                } else if (change.type == TaskChange.Type.DELETED) {
+                    numTasks++;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every edit from the history.
+     */
+    void clear() {
+        this.isChanged |= !this.undoableEdits.isEmpty() || !this.redoableEdits.isEmpty();
+        this.undoableEdits.clear();
+        this.redoableEdits.clear();
+        this.currentEdit = null;
+        // The changes already applied by the current edit can still be cancelled, but the
+        // history stays cleared
+        this.previousUndoableEdits = null;
+        this.previousRedoableEdits = null;
+    }
+
+    /**
+     * Applies the changes that reverse the given edit to the list, last change first, and returns
+     * the edit made by applying them.
+     * Every change is checked against the list before any is applied, so the list is never left
+     * with only part of an edit reversed.
+     */
+    private Edit reverse(Edit edit, TaskList tasks) throws CorruptedStorageException {
+        Task[] previousTasks = this.prepare(edit, tasks.size());
+
+        boolean wasEditing = this.isEditing;
+        Edit outerEdit = this.currentEdit;
+        Edit reversedEdit = new Edit();
+        this.isEditing = true;
+        this.currentEdit = reversedEdit;
+        try {
+            for (int i = edit.changes.size() - 1; i >= 0; i--) {
+                Change change = edit.changes.get(i);
+                switch (change.type) {
+                case ADDED:
+                    tasks.deleteTask(change.taskId);
+                    break;
+                case DELETED:
+                    tasks.insertTask(change.taskId, previousTasks[i]);
+                    break;
+                default:
+                    tasks.replaceTask(change.taskId, previousTasks[i]);
+                    break;
+                }
+            }
+        } finally {
+            this.isEditing = wasEditing;
+            this.currentEdit = outerEdit;
+        }
+        this.isChanged = true;
+        return reversedEdit;
+    }
+
+    /**
+     * Checks that each change of the edit can be reversed on a list of the given size, and
+     * de-serialises the tasks that the changes restore.
+     */
+    private Task[] prepare(Edit edit, int numTasks) throws CorruptedStorageException {
+        Task[] previousTasks = new Task[edit.changes.size()];
+        try {
+            for (int i = edit.changes.size() - 1; i >= 0; i--) {
+                Change change = edit.changes.get(i);
+                int maxTaskId = change.type == TaskChange.Type.DELETED ? numTasks + 1 : numTasks;
+                if (change.taskId < 1 || change.taskId > maxTaskId) {
+                    throw new CorruptedStorageException(ERROR_HISTORY_OUT_OF_DATE_MSG);
+                }
+
+                if (change.type == TaskChange.Type.ADDED) {
+                    numTasks--;
+                } else {
+                    previousTasks[i] = Storage.deserialiseTask(change.previousTask);
+                    if (change.type == TaskChange.Type.DELETED) {
+                        numTasks++;
+                    }
+                }
+            }
+        } catch (CorruptedStorageException e) {
+            this.clear();
+            throw new CorruptedStorageException(ERROR_HISTORY_OUT_OF_DATE_MSG, e);
+        }
+        return previousTasks;
+    }
+
+    private void addEdit(Deque<Edit> edits, Edit edit) {
+        if (edits.size() == MAX_EDITS) {
+            edits.removeFirst();
+        }
+        edits.addLast(edit);
+    }
+
+    /**
+     * Reads the history from the hard disk, replacing the edits in this history.
+     * The history is only kept if it was saved for the same saved tasks, down to their hash, so a
+     * history saved for other tasks, such as before another program edited them, or one that is
+     * damaged, is dropped instead.
+     *
+     * @param numTasks  The number of tasks in the list that the history is for.
+     * @param tasksHash The hash of the saved tasks that the history is for, as returned by
+     *                  {@link LineHashes#combinedHash()}.
+     * @throws IOException If there are issues reading the history.
+     */
+    void load(int numTasks, long tasksHash) throws IOException {
+        this.undoableEdits.clear();
+        this.redoableEdits.clear();
+        this.currentEdit = null;
+        this.isChanged = false;
+        this.savedTasksHash = tasksHash;
+        this.savedHistorySize = -1;
+        this.numJournalRecords = 0;
+        if (Files.exists(this.historyPath)) {
+            long historySize = Files.size(this.historyPath);
+            try (RecordReader reader = new RecordReader(
+                    Files.newBufferedReader(this.historyPath, StandardCharsets.UTF_8))) {
+                if (this.readEdits(reader, numTasks, tasksHash)
+                        && reader.getDamagedLines().isEmpty()) {
+                    this.savedHistorySize = historySize;
+                } else {
+                    this.clear();
+                }
+            } catch (IllegalArgumentException e) {
+                // Thrown when a record of the history cannot be parsed
+                this.clear();
+            }
+        }
+        this.keepSavedEdits();
+    }
+
+    /**
+     * Reads the edits saved by {@link #save(int, long)}, and then the changes to them appended
+     * since, returning whether they were read in full and were saved for the given tasks.
+     */
+    private boolean readEdits(RecordReader reader, int numTasks, long tasksHash)
+            throws IOException {
+        String header = reader.readRecord();
+        if (header == null) {
+            return false;
+        }
+        String[] counts = header.split(" ");
+        if (counts.length != 5 || !counts[0].equals("H")) {
+            return false;
+        }
+
+        int numUndoableEdits = Integer.parseInt(counts[2]);
+        int numRedoableEdits = Integer.parseInt(counts[3]);
+        for (int i = 0; i < numUndoableEdits + numRedoableEdits; i++) {
+            Edit edit = EditHistory.readEdit(reader);
+            if (edit == null) {
+                return false;
+            }
+            this.addEdit(i < numUndoableEdits ? this.undoableEdits : this.redoableEdits, edit);
+        }
+
+        int numSavedTasks = Integer.parseInt(counts[1]);
+        long savedTasksHash = Long.parseUnsignedLong(counts[4], 16);
+        for (header = reader.readRecord(); header != null; header = reader.readRecord()) {
+            // Each appended record holds the counts J <number of tasks> <edits dropped from the
+            // start and end of the edits that can be undone> <edits added to them> <the same
+            // for the edits that can be redone> <hash of the tasks before> <hash of the tasks>
+            counts = header.split(" ");
+            if (counts.length != 10 || !counts[0].equals("J")
+                    || Long.parseUnsignedLong(counts[8], 16) != savedTasksHash
+                    || !EditHistory.readAppendedEdits(reader, this.undoableEdits,
+                            Integer.parseInt(counts[2]), Integer.parseInt(counts[3]),
+                            Integer.parseInt(counts[4]))
+                    || !EditHistory.readAppendedEdits(reader, this.redoableEdits,
+                            Integer.parseInt(counts[5]), Integer.parseInt(counts[6]),
+                            Integer.parseInt(counts[7]))) {
+                return false;
+            }
+            numSavedTasks = Integer.parseInt(counts[1]);
+            savedTasksHash = Long.parseUnsignedLong(counts[9], 16);
+            this.numJournalRecords += 1 + Integer.parseInt(counts[4])
+                    + Integer.parseInt(counts[7]);
+        }
+        return numSavedTasks == numTasks && savedTasksHash == tasksHash;
+    }
+
+    /**
+     * Drops the given numbers of edits from the start and end of the given edits, and then adds
+     * the given number of edits read from the reader, returning whether they were all read.
+     */
+    private static boolean readAppendedEdits(RecordReader reader, Deque<Edit> edits,
+            int numDroppedFirst, int numDroppedLast, int numAdded) throws IOException {
+        if (numDroppedFirst + numDroppedLast > edits.size()) {
+            return false;
+        }
+        for (int i = 0; i < numDroppedFirst; i++) {
+            edits.removeFirst();
+        }
+        for (int i = 0; i < numDroppedLast; i++) {
+            edits.removeLast();
+        }
+        for (int i = 0; i < numAdded; i++) {
+            Edit edit = EditHistory.readEdit(reader);
+            if (edit == null || edits.size() == MAX_EDITS) {
+                return false;
+            }
+            edits.addLast(edit);
+        }
+        return true;
+    }
+
+    private static Edit readEdit(RecordReader reader) throws IOException {
+        String header = reader.readRecord();
+        if (header == null || !header.startsWith("E ")) {
+            return null;
+        }
+
+        int numChanges = Integer.parseInt(header.substring(2));
+        Edit edit = new Edit();
+        for (int i = 0; i < numChanges; i++) {
+            String record = reader.readRecord();
+            if (record == null) {
+                return null;
+            }
+            edit.changes.add(Change.parse(record));
+        }
+        return edit;
+    }
+
+    /**
+     * Writes the history to the hard disk if it has changed since it was last saved or loaded.
+     * If the saved tasks changed without any edit being recorded, the edits may no longer fit
+     * them, so the history is cleared first.
+     * Only the edits added since the last save are appended to the saved history, together with
+     * the number of edits dropped from either end. The history is rewritten in full instead once
+     * {@link #MAX_JOURNAL_RECORDS} records have been appended, once it is cleared, or if another
+     * process saved it since. It is then first written to a temporary file, so the saved history
+     * is never left partially rewritten.
+     *
+     * @param numTasks  The number of tasks in the list that the history is for.
+     * @param tasksHash The hash of the saved tasks that the history is for, as returned by
+     *                  {@link LineHashes#combinedHash()}.
+     * @throws IOException If there are issues writing the history.
+     */
+    void save(int numTasks, long tasksHash) throws IOException {
+        if (!this.isChanged && tasksHash != this.savedTasksHash) {
+            this.clear();
+        }
+        if (!this.isChanged) {
+            this.savedTasksHash = tasksHash;
+            return;
+        }
+
+        if (this.savedHistorySize < 0 || this.numJournalRecords >= MAX_JOURNAL_RECORDS
+                || this.undoableEdits.isEmpty() && this.redoableEdits.isEmpty()
+                || !Files.exists(this.historyPath)
+                || Files.size(this.historyPath) != this.savedHistorySize) {
+            this.rewrite(numTasks, tasksHash);
+        } else {
+            this.append(numTasks, tasksHash);
+        }
+        this.isChanged = false;
+        this.savedTasksHash = tasksHash;
+        this.keepSavedEdits();
+    }
+
+    /**
+     * Replaces the saved history with all the edits in this history.
+     */
+    private void rewrite(int numTasks, long tasksHash) throws IOException {
+        this.savedHistorySize = -1;
+        try (FileChannel channel = FileChannel.open(this.tempHistoryPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            try (RecordWriter writer = new RecordWriter(channel)) {
+                writer.write(out -> out.append("H ").append(Integer.toString(numTasks))
+                        .append(' ').append(Integer.toString(this.undoableEdits.size()))
+                        .append(' ').append(Integer.toString(this.redoableEdits.size()))
+                        .append(' ').append(Long.toHexString(tasksHash)));
+                EditHistory.writeEdits(writer, this.undoableEdits);
+                EditHistory.writeEdits(writer, this.redoableEdits);
+            }
+            this.savedHistorySize = channel.size();
+        }
+        Storage.replaceAtomically(this.tempHistoryPath, this.historyPath);
+        this.numJournalRecords = 0;
+    }
+
+    /**
+     * Appends the differences between the edits that were last saved and the edits in this
+     * history to the saved history.
+     */
+    private void append(int numTasks, long tasksHash) throws IOException {
+        List<Edit> undoableEdits = new ArrayList<>(this.undoableEdits);
+        List<Edit> redoableEdits = new ArrayList<>(this.redoableEdits);
+        int[] undoableCounts = EditHistory.compare(this.savedUndoableEdits, undoableEdits);
+        int[] redoableCounts = EditHistory.compare(this.savedRedoableEdits, redoableEdits);
+        long previousTasksHash = this.savedTasksHash;
+
+        // The history is rewritten in full by the next save unless this append succeeds
+        this.savedHistorySize = -1;
+        try (FileChannel channel = FileChannel.open(this.historyPath, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            try (RecordWriter writer = new RecordWriter(channel)) {
+                writer.write(out -> {
+                    out.append("J ").append(Integer.toString(numTasks));
+                    for (int count : undoableCounts) {
+                        out.append(' ').append(Integer.toString(count));
+                    }
+                    for (int count : redoableCounts) {
+                        out.append(' ').append(Integer.toString(count));
+                    }
+                    out.append(' ').append(Long.toHexString(previousTasksHash))
+                            .append(' ').append(Long.toHexString(tasksHash));
+                });
+                EditHistory.writeEdits(writer, undoableEdits.subList(
+                        undoableEdits.size() - undoableCounts[2], undoableEdits.size()));
+                EditHistory.writeEdits(writer, redoableEdits.subList(
+                        redoableEdits.size() - redoableCounts[2], redoableEdits.size()));
+            }
+            this.savedHistorySize = channel.size();
+        }
+        this.numJournalRecords += 1 + undoableCounts[2] + redoableCounts[2];
+    }
+
+    /**
+     * Returns the number of edits dropped from the start and from the end of the given saved
+     * edits, and then the number of edits added after the rest, that turn them into the given
+     * edits. An edit that has gained changes since it was saved counts as dropped and added again.
+     */
+    private static int[] compare(List<Edit> savedEdits, List<Edit> edits) {
+        int firstIndex = edits.isEmpty() ? -1 : EditHistory.indexOf(savedEdits, edits.get(0));
+        if (firstIndex < 0) {
+            firstIndex = savedEdits.size();
+        }
+
+        int numKeptEdits = 0;
+        while (numKeptEdits < edits.size() && firstIndex + numKeptEdits < savedEdits.size()
+                && savedEdits.get(firstIndex + numKeptEdits) == edits.get(numKeptEdits)
+                && edits.get(numKeptEdits).numSavedChanges
+                        == edits.get(numKeptEdits).changes.size()) {
+            numKeptEdits++;
+        }
+        return new int[] {
+            firstIndex, savedEdits.size() - firstIndex - numKeptEdits, edits.size() - numKeptEdits
+        };
+    }
+
+    private static int indexOf(List<Edit> edits, Edit edit) {
+        for (int i = 0; i < edits.size(); i++) {
+            if (edits.get(i) == edit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Keeps the edits as they are now saved, so that the next save can append the differences.
+     */
+    private void keepSavedEdits() {
+        this.savedUndoableEdits = new ArrayList<>(this.undoableEdits);
+        this.savedRedoableEdits = new ArrayList<>(this.redoableEdits);
+        for (Edit edit : this.undoableEdits) {
+            edit.numSavedChanges = edit.changes.size();
+        }
+        for (Edit edit : this.redoableEdits) {
+            edit.numSavedChanges = edit.changes.size();
+        }
+    }
+
+    private static void writeEdits(RecordWriter writer, Iterable<Edit> edits)
+            throws IOException {
+        for (Edit edit : edits) {
+            writer.write(out -> out.append("E ").append(Integer.toString(edit.changes.size())));
+            for (Change change : edit.changes) {
+                writer.write(change);
+            }
+        }
+    }
+
+    /**
+     * The changes made to the list by a single edit, in the order they were made.
+     */
+    private static class Edit {
+        private final List<Change> changes = new ArrayList<>(1);
+
+        /**
+         * The number of changes that the edit had when it was last saved, or <code>-1</code> if
+         * it has not been saved.
+         */
+        private int numSavedChanges = -1;
+    }
+
+    /**
+     * A single change made to the list, together with the task that it replaced, which is all
+     * that is needed to reverse it.
+     */
+    private static class Change implements Serialisable {
+        private final TaskChange.Type type;
+        private final int taskId;
+
+        /**
+         * The serialised task as it was before the change, or <code>null</code> if the task was
+         * added.
+         */
+        private final String previousTask;
+
+        Change(TaskChange.Type type, int taskId, String previousTask) {
+            this.type = type;
+            this.taskId = taskId;
+            this.previousTask = previousTask;
+        }
+
+        /**
+         * Parses a change serialised by {@link #serialiseTo(Appendable)}.
+         *
+         * @throws IllegalArgumentException If the record is not a change.
+         */
+        static Change parse(String record) {
+            String[] tokens = record.split(" ", 3);
+            if (tokens.length < 2) {
+                throw new IllegalArgumentException(record);
+            }
+            TaskChange.Type type = TaskChange.Type.valueOf(tokens[0]);
+            int taskId = Integer.parseInt(tokens[1]);
+            return new Change(type, taskId, tokens.length < 3 ? null : tokens[2]);
+        }
+
+        /**
+         * Serialises the change as the kind of change, the task ID, and then the previous task if
+         * there is one, separated by spaces.
+         */
+        @Override
+        public void serialiseTo(Appendable out) throws IOException {
+            out.append(this.type.name()).append(' ').append(Integer.toString(this.taskId));
+            if (this.previousTask != null) {
+                out.append(' ').append(this.previousTask);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package duke;
+
+/**
+ * Represents a format that tasks can be exported to, so that they can be used by other programs.
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values, with one row per task after a header row.
+     */
+    CSV("csv", "CSV"),
+
+    /**
+     * JSON Lines, with one JSON object per task on each line.
+     */
+    JSON_LINES("jsonl", "JSON Lines"),
+
+    /**
+     * iCalendar, where deadlines and to-dos are <code>VTODO</code>s and events are
+     * <code>VEVENT</code>s, so that they can be imported into a calendar.
+     */
+    ICALENDAR("ics", "iCalendar");
+
+    /**
+     * The keyword used to specify this format.
+     */
+    private final String keyword;
+
+    /**
+     * The name of this format, as shown to the user.
+     */
+    private final String name;
+
+    ExportFormat(String keyword, String name) {
+        this.keyword = keyword;
+        this.name = name;
+    }
+
+    /**
+     * Returns the format with the given keyword.
+     * The keyword is case-insensitive.
+     *
+     * @param keyword The keyword of the format, for example "csv".
+     * @return The format with the given keyword, or <code>null</code> if there is none.
+     */
+    public static ExportFormat fromKeyword(String keyword) {
+        for (ExportFormat format : ExportFormat.values()) {
+            if (format.keyword.equalsIgnoreCase(keyword)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of this format, as shown to the user.
+     *
+     * @return The name of this format, for example "JSON Lines".
+     */
+    public String getName() {
+        return this.name;
+    }
+}
@@ -0,0 +1,156 @@
+package duke;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+/**
+ * Identifies a version of a file of saved tasks by its attributes and its generation, so that the
+ * file can be checked for changes without reading all of it.
+ * Writing to a file changes its size or time of last modification, and replacing it with another
+ * file changes its file key as well on file systems that have one. Every save made by Duke also
+ * increments the generation in the header on the first line of the file, which tells saves apart
+ * even when the file system cannot.
+ */
+final class FileVersion {
+    /**
+     * The start of the record on the first line of a file that holds its generation.
+     */
+    static final String GENERATION_PREFIX = "G ";
+
+    /**
+     * The longest header that is looked for, which is far longer than any generation needs.
+     */
+    private static final int MAX_HEADER_LENGTH = 64;
+
+    private final Object fileKey;
+    private final long size;
+    private final FileTime lastModifiedTime;
+    private final long generation;
+
+    /**
+     * The length in bytes of the header, including its line break, or <code>0</code> if the
+     * file has none.
+     */
+    private final int headerLength;
+
+    private FileVersion(BasicFileAttributes attributes, long generation, int headerLength) {
+        this.fileKey = attributes.fileKey();
+        this.size = attributes.size();
+        this.lastModifiedTime = attributes.lastModifiedTime();
+        this.generation = generation;
+        this.headerLength = headerLength;
+    }
+
+    /**
+     * Returns the current version of the given file.
+     *
+     * @param path The path of the file.
+     * @return The current version of the file, or <code>null</code> if it does not exist.
+     * @throws IOException If the attributes or the header of the file could not be read.
+     */
+    static FileVersion of(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return FileVersion.of(path, channel);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the version of the given file that is open in the given channel, reading its header
+     * from the channel, so that it is the header of the file that the channel reads even if the
+     * file has since been replaced.
+     *
+     * @param path    The path of the file.
+     * @param channel The channel the file is open in, whose position is left unchanged.
+     * @return The version of the file.
+     * @throws IOException If the attributes or the header of the file could not be read.
+     */
+    static FileVersion of(Path path, FileChannel channel) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        ByteBuffer header = ByteBuffer.allocate(MAX_HEADER_LENGTH);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Keep reading until the buffer is full or the file ends
+        }
+
+        byte[] bytes = header.array();
+        for (int i = 0; i < header.position(); i++) {
+            if (bytes[i] == '\n') {
+                String line = new String(bytes, 0, i, StandardCharsets.UTF_8).stripTrailing();
+                long generation = FileVersion.parseGeneration(line);
+                return generation < 0
+                        ? new FileVersion(attributes, 0, 0)
+                        : new FileVersion(attributes, generation, i + 1);
+            }
+        }
+        // Files saved before generations were introduced have no header
+        return new FileVersion(attributes, 0, 0);
+    }
+
+    /**
+     * Returns the generation held by the given line, or <code>-1</code> if it is not a header.
+     */
+    private static long parseGeneration(String line) throws IOException {
+        String record;
+        try (RecordReader reader = new RecordReader(new BufferedReader(new StringReader(line)))) {
+            record = line.isEmpty() ? null : reader.toRecord(line);
+        }
+        if (record == null || !record.startsWith(GENERATION_PREFIX)) {
+            return -1;
+        }
+
+        long generation = 0;
+        for (int i = GENERATION_PREFIX.length(); i < record.length(); i++) {
+            int digit = record.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || generation > (Long.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            generation = generation * 10 + digit;
+        }
+        return record.length() > GENERATION_PREFIX.length() ? generation : -1;
+    }
+
+    /**
+     * Returns the number of saves that led to this version, which is <code>0</code> for a file
+     * without a header.
+     */
+    long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Returns the offset in the file at which the saved tasks start, after the header.
+     */
+    int getHeaderLength() {
+        return this.headerLength;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof FileVersion)) {
+            return false;
+        }
+        FileVersion version = (FileVersion) other;
+        return Objects.equals(this.fileKey, version.fileKey) && this.size == version.size
+                && this.lastModifiedTime.equals(version.lastModifiedTime)
+                && this.generation == version.generation;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.fileKey, this.size, this.lastModifiedTime, this.generation);
+    }
+}
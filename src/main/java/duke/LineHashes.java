@@ -0,0 +1,147 @@
+package duke;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * The hashes of the lines of a file of saved tasks, in the order the lines are in the file.
+ * Lines are compared by their hashes to find the part of the file that another program changed,
+ * without keeping the lines themselves in memory. Empty lines are skipped, since they do not hold
+ * any tasks.
+ */
+final class LineHashes {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private long[] hashes = new long[16];
+    private int size;
+
+    /**
+     * The offset in the file of the first line that differs from the lines it was compared with,
+     * or the length of the file if every line is the same.
+     */
+    private long firstChangedOffset;
+
+    /**
+     * Reads the hashes of every line in the given file from the given offset, comparing them with
+     * the given hashes as they are read so that the offset of the first line that differs is
+     * known.
+     *
+     * @param channel        The channel to read the file from.
+     * @param startOffset    The offset of the first line to read, such as the end of a header.
+     * @param previousHashes The hashes to compare with, or <code>null</code> to compare with none.
+     * @return The hashes of the lines in the file.
+     * @throws IOException If the file could not be read.
+     */
+    static LineHashes read(FileChannel channel, long startOffset, LineHashes previousHashes)
+            throws IOException {
+        LineHashes lineHashes = new LineHashes();
+        boolean isChanged = previousHashes == null;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long offset = startOffset;
+        long lineOffset = startOffset;
+        long hash = LineHashes.startHash();
+        int lineLength = 0;
+        lineHashes.firstChangedOffset = startOffset;
+
+        channel.position(startOffset);
+        while (true) {
+            buffer.clear();
+            boolean isEndOfFile = channel.read(buffer) < 0;
+            buffer.flip();
+            while (buffer.hasRemaining() || isEndOfFile) {
+                // The end of the file ends the last line as well
+                byte b = buffer.hasRemaining() ? buffer.get() : (byte) '\n';
+                offset++;
+                if (b != '\n') {
+                    // Carriage returns are dropped when the lines are read, so they are
+                    // left out of the hash as well
+                    if (b != '\r') {
+                        hash = LineHashes.continueHash(hash, b);
+                        lineLength++;
+                    }
+                    continue;
+                }
+
+                if (lineLength > 0) {
+                    if (!isChanged && (lineHashes.size >= previousHashes.size
+                            || previousHashes.get(lineHashes.size) != hash)) {
+                        isChanged = true;
+                        lineHashes.firstChangedOffset = lineOffset;
+                    }
+                    lineHashes.add(hash);
+                }
+                lineOffset = offset;
+                hash = LineHashes.startHash();
+                lineLength = 0;
+                if (isEndOfFile) {
+                    break;
+                }
+            }
+            if (isEndOfFile) {
+                break;
+            }
+        }
+
+        if (!isChanged) {
+            lineHashes.firstChangedOffset = offset - 1;
+        }
+        return lineHashes;
+    }
+
+    /**
+     * Returns the hash of a line that continues the given hash with the given byte.
+     * A line is hashed by starting from {@link #startHash()}, and continuing it with each byte
+     * of the line in UTF-8, without the line break.
+     */
+    static long continueHash(long hash, byte b) {
+        return (hash ^ (b & 0xff)) * FNV_PRIME;
+    }
+
+    /**
+     * Returns the hash of an empty line, which other lines are hashed from.
+     */
+    static long startHash() {
+        return FNV_OFFSET_BASIS;
+    }
+
+    void add(long hash) {
+        if (this.size == this.hashes.length) {
+            this.hashes = Arrays.copyOf(this.hashes, this.size * 2);
+        }
+        this.hashes[this.size] = hash;
+        this.size++;
+    }
+
+    long get(int index) {
+        assert index < this.size;
+        return this.hashes[index];
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a hash of all the lines together, which changes whenever a line is changed, added,
+     * removed, or moved.
+     */
+    long combinedHash() {
+        long hash = LineHashes.startHash();
+        for (int i = 0; i < this.size; i++) {
+            hash = (hash ^ this.hashes[i]) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the offset in the file of the first line that differs from the lines this was
+     * compared with when it was read.
+     */
+    long getFirstChangedOffset() {
+        return this.firstChangedOffset;
+    }
+}
@@ -1,9 +1,13 @@
 package duke;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 
+import duke.exception.DukeException;
 import duke.ui.MainWindow;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
@@ -14,11 +18,21 @@ import javafx.stage.Stage;
  * A GUI for Duke using FXML.
  */
 public class Main extends Application {
+    /**
+     * The system property that makes Duke report how long it took to show the first prompt, and
+     * then exit. This is used to measure startup time, and to record the classes loaded at startup
+     * for an AppCDS archive.
+     */
+    private static final String STARTUP_BENCHMARK_PROPERTY = "duke.startupBenchmark";
 
-    private final Duke duke = new Duke();
     private Image applicationIcon =
             new Image(this.getClass().getResourceAsStream("/images" + "/DaDuke.png"));
 
+    /**
+     * The chat bot shown in the window, or <code>null</code> if the window has not been drawn yet.
+     */
+    private Duke duke;
+
     @Override
     public void start(Stage stage) {
         try {
@@ -33,10 +47,59 @@ public class Main extends Application {
 
             stage.show();
 
+            // The saved tasks are only read once the window has been drawn
             MainWindow mainWindow = fxmlLoader.getController();
-            mainWindow.initialiseDuke(duke);
+            Main.runAfterNextPulse(scene, () -> {
+                this.duke = new Duke();
+                mainWindow.initialiseDuke(this.duke);
+                if (Boolean.getBoolean(Main.STARTUP_BENCHMARK_PROPERTY)) {
+                    Main.runAfterNextPulse(scene, Main::reportStartupTime);
+                }
+            });
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Writes the saves that are still waiting to be written in the background before the
+     * application exits, since closing the window does not go through the exit command.
+     */
+    @Override
+    public void stop() {
+        if (this.duke == null) {
+            return;
+        }
+        try {
+            this.duke.close();
+        } catch (DukeException e) {
+            // The window is already gone, so there is nowhere else to tell the user
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Runs the given action once the scene has next been laid out and drawn.
+     */
+    private static void runAfterNextPulse(Scene scene, Runnable action) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                // Drawing happens later in the same pulse
+                Platform.runLater(action);
+            }
+        });
+        Platform.requestNextPulse();
+    }
+
+    /**
+     * Prints how long it took from starting the process to showing the first prompt, and exits.
+     */
+    private static void reportStartupTime() {
+        Instant startTime = ProcessHandle.current().info().startInstant().orElseThrow();
+        System.out.println("Time to first prompt: "
+                + Duration.between(startTime, Instant.now()).toMillis() + " ms");
+        Platform.exit();
+    }
 }
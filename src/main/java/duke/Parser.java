@@ -1,24 +1,48 @@
 package duke;
 
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import duke.command.AddCommand;
+import duke.command.ArchiveCommand;
 import duke.command.ByeCommand;
 import duke.command.Command;
 import duke.command.DeleteCommand;
+import duke.command.DiffCommand;
 import duke.command.DoneCommand;
+import duke.command.ExportCommand;
+import duke.command.FilterCommand;
 import duke.command.FindCommand;
 import duke.command.HelpCommand;
 import duke.command.ListCommand;
+import duke.command.RedoCommand;
+import duke.command.RestoreCommand;
+import duke.command.SnapshotCommand;
+import duke.command.StatsCommand;
+import duke.command.TaskSelection;
+import duke.command.UndoCommand;
 import duke.command.UpdateCommand;
 import duke.exception.DukeException;
+import duke.exception.InvalidDateInputException;
+import duke.exception.InvalidExportFormatException;
+import duke.exception.InvalidFilterException;
+import duke.exception.InvalidRecurrenceException;
+import duke.exception.InvalidSortOrderException;
 import duke.exception.InvalidTaskIdException;
 import duke.exception.MissingKeywordException;
 import duke.exception.MissingTaskDetailsException;
 import duke.exception.MissingTaskIdException;
+import duke.task.DateParser;
 import duke.task.Deadline;
 import duke.task.Event;
+import duke.task.Recurrence;
+import duke.task.SortOrder;
 import duke.task.Task;
+import duke.task.TaskFilter;
 import duke.task.Todo;
 
 
@@ -26,6 +50,24 @@ import duke.task.Todo;
  * A parser that is used to parse inputs from the user.
  */
 public class Parser {
+    /**
+     * The prefixes of the conditions that can be used to filter tasks with "find".
+     */
+    private static final List<String> FILTER_PREFIXES =
+            List.of("type:", "done:", "due<", "due>", "due:", "text:");
+
+    /**
+     * The times that can be given to restore or compare with a snapshot, which are a date,
+     * optionally followed by the hour, minutes, and seconds.
+     */
+    private static final Pattern SNAPSHOT_TIME_PATTERN =
+            Pattern.compile("\\d{4}-\\d{2}-\\d{2}(T\\d{2}(-\\d{2}(-\\d{2})?)?)?");
+
+    /**
+     * The result of parsing a task ID that is not a positive integer.
+     */
+    private static final int INVALID_TASK_ID = -1;
+
     private enum ErrorMessage {
         FAILED_TO_MARK_TASK_AS_COMPLETE("Failed to mark task as complete!"),
         FAILED_TO_DELETE_TASK("Failed to delete task!"),
@@ -66,7 +108,7 @@ public class Parser {
             return Parser.getHelpCommand();
 
         case "list":
-            return Parser.getListCommand();
+            return Parser.getListCommand(commandInputs);
 
         case "find":
             return Parser.getFindCommand(commandInputs);
@@ -85,6 +127,30 @@ public class Parser {
         case "event":
             return Parser.getAddCommand(command, commandInputs);
 
+        case "archive":
+            return Parser.getArchiveCommand();
+
+        case "stats":
+            return Parser.getStatsCommand();
+
+        case "undo":
+            return Parser.getUndoCommand();
+
+        case "redo":
+            return Parser.getRedoCommand();
+
+        case "snapshot":
+            return Parser.getSnapshotCommand(commandInputs);
+
+        case "restore":
+            return new RestoreCommand(Parser.parseSnapshotTime(commandInputs));
+
+        case "diff":
+            return new DiffCommand(Parser.parseSnapshotTime(commandInputs));
+
+        case "export":
+            return Parser.getExportCommand(commandInputs);
+
         case "bye":
             return Parser.getByeCommand();
 
@@ -94,6 +160,71 @@ public class Parser {
     }
 
 
+    private static ArchiveCommand getArchiveCommand() {
+        return new ArchiveCommand();
+    }
+
+    private static StatsCommand getStatsCommand() {
+        return new StatsCommand();
+    }
+
+    private static UndoCommand getUndoCommand() {
+        return new UndoCommand();
+    }
+
+    private static RedoCommand getRedoCommand() {
+        return new RedoCommand();
+    }
+
+    private static SnapshotCommand getSnapshotCommand(String[] commandInputs)
+            throws DukeException {
+        if (commandInputs.length < 2 || commandInputs[1].isBlank()) {
+            return new SnapshotCommand();
+        } else if (commandInputs[1].trim().equals("--list")) {
+            return new SnapshotCommand(true);
+        }
+        throw new DukeException("Type 'snapshot' to take a snapshot, or 'snapshot --list' to see "
+                + "all snapshots.");
+    }
+
+    /**
+     * Returns the time given after a restore or diff command, such as "2020-11-06" or
+     * "2020-11-06T18-30", or <code>null</code> if no time was given.
+     */
+    private static String parseSnapshotTime(String[] commandInputs)
+            throws InvalidDateInputException {
+        if (commandInputs.length < 2 || commandInputs[1].isBlank()) {
+            return null;
+        }
+
+        String time = commandInputs[1].trim();
+        if (!SNAPSHOT_TIME_PATTERN.matcher(time).matches()) {
+            throw new InvalidDateInputException(time);
+        }
+        return time;
+    }
+
+    private static ExportCommand getExportCommand(String[] commandInputs) throws DukeException {
+        // Should look something like ["csv", "tasks.csv"]
+        String[] exportDetails =
+                commandInputs.length < 2 ? new String[0] : commandInputs[1].trim().split(" ", 2);
+        if (exportDetails.length < 2 || exportDetails[1].isBlank()) {
+            throw new DukeException("Type 'export <csv, jsonl, or ics> <path>' to export your "
+                    + "tasks to a file.");
+        }
+
+        ExportFormat format = ExportFormat.fromKeyword(exportDetails[0]);
+        if (format == null) {
+            throw new InvalidExportFormatException(exportDetails[0]);
+        }
+        try {
+            return new ExportCommand(format, Paths.get(exportDetails[1].trim()));
+        } catch (InvalidPathException e) {
+            throw new DukeException(String.format("%s is not a valid path to export to.",
+                    exportDetails[1].trim()));
+        }
+    }
+
     private static ByeCommand getByeCommand() {
         return new ByeCommand();
     }
@@ -111,12 +242,11 @@ public class Parser {
         // Should look something like [:3", "todo desc"] or ["3", "event desc /at 2020-10-10"]
         String[] commandDetails = commandInputs[1].trim().split(" ", 2);
 
-        int taskId;
-
-        try {
-            taskId = Integer.parseInt(commandDetails[0]);
-        } catch (NumberFormatException e) {
+        int taskId = Parser.parseTaskId(commandDetails[0]);
+        if (taskId == INVALID_TASK_ID) {
             throw new InvalidTaskIdException(ErrorMessage.FAILED_TO_UPDATE_TASK.getMessage());
+        } else if (commandDetails.length < 2) {
+            throw new MissingTaskDetailsException(ErrorMessage.FAILED_TO_UPDATE_TASK.getMessage());
         }
 
         // ["todo", "desc"] or ["event", "desc /at 2020-10-10"]
@@ -136,12 +266,11 @@ public class Parser {
 
         String commandDetails = commandInputs[1].trim();
 
-        try {
-            int taskId = Integer.parseInt(commandDetails);
-            return new DeleteCommand(taskId);
-        } catch (NumberFormatException e) {
-            throw new InvalidTaskIdException(ErrorMessage.FAILED_TO_DELETE_TASK.getMessage());
+        if (commandDetails.equals("--done")) {
+            return new DeleteCommand(TaskSelection.ofCompletedTasks());
         }
+        return new DeleteCommand(
+                parseTaskIds(commandDetails, ErrorMessage.FAILED_TO_DELETE_TASK.getMessage()));
     }
 
     private static DoneCommand getDoneCommand(String[] commandInputs)
@@ -154,16 +283,64 @@ public class Parser {
 
         String commandDetails = commandInputs[1].trim();
 
-        try {
-            int taskId = Integer.parseInt(commandDetails);
-            return new DoneCommand(taskId);
-        } catch (NumberFormatException e) {
-            throw new InvalidTaskIdException(
-                    ErrorMessage.FAILED_TO_MARK_TASK_AS_COMPLETE.getMessage());
+        return new DoneCommand(parseTaskIds(commandDetails,
+                ErrorMessage.FAILED_TO_MARK_TASK_AS_COMPLETE.getMessage()));
+    }
+
+    /**
+     * Returns the selection of tasks given by a comma-separated list of task IDs and ranges of
+     * task IDs, for example "3,7,10-250".
+     *
+     * @param taskIds      The comma-separated list of task IDs and ranges of task IDs.
+     * @param errorMessage The message to report if the task IDs are invalid.
+     * @return The selection of tasks with the given IDs.
+     * @throws InvalidTaskIdException If the task IDs are invalid.
+     */
+    private static TaskSelection parseTaskIds(String taskIds, String errorMessage)
+            throws InvalidTaskIdException {
+        List<int[]> taskIdRanges = new ArrayList<>();
+
+        for (String taskIdRange : taskIds.split(",")) {
+            String[] bounds = taskIdRange.split("-", 2);
+            int from = Parser.parseTaskId(bounds[0].trim());
+            int to = bounds.length < 2 ? from : Parser.parseTaskId(bounds[1].trim());
+            if (from == INVALID_TASK_ID || to == INVALID_TASK_ID || to < from) {
+                throw new InvalidTaskIdException(errorMessage);
+            }
+            taskIdRanges.add(new int[]{from, to});
         }
+
+        return TaskSelection.ofTaskIds(taskIdRanges);
+    }
+
+    /**
+     * Returns the task ID written in the given string, or {@link #INVALID_TASK_ID} if it is not a
+     * positive integer.
+     * This checks the digits itself rather than relying on <code>Integer.parseInt</code> to throw,
+     * since invalid task IDs are common enough that creating an exception for each would cost far
+     * more than parsing it.
+     */
+    private static int parseTaskId(String taskId) {
+        int start = taskId.startsWith("+") ? 1 : 0;
+        if (taskId.length() == start) {
+            return INVALID_TASK_ID;
+        }
+
+        long value = 0;
+        for (int i = start; i < taskId.length(); i++) {
+            int digit = taskId.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID_TASK_ID;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) {
+                return INVALID_TASK_ID;
+            }
+        }
+        return value == 0 ? INVALID_TASK_ID : (int) value;
     }
 
-    private static FindCommand getFindCommand(String[] commandInputs) throws DukeException {
+    private static Command getFindCommand(String[] commandInputs) throws DukeException {
         // "find" needs to be accompanied by a keyword
         if (commandInputs.length < 2) {
             throw new MissingKeywordException("I'm not sure what tasks to search for...");
@@ -171,11 +348,135 @@ public class Parser {
 
         String commandDetails = commandInputs[1].trim();
 
+        if (commandDetails.startsWith("--archive")) {
+            String keyword = commandDetails.substring("--archive".length()).trim();
+            if (keyword.isEmpty()) {
+                throw new MissingKeywordException("I'm not sure what tasks to search for...");
+            }
+            return new FindCommand(keyword, true);
+        }
+        if (commandDetails.startsWith("--fuzzy")) {
+            String query = commandDetails.substring("--fuzzy".length()).trim();
+            if (query.isEmpty()) {
+                throw new MissingKeywordException("I'm not sure what tasks to search for...");
+            }
+            return new FindCommand(query, false, true);
+        }
+        if (Parser.isFilterCondition(commandDetails)) {
+            return Parser.getFilterCommand(commandDetails);
+        }
         return new FindCommand(commandDetails);
     }
 
-    private static ListCommand getListCommand() {
-        return new ListCommand();
+    /**
+     * Returns whether the given input starts with a filter condition, such as "type:deadline".
+     */
+    private static boolean isFilterCondition(String input) {
+        String lowerCaseInput = input.toLowerCase();
+        for (String prefix : FILTER_PREFIXES) {
+            if (lowerCaseInput.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static FilterCommand getFilterCommand(String commandDetails) throws DukeException {
+        // Should look something like "type:deadline done:false due<2020-11-01 text:report"
+        String[] conditions = commandDetails.split("\\s+");
+        TaskFilter filter = new TaskFilter();
+        for (String condition : conditions) {
+            Parser.parseFilterCondition(condition, filter);
+        }
+        return new FilterCommand(String.join(" ", conditions), filter);
+    }
+
+    private static void parseFilterCondition(String condition, TaskFilter filter)
+            throws DukeException {
+        String lowerCaseCondition = condition.toLowerCase();
+
+        if (lowerCaseCondition.startsWith("type:")) {
+            switch (lowerCaseCondition.substring("type:".length())) {
+            case "todo":
+                filter.withType(Todo.class);
+                return;
+            case "deadline":
+                filter.withType(Deadline.class);
+                return;
+            case "event":
+                filter.withType(Event.class);
+                return;
+            default:
+                throw new InvalidFilterException(condition);
+            }
+        }
+
+        if (lowerCaseCondition.startsWith("done:")) {
+            switch (lowerCaseCondition.substring("done:".length())) {
+            case "true":
+                filter.withDone(true);
+                return;
+            case "false":
+                filter.withDone(false);
+                return;
+            default:
+                throw new InvalidFilterException(condition);
+            }
+        }
+
+        if (lowerCaseCondition.startsWith("text:")) {
+            String keyword = condition.substring("text:".length());
+            if (keyword.isEmpty()) {
+                throw new InvalidFilterException(condition);
+            }
+            filter.withKeyword(keyword);
+            return;
+        }
+
+        // Operators that are prefixes of other operators are checked last
+        for (String operator : List.of("<=", ">=", "<", ">", ":")) {
+            if (lowerCaseCondition.startsWith("due" + operator)) {
+                LocalDate date = DateParser.parse(
+                        condition.substring("due".length() + operator.length()));
+                Parser.addDateCondition(operator, date, filter);
+                return;
+            }
+        }
+
+        throw new InvalidFilterException(condition);
+    }
+
+    private static void addDateCondition(String operator, LocalDate date, TaskFilter filter) {
+        switch (operator) {
+        case "<=":
+            filter.withDateUntil(date);
+            break;
+        case ">=":
+            filter.withDateFrom(date);
+            break;
+        case "<":
+            filter.withDateUntil(date.minusDays(1));
+            break;
+        case ">":
+            filter.withDateFrom(date.plusDays(1));
+            break;
+        default:
+            filter.withDateFrom(date).withDateUntil(date);
+            break;
+        }
+    }
+
+    private static ListCommand getListCommand(String[] commandInputs) throws DukeException {
+        if (commandInputs.length < 2 || !commandInputs[1].trim().startsWith("--sort")) {
+            return new ListCommand();
+        }
+
+        String keyword = commandInputs[1].trim().substring("--sort".length()).trim();
+        SortOrder order = SortOrder.fromKeyword(keyword);
+        if (order == null) {
+            throw new InvalidSortOrderException(keyword);
+        }
+        return new ListCommand(order);
     }
 
     private static AddCommand getAddCommand(String command, String[] commandInputs)
@@ -212,7 +513,7 @@ public class Parser {
 
         switch (command) {
         case "todo":
-            return new Todo(commandDetails);
+            return new Todo(DescriptionPool.intern(commandDetails));
 
         case "deadline":
             String[] deadlineDetails = commandDetails.split("/by", 2);
@@ -228,10 +529,11 @@ public class Parser {
                 }
             }
 
-            String deadlineDescription = deadlineDetails[0].trim();
-            String by = deadlineDetails[1].trim();
+            String deadlineDescription = DescriptionPool.intern(deadlineDetails[0].trim());
+            String[] byDetails = deadlineDetails[1].split("/every", 2);
+            String by = byDetails[0].trim();
 
-            return new Deadline(deadlineDescription, by);
+            return new Deadline(deadlineDescription, by, false, parseRecurrence(byDetails));
 
         case "event":
             // Last case would be creating an event
@@ -249,13 +551,36 @@ public class Parser {
                 }
             }
 
-            String eventDescription = eventDetails[0].trim();
-            String at = eventDetails[1].trim();
+            String eventDescription = DescriptionPool.intern(eventDetails[0].trim());
+            String[] atDetails = eventDetails[1].split("/every", 2);
+            String at = atDetails[0].trim();
 
-            return new Event(eventDescription, at);
+            return new Event(eventDescription, at, false, parseRecurrence(atDetails));
         default:
             // Shouldn't happen
             throw new DukeException(ErrorMessage.FAILED_TO_CREATE_EVENT_TASK.getMessage());
         }
     }
+
+    /**
+     * Returns the recurrence specified in the date details of a deadline or event.
+     *
+     * @param dateDetails The array of string that is obtained by splitting the date details of the
+     *                    task at the first "/every".
+     * @return The specified recurrence, or {@link Recurrence#NONE} if none was specified.
+     * @throws InvalidRecurrenceException If the specified recurrence is not recognised.
+     */
+    private static Recurrence parseRecurrence(String[] dateDetails)
+            throws InvalidRecurrenceException {
+        if (dateDetails.length < 2) {
+            return Recurrence.NONE;
+        }
+
+        String keyword = dateDetails[1].trim();
+        Recurrence recurrence = Recurrence.fromKeyword(keyword);
+        if (recurrence == null) {
+            throw new InvalidRecurrenceException(keyword);
+        }
+        return recurrence;
+    }
 }
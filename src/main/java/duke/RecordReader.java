@@ -0,0 +1,113 @@
+package duke;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads records written by a {@link RecordWriter}, checking each record against its checksum.
+ * Lines without a checksum, such as those saved before checksums were introduced, are read as they
+ * are.
+ */
+class RecordReader implements Closeable {
+    private final BufferedReader reader;
+    private final CRC32 checksum = new CRC32();
+    private final List<String> damagedLines = new ArrayList<>();
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param reader The reader to read lines of records from.
+     */
+    RecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next record that is not damaged.
+     * Lines whose record does not match its checksum are skipped, and can be retrieved with
+     * {@link #getDamagedLines()}.
+     *
+     * @return The next record, or <code>null</code> if there are no more records.
+     * @throws IOException If the records could not be read.
+     */
+    String readRecord() throws IOException {
+        String line;
+        while ((line = this.readLine()) != null) {
+            String record = this.toRecord(line);
+            if (record != null) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the next line that is not empty, without checking it against its checksum.
+     *
+     * @return The next line, or <code>null</code> if there are no more lines.
+     * @throws IOException If the line could not be read.
+     */
+    String readLine() throws IOException {
+        String line;
+        do {
+            line = this.reader.readLine();
+        } while (line != null && line.isEmpty());
+        return line;
+    }
+
+    /**
+     * Returns the record on the given line, checking it against its checksum if it has one.
+     * A line whose record does not match its checksum is kept for {@link #getDamagedLines()}.
+     *
+     * @param line The line, which is not empty.
+     * @return The record, or <code>null</code> if the line is damaged.
+     */
+    String toRecord(String line) {
+        if (!RecordReader.hasChecksum(line)) {
+            return line;
+        }
+
+        String record = line.substring(RecordWriter.CHECKSUM_LENGTH + 1);
+        this.checksum.reset();
+        this.checksum.update(record.getBytes(StandardCharsets.UTF_8));
+        long expectedChecksum = Long.parseLong(line, 0, RecordWriter.CHECKSUM_LENGTH, 16);
+        if (this.checksum.getValue() == expectedChecksum) {
+            return record;
+        }
+        this.damagedLines.add(line);
+        return null;
+    }
+
+    /**
+     * Returns the lines that were skipped because their record did not match its checksum.
+     *
+     * @return The lines that were skipped.
+     */
+    List<String> getDamagedLines() {
+        return this.damagedLines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    private static boolean hasChecksum(String line) {
+        if (line.length() <= RecordWriter.CHECKSUM_LENGTH
+                || line.charAt(RecordWriter.CHECKSUM_LENGTH) != ' ') {
+            return false;
+        }
+        for (int i = 0; i < RecordWriter.CHECKSUM_LENGTH; i++) {
+            char c = line.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,186 @@
+package duke;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import duke.task.Serialisable;
+
+/**
+ * Writes serialised objects to a channel, one record per line, each prefixed by a checksum of
+ * the record so that damaged records can be detected when they are read back by a
+ * {@link RecordReader}.
+ * The same buffers are reused for every record, so writing a record does not create any objects.
+ */
+class RecordWriter implements Closeable {
+    /**
+     * The number of hexadecimal digits in the checksum that prefixes each record.
+     */
+    static final int CHECKSUM_LENGTH = 8;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel channel;
+
+    /**
+     * The hashes of the lines written, or <code>null</code> if they are not kept.
+     */
+    private final LineHashes lineHashes;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final CRC32 checksum = new CRC32();
+    private final StringBuilder record = new StringBuilder();
+    private final ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+    private char[] recordChars = new char[64];
+    private CharBuffer recordCharBuffer = CharBuffer.wrap(this.recordChars);
+    private ByteBuffer recordBytes = ByteBuffer.allocate(256);
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param channel The channel to write records to.
+     */
+    RecordWriter(WritableByteChannel channel) {
+        this(channel, null);
+    }
+
+    /**
+     * Initialises a new instance that keeps the hash of each line it writes.
+     *
+     * @param channel    The channel to write records to.
+     * @param lineHashes The hashes to add the hash of each line written to, or <code>null</code>
+     *                   if they are not kept.
+     */
+    RecordWriter(WritableByteChannel channel, LineHashes lineHashes) {
+        this.channel = channel;
+        this.lineHashes = lineHashes;
+    }
+
+    /**
+     * Serialises the given object and writes it as a single record.
+     *
+     * @param serialisable The object to be written.
+     * @throws IOException If the record could not be written.
+     */
+    void write(Serialisable serialisable) throws IOException {
+        this.write(serialisable, this.lineHashes);
+    }
+
+    /**
+     * Serialises the given header and writes it as a single record, without adding the hash of
+     * its line to the hashes that are kept, so that they only hold the lines that follow it.
+     *
+     * @param header The header to be written.
+     * @throws IOException If the record could not be written.
+     */
+    void writeHeader(Serialisable header) throws IOException {
+        this.write(header, null);
+    }
+
+    private void write(Serialisable serialisable, LineHashes lineHashes) throws IOException {
+        this.record.setLength(0);
+        serialisable.serialiseTo(this.record);
+        this.encodeRecord();
+
+        this.checksum.reset();
+        this.checksum.update(this.recordBytes);
+        this.recordBytes.rewind();
+
+        this.ensureRemaining(CHECKSUM_LENGTH + 1);
+        long value = this.checksum.getValue();
+        long lineHash = LineHashes.startHash();
+        for (int shift = (CHECKSUM_LENGTH - 1) * 4; shift >= 0; shift -= 4) {
+            byte digit = HEX_DIGITS[(int) (value >>> shift) & 0xf];
+            this.output.put(digit);
+            lineHash = LineHashes.continueHash(lineHash, digit);
+        }
+        this.output.put((byte) ' ');
+
+        if (lineHashes != null) {
+            lineHash = LineHashes.continueHash(lineHash, (byte) ' ');
+            for (int i = this.recordBytes.position(); i < this.recordBytes.limit(); i++) {
+                lineHash = LineHashes.continueHash(lineHash, this.recordBytes.get(i));
+            }
+            lineHashes.add(lineHash);
+        }
+
+        // Records longer than the output buffer are written out over several flushes
+        while (this.recordBytes.hasRemaining()) {
+            this.ensureRemaining(1);
+            int length = Math.min(this.output.remaining(), this.recordBytes.remaining());
+            int limit = this.recordBytes.limit();
+            this.recordBytes.limit(this.recordBytes.position() + length);
+            this.output.put(this.recordBytes);
+            this.recordBytes.limit(limit);
+        }
+
+        this.ensureRemaining(1);
+        this.output.put((byte) '\n');
+    }
+
+    /**
+     * Writes out any records that are still buffered.
+     *
+     * @throws IOException If the records could not be written.
+     */
+    void flush() throws IOException {
+        this.output.flip();
+        while (this.output.hasRemaining()) {
+            this.channel.write(this.output);
+        }
+        this.output.clear();
+    }
+
+    /**
+     * Writes out any records that are still buffered. The underlying channel is left open.
+     *
+     * @throws IOException If the records could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        this.flush();
+    }
+
+    /**
+     * Encodes the serialised record as UTF-8, leaving the result in {@link #recordBytes}.
+     */
+    private void encodeRecord() throws IOException {
+        int length = this.record.length();
+        if (this.recordChars.length < length) {
+            this.recordChars = new char[this.record.capacity()];
+            this.recordCharBuffer = CharBuffer.wrap(this.recordChars);
+        }
+        this.record.getChars(0, length, this.recordChars, 0);
+
+        while (true) {
+            this.recordCharBuffer.clear().limit(length);
+            this.recordBytes.clear();
+            this.encoder.reset();
+            CoderResult result = this.encoder.encode(this.recordCharBuffer, this.recordBytes, true);
+            if (!result.isOverflow()) {
+                result = this.encoder.flush(this.recordBytes);
+            }
+            if (result.isOverflow()) {
+                this.recordBytes = ByteBuffer.allocate(this.recordBytes.capacity() * 2);
+                continue;
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            this.recordBytes.flip();
+            return;
+        }
+    }
+
+    private void ensureRemaining(int length) throws IOException {
+        if (this.output.remaining() < length) {
+            this.flush();
+        }
+    }
+}
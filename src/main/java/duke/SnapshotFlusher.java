@@ -0,0 +1,296 @@
+package duke;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes snapshots of the saved tasks to the hard disk on a background thread.
+ * Only the most recent snapshot matters, so snapshots submitted while another one is being written
+ * replace each other, and are then written and flushed to the hard disk together.
+ */
+class SnapshotFlusher {
+    /**
+     * The minimum time between two flushes when saves are made durable asynchronously.
+     */
+    static final long ASYNC_FLUSH_INTERVAL_MILLIS = 1000;
+
+    /**
+     * The time that a grouped flush waits for other saves after the first snapshot it writes was
+     * submitted, so that saves made at about the same time are flushed together.
+     */
+    static final long GROUP_LINGER_MILLIS = 3;
+
+    /**
+     * The number of saves waiting for a grouped flush that make it start without waiting any
+     * longer for other saves.
+     */
+    static final int GROUP_MAX_WAITERS = 8;
+
+    private final Path filePath;
+    private final Path tempFilePath;
+    private final AtomicReference<FileVersion> savedVersion;
+    private final WriterLock writerLock;
+    private final Durability durability;
+    private final Thread thread;
+
+    /**
+     * The most recent snapshot that has not been written yet, or <code>null</code> if there is
+     * none.
+     */
+    private byte[] pendingSnapshot;
+
+    /**
+     * The time at which the oldest snapshot that has not been written yet was submitted.
+     */
+    private long pendingSinceMillis;
+
+    /**
+     * The number of snapshots submitted so far. Each snapshot is identified by this count at the
+     * time it was submitted.
+     */
+    private long numSubmittedSnapshots;
+
+    /**
+     * The most recent snapshot that has been flushed to the hard disk.
+     */
+    private long lastDurableSnapshot;
+
+    /**
+     * The most recent snapshot that could not be written, along with the reason why.
+     */
+    private long lastFailedSnapshot;
+    private IOException lastFailure;
+
+    /**
+     * A failure that has not been reported to anyone yet, since nobody waits for asynchronous
+     * saves to complete. It is reported on the next submission instead.
+     */
+    private IOException unreportedFailure;
+
+    /**
+     * The number of threads waiting for a snapshot to be flushed, which asynchronous flushes are
+     * not delayed for.
+     */
+    private int numWaiters;
+
+    private long lastFlushMillis;
+    private boolean isClosed;
+
+    /**
+     * Initialises a new instance, and starts the background thread.
+     *
+     * @param filePath     The path to save the snapshots to.
+     * @param tempFilePath The path to write each snapshot to before it replaces the saved one.
+     * @param savedVersion The version of the saved snapshot as it was last read or written, which
+     *                     a snapshot only replaces if it has not been changed since.
+     * @param writerLock   The lock on the saved snapshot, which is held while it is replaced.
+     * @param durability   How soon snapshots should be written after they are submitted.
+     */
+    SnapshotFlusher(Path filePath, Path tempFilePath, AtomicReference<FileVersion> savedVersion,
+            WriterLock writerLock, Durability durability) {
+        this.filePath = filePath;
+        this.tempFilePath = tempFilePath;
+        this.savedVersion = savedVersion;
+        this.writerLock = writerLock;
+        this.durability = durability;
+        this.thread = new Thread(this::run, "duke-snapshot-flusher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Submits a snapshot of the saved tasks to be written, replacing any snapshot that is still
+     * waiting to be written.
+     *
+     * @param snapshot The serialised tasks.
+     * @return The ID of the submitted snapshot, to be passed to {@link #awaitDurable(long)}.
+     * @throws IOException If an earlier snapshot could not be written and nobody has been told yet.
+     */
+    synchronized long submit(byte[] snapshot) throws IOException {
+        if (this.isClosed) {
+            throw new IOException("Snapshots can no longer be written.");
+        }
+        this.throwUnreportedFailure();
+
+        if (this.pendingSnapshot == null) {
+            this.pendingSinceMillis = System.currentTimeMillis();
+        }
+        this.pendingSnapshot = snapshot;
+        this.numSubmittedSnapshots++;
+        this.notifyAll();
+        return this.numSubmittedSnapshots;
+    }
+
+    /**
+     * Waits until the given snapshot, or a later one, has been flushed to the hard disk.
+     *
+     * @param snapshotId The ID of the snapshot to wait for.
+     * @throws IOException If the snapshot could not be written.
+     */
+    synchronized void awaitDurable(long snapshotId) throws IOException {
+        this.numWaiters++;
+        this.notifyAll();
+        try {
+            while (this.lastDurableSnapshot < snapshotId && this.lastFailedSnapshot < snapshotId) {
+                this.wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            this.numWaiters--;
+        }
+
+        if (this.lastDurableSnapshot < snapshotId) {
+            this.unreportedFailure = null;
+            throw this.lastFailure;
+        }
+    }
+
+    /**
+     * Waits until every submitted snapshot has been flushed to the hard disk.
+     *
+     * @throws IOException If the most recent snapshot could not be written.
+     */
+    synchronized void flush() throws IOException {
+        this.awaitDurable(this.numSubmittedSnapshots);
+        this.throwUnreportedFailure();
+    }
+
+    /**
+     * Returns whether any submitted snapshot has not been written or failed to be written yet.
+     *
+     * @return <code>true</code> if a snapshot is still waiting to be written or being written.
+     */
+    synchronized boolean hasPendingSnapshots() {
+        return this.lastDurableSnapshot < this.numSubmittedSnapshots
+                && this.lastFailedSnapshot < this.numSubmittedSnapshots;
+    }
+
+    /**
+     * Writes any remaining snapshot and stops the background thread.
+     *
+     * @throws IOException If the remaining snapshot could not be written.
+     */
+    void close() throws IOException {
+        synchronized (this) {
+            this.isClosed = true;
+            this.notifyAll();
+        }
+
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        this.flush();
+    }
+
+    /**
+     * Throws the failure to write an earlier snapshot, if nobody has been told about it yet.
+     *
+     * @throws IOException If an earlier snapshot could not be written and nobody has been told yet.
+     */
+    synchronized void throwUnreportedFailure() throws IOException {
+        IOException failure = this.unreportedFailure;
+        if (failure != null) {
+            this.unreportedFailure = null;
+            throw failure;
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                byte[] snapshot;
+                long snapshotId;
+                synchronized (this) {
+                    while (this.pendingSnapshot == null && !this.isClosed) {
+                        this.wait();
+                    }
+                    if (this.pendingSnapshot == null) {
+                        return;
+                    }
+                    this.waitForFlushInterval();
+
+                    snapshot = this.pendingSnapshot;
+                    snapshotId = this.numSubmittedSnapshots;
+                    this.pendingSnapshot = null;
+                }
+
+                IOException failure = null;
+                try {
+                    this.write(snapshot);
+                } catch (IOException e) {
+                    failure = e;
+                }
+
+                synchronized (this) {
+                    if (failure == null) {
+                        // The snapshot contains every earlier change, so earlier failures no
+                        // longer matter
+                        this.lastDurableSnapshot = snapshotId;
+                        this.unreportedFailure = null;
+                    } else {
+                        this.lastFailedSnapshot = snapshotId;
+                        this.lastFailure = failure;
+                        this.unreportedFailure = failure;
+                    }
+                    this.lastFlushMillis = System.currentTimeMillis();
+                    this.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Nothing else interrupts this thread, so simply stop
+        }
+    }
+
+    /**
+     * Delays asynchronous flushes so that they happen at most once every
+     * {@link #ASYNC_FLUSH_INTERVAL_MILLIS} milliseconds, unless someone is waiting for them.
+     * Grouped flushes wait for up to {@link #GROUP_LINGER_MILLIS} milliseconds after the snapshot
+     * was submitted, or until {@link #GROUP_MAX_WAITERS} saves are waiting, so that saves made by
+     * other threads in the meantime are flushed along with it.
+     */
+    private void waitForFlushInterval() throws InterruptedException {
+        long delayMillis;
+        switch (this.durability) {
+        case GROUP:
+            while (!this.isClosed && this.numWaiters < GROUP_MAX_WAITERS
+                    && (delayMillis = this.pendingSinceMillis + GROUP_LINGER_MILLIS
+                            - System.currentTimeMillis()) > 0) {
+                this.wait(delayMillis);
+            }
+            break;
+        case ASYNC:
+            while (!this.isClosed && this.numWaiters == 0
+                    && (delayMillis = this.lastFlushMillis + ASYNC_FLUSH_INTERVAL_MILLIS
+                            - System.currentTimeMillis()) > 0) {
+                this.wait(delayMillis);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void write(byte[] snapshot) throws IOException {
+        Storage.replaceIfUnchanged(this.filePath, this.tempFilePath, this.savedVersion,
+                this.writerLock, path -> {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+        });
+    }
+}
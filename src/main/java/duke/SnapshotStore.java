@@ -0,0 +1,149 @@
+package duke;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import duke.exception.CorruptedStorageException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * A class that represents the snapshots of the task list on the hard disk.
+ * Each snapshot is a file in the same format as the saved tasks, named after the time it was taken,
+ * so that the snapshots sort by name in the order they were taken. Only the latest
+ * {@link #MAX_SNAPSHOTS} snapshots are kept.
+ */
+class SnapshotStore {
+    /**
+     * The maximum number of snapshots kept, which is a month of daily snapshots.
+     */
+    static final int MAX_SNAPSHOTS = 30;
+
+    private static final String SNAPSHOT_EXTENSION = ".txt";
+    private static final DateTimeFormatter NAME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+
+    private final Path directory;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param directory The directory to save snapshots to in the hard disk.
+     */
+    SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes the given tasks to a new snapshot, and deletes the oldest snapshots if there are more
+     * than {@link #MAX_SNAPSHOTS} of them.
+     * The snapshot is first written to a temporary file, so a snapshot is never left partially
+     * written. Snapshots can be saved from any thread, one at a time, and from several processes
+     * at once.
+     *
+     * @param tasks The tasks to be saved, which should not change while they are written.
+     * @param time  The time the snapshot is taken.
+     * @return The name of the snapshot.
+     * @throws IOException If there are issues writing the snapshot.
+     */
+    synchronized String save(TaskList tasks, LocalDateTime time) throws IOException {
+        Files.createDirectories(this.directory);
+        String name = time.format(NAME_FORMAT);
+        Path snapshotPath = this.getPath(name);
+        // Other processes may take a snapshot at the same time
+        Path tempSnapshotPath = snapshotPath.resolveSibling(
+                snapshotPath.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempSnapshotPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Storage.writeTasks(tasks, channel);
+            channel.force(true);
+        }
+        Storage.replaceAtomically(tempSnapshotPath, snapshotPath);
+
+        List<String> names = this.getNames();
+        for (int i = 0; i < names.size() - MAX_SNAPSHOTS; i++) {
+            Files.deleteIfExists(this.getPath(names.get(i)));
+        }
+        return name;
+    }
+
+    /**
+     * Returns the names of all snapshots, from the oldest to the latest.
+     *
+     * @return The names of all snapshots.
+     * @throws IOException If there are issues reading the directory of snapshots.
+     */
+    List<String> getNames() throws IOException {
+        List<String> names = new ArrayList<>();
+        if (!Files.isDirectory(this.directory)) {
+            return names;
+        }
+
+        try (DirectoryStream<Path> paths =
+                Files.newDirectoryStream(this.directory, "*" + SNAPSHOT_EXTENSION)) {
+            for (Path path : paths) {
+                String fileName = path.getFileName().toString();
+                names.add(fileName.substring(0, fileName.length() - SNAPSHOT_EXTENSION.length()));
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Returns the name of the latest snapshot taken at or before the given time.
+     *
+     * @param time The time, written in the same format as the names of snapshots, or
+     *             <code>null</code> for the latest snapshot. Only the start of the time may be
+     *             given, such as only its date, in which case the latest snapshot taken within
+     *             that time counts as well.
+     * @return The name of the snapshot, or <code>null</code> if there is none.
+     * @throws IOException If there are issues reading the directory of snapshots.
+     */
+    String find(String time) throws IOException {
+        String latestName = null;
+        for (String name : this.getNames()) {
+            if (time == null || name.compareTo(time) <= 0 || name.startsWith(time)) {
+                latestName = name;
+            }
+        }
+        return latestName;
+    }
+
+    /**
+     * Reads the tasks in the snapshot with the given name.
+     *
+     * @param name The name of the snapshot.
+     * @return The tasks in the snapshot.
+     * @throws IOException               If there are issues reading the snapshot.
+     * @throws CorruptedStorageException If the snapshot is damaged.
+     */
+    List<Task> load(String name) throws IOException, CorruptedStorageException {
+        List<Task> tasks = new ArrayList<>();
+        try (RecordReader reader = new RecordReader(
+                Files.newBufferedReader(this.getPath(name), StandardCharsets.UTF_8))) {
+            String serialisedTask;
+            while ((serialisedTask = reader.readRecord()) != null) {
+                tasks.add(Storage.deserialiseTask(serialisedTask));
+            }
+            if (!reader.getDamagedLines().isEmpty()) {
+                throw new CorruptedStorageException("Some tasks in the snapshot are damaged!");
+            }
+        }
+        return tasks;
+    }
+
+    private Path getPath(String name) {
+        return this.directory.resolve(name + SNAPSHOT_EXTENSION);
+    }
+}
@@ -1,18 +1,43 @@
 package duke;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import duke.exception.CorruptedStorageException;
+import duke.exception.DukeException;
 import duke.exception.InvalidDateInputException;
+import duke.exception.StaleStorageException;
 import duke.task.Deadline;
 import duke.task.Event;
+import duke.task.Recurrence;
 import duke.task.Task;
+import duke.task.TaskList;
 import duke.task.Todo;
 
 
@@ -20,18 +45,108 @@ import duke.task.Todo;
  * A class that represents the storage of the data
  */
 public class Storage {
-    private static final String ERROR_WRITING_TO_STORAGE_MSG = "Couldn't save new task to storage!";
+    private static final String ERROR_WRITING_TO_STORAGE_MSG = "Couldn't save tasks to storage!";
+    private static final String ERROR_READING_FROM_STORAGE_MSG =
+            "Couldn't read saved tasks from storage!";
+    private static final String ERROR_WRITING_TO_QUARANTINE_MSG =
+            "Couldn't set aside damaged tasks!";
+    private static final String ERROR_WRITING_TO_ARCHIVE_MSG = "Couldn't archive tasks!";
+    private static final String ERROR_READING_FROM_ARCHIVE_MSG = "Couldn't read archived tasks!";
+    private static final String ERROR_WRITING_TO_SNAPSHOT_MSG = "Couldn't take a snapshot!";
+    private static final String ERROR_READING_FROM_SNAPSHOT_MSG = "Couldn't read snapshots!";
+    private static final String ERROR_WRITING_TO_HISTORY_MSG =
+            "Couldn't save the history of edits!";
+    private static final String ERROR_WRITING_TO_EXPORT_MSG = "Couldn't export tasks to %s!";
+    private static final String ERROR_EXPORTING_TO_DATA_MSG =
+            "%s is where Duke keeps its own files. Please export your tasks somewhere else.";
+    private static final String ERROR_LOCKING_STORAGE_MSG = "Couldn't lock saved tasks!";
+    private static final String ERROR_WATCHING_STORAGE_MSG =
+            "Couldn't watch saved tasks for changes made by other programs!";
+
+    /**
+     * The number of characters of exported tasks that are buffered before they are written out.
+     */
+    private static final int EXPORT_BUFFER_SIZE = 1 << 16;
 
     private final Path filePath;
-    private List<String> serialisedTasks;
+    private final Path tempFilePath;
+    private final Path quarantinePath;
+    private final Archive archive;
+    private final EditHistory history;
+    private final SnapshotStore snapshots;
+    private final Durability durability;
+
+    /**
+     * The background writer of saved tasks, or <code>null</code> if tasks are written as soon as
+     * they are saved.
+     */
+    private final SnapshotFlusher flusher;
+    private final WriterLock writerLock;
+    private int numQuarantinedTasks;
+
+    /**
+     * The version of the saved tasks as they were last read or written here. The saved tasks are
+     * only replaced if they are still at this version, so that changes made by other programs are
+     * never overwritten before they have been merged.
+     */
+    private final AtomicReference<FileVersion> savedVersion = new AtomicReference<>();
+
+    /**
+     * The hashes of the lines of the saved tasks as they were last read or written here, one for
+     * each task in the list, or <code>null</code> if the lines do not match the tasks one to one.
+     */
+    private LineHashes savedLineHashes;
+
+    /**
+     * The service that watches the saved tasks for changes made by other programs, or
+     * <code>null</code> if they are not watched.
+     */
+    private WatchService watchService;
+
+    /**
+     * The generation of the tasks last saved here, which each save increments.
+     */
+    private long generation;
+
+    /**
+     * The number of tasks at the start of the list that the last merge left as they were.
+     */
+    private int numTasksKeptByMerge;
+
+    /**
+     * Initialises a new instance, where every save is flushed to the hard disk before it
+     * completes.
+     *
+     * @param filePath    The path to save the data to in the hard disk.
+     * @param archivePath The path to save archived tasks to in the hard disk.
+     */
+    public Storage(Path filePath, Path archivePath) {
+        this(filePath, archivePath, Durability.SYNC);
+    }
 
     /**
      * Initialises a new instance.
      *
-     * @param filePath The path to save the data to in the hard disk.
+     * @param filePath    The path to save the data to in the hard disk.
+     * @param archivePath The path to save archived tasks to in the hard disk.
+     * @param durability  How soon saved tasks are made durable on the hard disk.
      */
-    public Storage(Path filePath) {
+    public Storage(Path filePath, Path archivePath, Durability durability) {
         this.filePath = filePath;
+        // Each process writes its own temporary file, since other processes may save at once
+        this.tempFilePath = filePath.resolveSibling(
+                filePath.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+        this.quarantinePath = filePath.resolveSibling(filePath.getFileName() + ".quarantine");
+        this.archive = new Archive(archivePath);
+        this.history =
+                new EditHistory(filePath.resolveSibling(filePath.getFileName() + ".history"));
+        this.snapshots = new SnapshotStore(filePath.resolveSibling("snapshots"));
+        this.durability = durability;
+        this.writerLock = new WriterLock(filePath.resolveSibling(filePath.getFileName() + ".lock"));
+        this.flusher = durability == Durability.SYNC
+                ? null
+                : new SnapshotFlusher(filePath, this.tempFilePath, this.savedVersion,
+                        this.writerLock, durability);
 
         try {
             // Create directories if it does yet exist
@@ -41,149 +156,877 @@ public class Storage {
             // Check if the file to be read exists. If not, create it.
             if (!Files.exists(filePath)) {
                 Files.createFile(filePath);
+                // An existing file can only be replaced once it has been read, so that the tasks
+                // in it are never lost, but there is nothing to lose in a new one
+                this.savedVersion.set(FileVersion.of(filePath));
             }
-            this.serialisedTasks = Files.readAllLines(filePath);
+        } catch (FileAlreadyExistsException e) {
+            // Another process created the file first
         } catch (IOException e) {
             System.out.println(
                     "Something went wrong when loading previously saved tasks! Starting with an "
                             + "empty tasks list instead...");
-            e.printStackTrace();
         }
     }
 
-    /**
-     * Writes the list of tasks saved in the application to the hard disk.
-     *
-     * @throws IOException If there are issues reading/writing to the file.
-     */
-    private void writeToFile() throws IOException {
-        String fileData = String.join("\n", this.serialisedTasks);
-        Files.writeString(filePath, fileData, StandardCharsets.UTF_8, StandardOpenOption.WRITE,
-                StandardOpenOption.TRUNCATE_EXISTING);
-    }
-
     /**
      * Retrieves the task from the hard disk and loads them into the application.
+     * The history of edits saved with the tasks is loaded as well, unless it no longer matches
+     * them.
      *
      * @return A list of saved <code>Task</code>s.
      * @throws CorruptedStorageException If something went wrong de-serialising the saved tasks,
      *                                   either due to missing fields, or unknown format.
      */
     public List<Task> loadTasks() throws CorruptedStorageException {
-        List<Task> tasks = new ArrayList<>();
+        List<Task> tasks;
+        List<String> damagedLines;
+        FileVersion version;
+        LineHashes lineHashes;
+        this.flush();
 
-        for (String serialisedTask : this.serialisedTasks) {
-            // "|" is a special regex character which needs to be escaped
-            String[] tokens = serialisedTask.split(" \\| ");
+        // Everything is read through one channel, so it all comes from the same file even if
+        // another program replaces it in the meantime
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            version = FileVersion.of(filePath, channel);
+            lineHashes = LineHashes.read(channel, version.getHeaderLength(), null);
+            damagedLines = new ArrayList<>();
+            tasks = Storage.readTasks(channel, version.getHeaderLength(), lineHashes.size(),
+                    damagedLines);
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_READING_FROM_STORAGE_MSG, e);
+        }
 
-            if (tokens.length < 3) {
-                throw new CorruptedStorageException("Some tasks are missing fields!");
+        this.quarantine(damagedLines);
+        this.loadHistory(tasks.size(), lineHashes.combinedHash());
+        this.savedVersion.set(version);
+        // The damaged lines are only removed from the file when the tasks are next saved
+        this.savedLineHashes = damagedLines.isEmpty() ? lineHashes : null;
+        return tasks;
+    }
+
+    /**
+     * Merges the changes that other programs made to the saved tasks since they were last read or
+     * written here into the given list.
+     * Only the lines between the first and the last line that changed are read again, and only
+     * the tasks on those lines are replaced in, added to, or deleted from the list, so the rest of
+     * the list is left as it is. Nothing is read if the saved tasks have not changed. The history
+     * of edits is only kept if undoing or redoing its edits changes none of the merged tasks,
+     * since the edits may no longer fit the list otherwise.
+     *
+     * @param tasks The list of tasks as they were last loaded or saved.
+     * @return The number of tasks that were replaced, added, or deleted.
+     * @throws CorruptedStorageException If there are issues reading the saved tasks.
+     * @throws StaleStorageException      If tasks saved in the background were not written since
+     *                                    the saved tasks had been changed, in which case the
+     *                                    changes are still merged.
+     */
+    public int mergeExternalChanges(TaskList tasks)
+            throws CorruptedStorageException, StaleStorageException {
+        this.numTasksKeptByMerge = tasks.size();
+        StaleFileException staleFailure = null;
+        if (this.flusher != null) {
+            // A snapshot written after the merge would overwrite the merged changes, so they are
+            // merged once the snapshot has been written instead, rather than waiting for it here
+            if (this.flusher.hasPendingSnapshots()) {
+                return 0;
+            }
+            try {
+                this.flusher.throwUnreportedFailure();
+            } catch (StaleFileException e) {
+                // The snapshot did not overwrite the saved tasks, so their changes are merged below
+                staleFailure = e;
+            } catch (IOException e) {
+                throw new CorruptedStorageException(ERROR_WRITING_TO_STORAGE_MSG, e);
             }
+        }
 
-            String taskType = tokens[0];
-            boolean isDone = tokens[1].equals("1");
-            String desc = tokens[2];
+        int numChangedTasks = 0;
+        try {
+            FileVersion version = FileVersion.of(this.filePath);
+            if (version != null && !version.equals(this.savedVersion.get())) {
+                numChangedTasks = this.mergeChangedLines(tasks);
+            }
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_READING_FROM_STORAGE_MSG, e);
+        }
+
+        if (staleFailure != null) {
+            throw new StaleStorageException(staleFailure);
+        }
+        return numChangedTasks;
+    }
 
-            switch (taskType) {
-            case "T":
-                tasks.add(deserialiseTodo(desc, isDone));
-                break;
-            case "D":
-                tasks.add(deserialiseDeadline(tokens, desc, isDone));
-                break;
-            case "E":
-                tasks.add(deserialiseEvent(tokens, desc, isDone));
-                break;
-            default:
-                throw new CorruptedStorageException(
-                        "Some unknown task type was stored in the database!");
+    /**
+     * Merges the lines of the saved tasks that changed since they were last read or written here
+     * into the given list.
+     */
+    private int mergeChangedLines(TaskList tasks) throws CorruptedStorageException, IOException {
+        try (FileChannel channel = FileChannel.open(this.filePath, StandardOpenOption.READ)) {
+            FileVersion version = FileVersion.of(this.filePath, channel);
+            LineHashes previousLineHashes =
+                    this.savedLineHashes != null && this.savedLineHashes.size() == tasks.size()
+                            ? this.savedLineHashes
+                            : null;
+            LineHashes lineHashes =
+                    LineHashes.read(channel, version.getHeaderLength(), previousLineHashes);
+            int numPreviousLines = previousLineHashes == null ? 0 : tasks.size();
+            int numLines = lineHashes.size();
+
+            // The lines that are the same at the start and at the end of the file
+            int numSameLinesBefore = 0;
+            while (numSameLinesBefore < Math.min(numPreviousLines, numLines)
+                    && previousLineHashes.get(numSameLinesBefore)
+                            == lineHashes.get(numSameLinesBefore)) {
+                numSameLinesBefore++;
+            }
+            int numSameLinesAfter = 0;
+            while (numSameLinesBefore + numSameLinesAfter < Math.min(numPreviousLines, numLines)
+                    && previousLineHashes.get(numPreviousLines - 1 - numSameLinesAfter)
+                            == lineHashes.get(numLines - 1 - numSameLinesAfter)) {
+                numSameLinesAfter++;
             }
 
+            List<String> damagedLines = new ArrayList<>();
+            List<Task> changedTasks = Storage.readTasks(channel,
+                    lineHashes.getFirstChangedOffset(),
+                    numLines - numSameLinesBefore - numSameLinesAfter, damagedLines);
+            int numChangedTasks = Storage.replaceTasks(tasks, numSameLinesBefore,
+                    tasks.size() - numSameLinesBefore - numSameLinesAfter, changedTasks);
+            this.numTasksKeptByMerge = numChangedTasks > 0 ? numSameLinesBefore : tasks.size();
+
+            this.quarantine(damagedLines);
+            this.savedVersion.set(version);
+            this.savedLineHashes = damagedLines.isEmpty() ? lineHashes : null;
+            if (numChangedTasks > 0) {
+                this.history.keepIfWithin(numSameLinesBefore);
+                this.history.save(tasks.size(), lineHashes.combinedHash());
+            }
+            return numChangedTasks;
         }
+    }
 
+    /**
+     * Returns the number of tasks at the start of the list that the last merge of external changes
+     * left as they were, so tasks with those IDs are still the same tasks.
+     *
+     * @return The number of tasks kept by the last merge, which is the whole list if it merged
+     *         nothing.
+     */
+    public int getNumTasksKeptByMerge() {
+        return this.numTasksKeptByMerge;
+    }
+
+    /**
+     * Reads the tasks on the given number of lines, starting from the given offset in the file.
+     * The channel is closed afterwards.
+     */
+    private static List<Task> readTasks(FileChannel channel, long offset, int numLines,
+            List<String> damagedLines) throws IOException {
+        List<Task> tasks = new ArrayList<>(numLines);
+        try (RecordReader reader = new RecordReader(new BufferedReader(
+                Channels.newReader(channel.position(offset), StandardCharsets.UTF_8)))) {
+            for (int i = 0; i < numLines; i++) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                String record = reader.toRecord(line);
+                if (record == null) {
+                    continue;
+                }
+                try {
+                    tasks.add(deserialiseTask(record));
+                } catch (CorruptedStorageException e) {
+                    // Kept in the order of the file, together with the lines that were damaged
+                    reader.getDamagedLines().add(record);
+                }
+            }
+            damagedLines.addAll(reader.getDamagedLines());
+        }
         return tasks;
     }
 
-    private Todo deserialiseTodo(String desc, boolean isDone) {
+    /**
+     * Replaces the given number of tasks from the given index in the list with the given tasks,
+     * replacing tasks in place where there are as many of each.
+     *
+     * @return The number of tasks that were replaced, added, or deleted.
+     */
+    private static int replaceTasks(TaskList tasks, int start, int numTasks,
+            List<Task> replacements) {
+        int numReplaced = Math.min(numTasks, replacements.size());
+        for (int i = 0; i < numReplaced; i++) {
+            tasks.replaceTask(start + i + 1, replacements.get(i));
+        }
+
+        if (numTasks > numReplaced) {
+            BitSet taskIds = new BitSet();
+            taskIds.set(start + numReplaced + 1, start + numTasks + 1);
+            tasks.deleteTasks(taskIds);
+        }
+        for (int i = numReplaced; i < replacements.size(); i++) {
+            tasks.insertTask(start + i + 1, replacements.get(i));
+        }
+        return Math.max(numTasks, replacements.size());
+    }
+
+    /**
+     * Starts watching the saved tasks for changes made by other programs.
+     * The given action is run on a background thread whenever the file of saved tasks changes,
+     * which includes when tasks are saved here. The changes can then be merged with
+     * {@link #mergeExternalChanges(TaskList)}, which ignores the saves made here.
+     *
+     * @param onChange The action to run whenever the file of saved tasks changes.
+     * @throws CorruptedStorageException If the saved tasks cannot be watched.
+     */
+    public void watchForExternalChanges(Runnable onChange) throws CorruptedStorageException {
+        Path directory = this.filePath.toAbsolutePath().getParent();
+        try {
+            this.watchService = directory.getFileSystem().newWatchService();
+            directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_WATCHING_STORAGE_MSG, e);
+        }
+
+        WatchService watchService = this.watchService;
+        Thread thread = new Thread(() -> this.watch(watchService, onChange), "duke-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch(WatchService watchService, Runnable onChange) {
+        Path fileName = this.filePath.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean isChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    // Events that were dropped could have been for the saved tasks as well
+                    isChanged |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || fileName.equals(event.context());
+                }
+                if (isChanged) {
+                    onChange.run();
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The watch service is only closed when the storage is closed
+        }
+    }
+
+    /**
+     * Reads the history of edits from the hard disk. The history is simply started afresh if it
+     * cannot be read, since the tasks themselves are not affected.
+     */
+    private void loadHistory(int numTasks, long tasksHash) {
+        try {
+            this.history.load(numTasks, tasksHash);
+        } catch (IOException e) {
+            this.history.clear();
+        }
+
+        if (this.numQuarantinedTasks > 0) {
+            // The history may refer to the tasks that were set aside
+            this.history.clear();
+        }
+    }
+
+    /**
+     * Returns the history of edits made to the saved tasks, which is saved together with them.
+     *
+     * @return The history of edits.
+     */
+    public EditHistory getHistory() {
+        return this.history;
+    }
+
+    /**
+     * Returns the number of saved tasks that were found to be damaged the last time tasks were
+     * loaded. These tasks were not loaded, and were moved to the quarantine file instead.
+     *
+     * @return The number of saved tasks that were found to be damaged.
+     */
+    public int getNumQuarantinedTasks() {
+        return this.numQuarantinedTasks;
+    }
+
+    /**
+     * Returns the path of the file that damaged tasks are moved to.
+     *
+     * @return The path of the file that damaged tasks are moved to.
+     */
+    public Path getQuarantinePath() {
+        return this.quarantinePath;
+    }
+
+    /**
+     * Appends the given lines to the quarantine file, so that they are not lost when the
+     * remaining tasks are next saved.
+     * The damaged lines stay in the saved tasks until then, so lines that are already in the
+     * quarantine file from an earlier load are not appended again.
+     */
+    private void quarantine(List<String> damagedLines) throws CorruptedStorageException {
+        this.numQuarantinedTasks = damagedLines.size();
+        if (damagedLines.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<String> quarantinedLines = new HashSet<>();
+            if (Files.exists(quarantinePath)) {
+                // Decoding as a string replaces any bytes that are not valid UTF-8
+                new String(Files.readAllBytes(quarantinePath), StandardCharsets.UTF_8).lines()
+                        .forEach(quarantinedLines::add);
+            }
+            List<String> newLines = new ArrayList<>();
+            for (String line : damagedLines) {
+                if (quarantinedLines.add(line)) {
+                    newLines.add(line);
+                }
+            }
+            Files.write(quarantinePath, newLines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_WRITING_TO_QUARANTINE_MSG, e);
+        }
+    }
+
+    /**
+     * De-serialises a single task that was serialised with {@link Task#serialise()}.
+     *
+     * @param serialisedTask The serialised task.
+     * @return The de-serialised task.
+     * @throws CorruptedStorageException If the serialised task is missing fields or has an
+     *                                   unknown format.
+     */
+    static Task deserialiseTask(String serialisedTask) throws CorruptedStorageException {
+        // "|" is a special regex character which needs to be escaped
+        String[] tokens = serialisedTask.split(" \\| ");
+
+        if (tokens.length < 3) {
+            throw new CorruptedStorageException("Some tasks are missing fields!");
+        }
+
+        String taskType = tokens[0];
+        boolean isDone = tokens[1].equals("1");
+        String desc = DescriptionPool.intern(tokens[2]);
+
+        switch (taskType) {
+        case "T":
+            return deserialiseTodo(desc, isDone);
+        case "D":
+            return deserialiseDeadline(tokens, desc, isDone);
+        case "E":
+            return deserialiseEvent(tokens, desc, isDone);
+        default:
+            throw new CorruptedStorageException(
+                    "Some unknown task type was stored in the database!");
+        }
+    }
+
+    private static Todo deserialiseTodo(String desc, boolean isDone) {
         return new Todo(desc, isDone);
     }
 
-    private Deadline deserialiseDeadline(String[] tokens, String desc, boolean isDone)
+    private static Deadline deserialiseDeadline(String[] tokens, String desc, boolean isDone)
             throws CorruptedStorageException {
         if (tokens.length < 4) {
             throw new CorruptedStorageException("Deadline task is missing due date!");
         }
         String by = tokens[3];
+        Recurrence recurrence = deserialiseRecurrence(tokens);
 
         try {
-            return new Deadline(desc, by, isDone);
+            // Only repeating tasks that have moved on from their first occurrence store it
+            return tokens.length < 6
+                    ? new Deadline(desc, by, isDone, recurrence)
+                    : new Deadline(desc, by, isDone, recurrence, tokens[5]);
         } catch (InvalidDateInputException e) {
-            throw new CorruptedStorageException("Date was not stored properly!");
+            throw new CorruptedStorageException("Date was not stored properly!", e);
         }
     }
 
-    private Event deserialiseEvent(String[] tokens, String desc, boolean isDone)
+    private static Event deserialiseEvent(String[] tokens, String desc, boolean isDone)
             throws CorruptedStorageException {
         if (tokens.length < 4) {
             throw new CorruptedStorageException("Event task is missing date!");
         }
         String at = tokens[3];
+        Recurrence recurrence = deserialiseRecurrence(tokens);
 
         try {
-            return new Event(desc, at, isDone);
+            // Only repeating tasks that have moved on from their first occurrence store it
+            return tokens.length < 6
+                    ? new Event(desc, at, isDone, recurrence)
+                    : new Event(desc, at, isDone, recurrence, tokens[5]);
         } catch (InvalidDateInputException e) {
-            throw new CorruptedStorageException("Date was not stored properly!");
+            throw new CorruptedStorageException("Date was not stored properly!", e);
+        }
+    }
+
+    private static Recurrence deserialiseRecurrence(String[] tokens)
+            throws CorruptedStorageException {
+        // Only tasks that repeat have their recurrence stored
+        if (tokens.length < 5) {
+            return Recurrence.NONE;
+        }
+
+        Recurrence recurrence = Recurrence.fromKeyword(tokens[4]);
+        if (recurrence == null) {
+            throw new CorruptedStorageException(
+                    "Some unknown recurrence was stored in the database!");
         }
+        return recurrence;
     }
 
     /**
-     * Saves a new task to the hard disk.
+     * Writes all tasks in the given list to the hard disk, replacing what was previously saved.
+     * The tasks are first written to a temporary file, which only replaces the saved tasks once it
+     * has been fully written to the disk, so that the saved tasks are never left partially written.
+     * With {@link Durability#SYNC}, each task is streamed to the file as it is serialised, and the
+     * file is flushed before this returns. Otherwise, the serialised tasks are handed to a
+     * background thread, and this either waits for them to be flushed together with other saves
+     * ({@link Durability#GROUP}) or returns immediately ({@link Durability#ASYNC}).
+     * The history of edits is saved afterwards if it has changed.
      *
-     * @param task The task to be saved.
+     * @param tasks The list of tasks to be saved.
      * @throws CorruptedStorageException If there are issues reading/writing to the file.
+     * @throws StaleStorageException      If the saved tasks were changed by another program since
+     *                                    they were last read or written, in which case they are
+     *                                    left as they are.
      */
-    public void saveNewTask(Task task) throws CorruptedStorageException {
-        this.serialisedTasks.add(task.serialise());
+    public void saveTasks(TaskList tasks)
+            throws CorruptedStorageException, StaleStorageException {
+        LineHashes previousLineHashes = this.savedLineHashes;
+        try {
+            if (this.flusher == null) {
+                // Concurrent saves would otherwise write to the same temporary file
+                synchronized (this) {
+                    LineHashes lineHashes = new LineHashes();
+                    long generation = this.nextGeneration();
+                    Storage.replaceIfUnchanged(filePath, tempFilePath, this.savedVersion,
+                            this.writerLock, path -> {
+                        try (FileChannel channel = FileChannel.open(path,
+                                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING)) {
+                            Storage.writeTasks(tasks, channel, generation, lineHashes);
+                            channel.force(true);
+                        }
+                    });
+                    this.savedLineHashes = lineHashes;
+                }
+            } else {
+                // The tasks are serialised here, since they may be changed as soon as this returns
+                ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+                LineHashes lineHashes = new LineHashes();
+                Storage.writeTasks(tasks, Channels.newChannel(snapshot), this.nextGeneration(),
+                        lineHashes);
+                long snapshotId = this.flusher.submit(snapshot.toByteArray());
+                this.savedLineHashes = lineHashes;
+                if (this.durability == Durability.GROUP) {
+                    this.flusher.awaitDurable(snapshotId);
+                }
+            }
+        } catch (StaleFileException e) {
+            // The saved lines still match the tasks once the changes that failed to save are
+            // reversed, which is what the next merge compares them with
+            this.savedLineHashes = previousLineHashes;
+            throw new StaleStorageException(e);
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_WRITING_TO_STORAGE_MSG, e);
+        }
 
         try {
-            this.writeToFile();
+            this.history.save(tasks.size(), this.savedLineHashes.combinedHash());
         } catch (IOException e) {
-            throw new CorruptedStorageException(ERROR_WRITING_TO_STORAGE_MSG);
+            throw new CorruptedStorageException(ERROR_WRITING_TO_HISTORY_MSG, e);
         }
     }
 
     /**
-     * Updates a task and write these changes to the hard disk.
+     * Waits until all saved tasks have been flushed to the hard disk.
      *
-     * @param taskId The ID of the task to be updated.
-     * @param task   The updated task.
-     * @throws CorruptedStorageException If there are issues reading/writing to the file.
+     * @throws CorruptedStorageException If the saved tasks could not be written.
      */
-    public void updateExistingTask(int taskId, Task task) throws CorruptedStorageException {
-        assert taskId <= this.serialisedTasks.size();
-        this.serialisedTasks.set(taskId - 1, task.serialise());
+    public void flush() throws CorruptedStorageException {
+        if (this.flusher == null) {
+            return;
+        }
 
         try {
-            this.writeToFile();
+            this.flusher.flush();
         } catch (IOException e) {
-            throw new CorruptedStorageException(ERROR_WRITING_TO_STORAGE_MSG);
+            throw new CorruptedStorageException(ERROR_WRITING_TO_STORAGE_MSG, e);
         }
     }
 
     /**
-     * Deletes a task from the hard disk.
+     * Flushes all saved tasks to the hard disk, and stops writing them in the background.
+     * Tasks can no longer be saved afterwards.
      *
-     * @param taskId The ID of the task to be deleted.
-     * @throws CorruptedStorageException If there are issues reading/writing to the file.
+     * @throws CorruptedStorageException If the saved tasks could not be written.
+     */
+    public void close() throws CorruptedStorageException {
+        if (this.watchService != null) {
+            try {
+                this.watchService.close();
+            } catch (IOException e) {
+                // Nothing is watched anymore either way
+            }
+        }
+        if (this.flusher == null) {
+            return;
+        }
+
+        try {
+            this.flusher.close();
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_WRITING_TO_STORAGE_MSG, e);
+        }
+    }
+
+    /**
+     * Writes all tasks in the given list to the given channel, one record per task.
+     */
+    static void writeTasks(TaskList tasks, WritableByteChannel channel)
+            throws IOException {
+        try (RecordWriter writer = new RecordWriter(channel)) {
+            for (Task task : tasks) {
+                writer.write(task);
+            }
+        }
+    }
+
+    /**
+     * Returns the generation of the next tasks to be saved, which is later than that of any tasks
+     * saved or read here so far.
+     */
+    private synchronized long nextGeneration() {
+        FileVersion version = this.savedVersion.get();
+        this.generation =
+                Math.max(this.generation, version == null ? 0 : version.getGeneration()) + 1;
+        return this.generation;
+    }
+
+    /**
+     * Writes all tasks in the given list to the given channel, one record per task, after a header
+     * holding their generation. The hash of each line of a task is added to the given hashes.
+     */
+    private static void writeTasks(TaskList tasks, WritableByteChannel channel, long generation,
+            LineHashes lineHashes) throws IOException {
+        try (RecordWriter writer = new RecordWriter(channel, lineHashes)) {
+            writer.writeHeader(out -> out.append(FileVersion.GENERATION_PREFIX)
+                    .append(Long.toString(generation)));
+            for (Task task : tasks) {
+                writer.write(task);
+            }
+        }
+    }
+
+    /**
+     * Writes a temporary file and moves it over the saved tasks, unless the saved tasks were
+     * changed since they were at the given version. The given version then becomes the version of
+     * the temporary file, which moving the file does not change.
+     * Every process that saves tasks takes a lock on a file next to the saved tasks while it
+     * checks, writes and replaces them, so no other process can replace them in between. The
+     * saved tasks are checked before the temporary file is written, so a process that would fail
+     * to replace them finds out without writing anything.
+     *
+     * @param target       The path of the saved tasks.
+     * @param tempPath     The path of the temporary file.
+     * @param savedVersion The version of the saved tasks as they were last read or written.
+     * @param writerLock   The lock on the saved tasks.
+     * @param writer       Writes the tasks to the temporary file.
+     * @throws StaleFileException If the saved tasks were changed, in which case nothing is written.
+     */
+    static void replaceIfUnchanged(Path target, Path tempPath,
+            AtomicReference<FileVersion> savedVersion, WriterLock writerLock,
+            ReplacementWriter writer) throws IOException {
+        writerLock.lock();
+        try {
+            FileVersion currentVersion = FileVersion.of(target);
+            // A file that was deleted has nothing left to overwrite
+            if (currentVersion != null && !currentVersion.equals(savedVersion.get())) {
+                throw new StaleFileException();
+            }
+            writer.write(tempPath);
+            FileVersion writtenVersion = FileVersion.of(tempPath);
+            Storage.replaceAtomically(tempPath, target);
+            savedVersion.set(writtenVersion);
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * Keeps other processes from saving tasks until {@link #unlockSavedTasks()} is called, so that
+     * the tasks saved here next are sure to replace the tasks that were last read here.
+     * The lock is held for this storage rather than the calling thread, and can be taken several
+     * times, as long as it is released as many times.
+     *
+     * @throws CorruptedStorageException If the saved tasks could not be locked.
+     */
+    public void lockSavedTasks() throws CorruptedStorageException {
+        try {
+            this.writerLock.lock();
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_LOCKING_STORAGE_MSG, e);
+        }
+    }
+
+    /**
+     * Lets other processes save tasks again, once the lock has been released as many times as it
+     * was taken with {@link #lockSavedTasks()}.
+     *
+     * @throws CorruptedStorageException If the saved tasks could not be unlocked.
+     */
+    public void unlockSavedTasks() throws CorruptedStorageException {
+        try {
+            this.writerLock.unlock();
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_LOCKING_STORAGE_MSG, e);
+        }
+    }
+
+    /**
+     * Moves the source file over the target file, atomically if the file system supports it.
+     */
+    static void replaceAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Saves a snapshot of the given list of tasks to the hard disk, named after the current time.
+     * The list is copied before it is written, which does not take longer for a longer list, so
+     * it can be changed while the snapshot is written.
+     *
+     * @param tasks The list of tasks to take a snapshot of.
+     * @return The name of the snapshot.
+     * @throws CorruptedStorageException If there are issues writing the snapshot.
+     */
+    public String saveSnapshot(TaskList tasks) throws CorruptedStorageException {
+        try {
+            return this.snapshots.save(tasks.snapshot(), LocalDateTime.now());
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_WRITING_TO_SNAPSHOT_MSG, e);
+        }
+    }
+
+    /**
+     * Returns the names of all saved snapshots, from the oldest to the latest.
+     * The name of a snapshot is the time it was taken, such as "2020-11-06T18-30-00".
+     *
+     * @return The names of all saved snapshots.
+     * @throws CorruptedStorageException If there are issues reading the snapshots.
      */
-    public void deleteExistingTask(int taskId) throws CorruptedStorageException {
-        assert taskId <= this.serialisedTasks.size();
-        this.serialisedTasks.remove(taskId - 1);
+    public List<String> getSnapshotNames() throws CorruptedStorageException {
+        try {
+            return this.snapshots.getNames();
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_READING_FROM_SNAPSHOT_MSG, e);
+        }
+    }
 
+    /**
+     * Returns the name of the latest snapshot taken at or before the given time.
+     *
+     * @param time The time, such as "2020-11-06" or "2020-11-06T18-30", or <code>null</code> for
+     *             the latest snapshot. A snapshot taken within the given day, hour, or minute
+     *             counts as well.
+     * @return The name of the snapshot, or <code>null</code> if there is none.
+     * @throws CorruptedStorageException If there are issues reading the snapshots.
+     */
+    public String findSnapshot(String time) throws CorruptedStorageException {
         try {
-            this.writeToFile();
+            return this.snapshots.find(time);
         } catch (IOException e) {
-            throw new CorruptedStorageException(ERROR_WRITING_TO_STORAGE_MSG);
+            throw new CorruptedStorageException(ERROR_READING_FROM_SNAPSHOT_MSG, e);
+        }
+    }
+
+    /**
+     * Returns the tasks in the snapshot with the given name.
+     *
+     * @param name The name of the snapshot.
+     * @return A list of the <code>Task</code>s in the snapshot.
+     * @throws CorruptedStorageException If there are issues reading or de-serialising the snapshot.
+     */
+    public List<Task> loadSnapshot(String name) throws CorruptedStorageException {
+        try {
+            return this.snapshots.load(name);
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_READING_FROM_SNAPSHOT_MSG, e);
+        }
+    }
+
+    /**
+     * Appends the given tasks to the archive on the hard disk.
+     * Tasks that were archived before are never rewritten. Other processes are kept from saving
+     * or archiving tasks while the tasks are appended, so that their appends cannot overwrite
+     * each other.
+     *
+     * @param tasks The tasks to be archived.
+     * @throws CorruptedStorageException If there are issues writing to the archive.
+     */
+    public void archiveTasks(List<Task> tasks) throws CorruptedStorageException {
+        this.lockSavedTasks();
+        try {
+            this.archive.append(tasks);
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_WRITING_TO_ARCHIVE_MSG, e);
+        } finally {
+            this.unlockSavedTasks();
+        }
+    }
+
+    /**
+     * Appends the given tasks to the archive on the hard disk, and then saves the given list,
+     * which the tasks have been removed from.
+     * The tasks are archived before they are saved, so that a failure in between leaves a
+     * duplicate in the archive rather than losing the tasks. Other processes are kept from saving
+     * or archiving tasks until both are done, and if the saved tasks were changed by another
+     * program anyway, the tasks are removed from the archive again, so that they are only
+     * archived once the list without them is saved.
+     *
+     * @param archivedTasks The tasks to be archived.
+     * @param tasks         The list of tasks to be saved, without the archived tasks.
+     * @throws CorruptedStorageException If there are issues writing to the archive or the file.
+     * @throws StaleStorageException      If the saved tasks were changed by another program since
+     *                                    they were last read or written, in which case neither
+     *                                    the archive nor the saved tasks are changed.
+     */
+    public void archiveAndSaveTasks(List<Task> archivedTasks, TaskList tasks)
+            throws CorruptedStorageException, StaleStorageException {
+        this.lockSavedTasks();
+        try {
+            this.archiveTasks(archivedTasks);
+            try {
+                this.saveTasks(tasks);
+            } catch (StaleStorageException e) {
+                try {
+                    this.archive.removeLastAppend();
+                } catch (IOException removalFailure) {
+                    e.addSuppressed(removalFailure);
+                }
+                throw e;
+            }
+        } finally {
+            this.unlockSavedTasks();
+        }
+    }
+
+    /**
+     * Returns the archived tasks whose description contains the given keyword.
+     * Only the parts of the archive that could contain the keyword are read, and only the matching
+     * tasks are held in memory.
+     *
+     * @param keyword The keyword to search for.
+     * @return A list of the matching archived <code>Task</code>s.
+     * @throws CorruptedStorageException If there are issues reading or de-serialising the archive.
+     */
+    public List<Task> searchArchive(String keyword) throws CorruptedStorageException {
+        try {
+            return this.archive.search(keyword);
+        } catch (IOException e) {
+            throw new CorruptedStorageException(ERROR_READING_FROM_ARCHIVE_MSG, e);
+        }
+    }
+
+    /**
+     * Exports all tasks in the given list to the given file in the given format, replacing the
+     * file if it already exists.
+     * Each task is written out through a fixed-size buffer as soon as it is formatted, so
+     * exporting takes the same amount of memory however many tasks there are. The tasks are first
+     * written to a temporary file next to the given file, which only replaces it once all tasks
+     * have been written, so that a failed export leaves the file as it was.
+     *
+     * @param tasks  The list of tasks to be exported.
+     * @param format The format to export the tasks in.
+     * @param path   The path of the file to export the tasks to, which must not be in the
+     *               directory that the saved tasks are kept in.
+     * @throws DukeException             If the path is in the directory of the saved tasks.
+     * @throws CorruptedStorageException If there are issues writing to the file.
+     */
+    public void exportTasks(TaskList tasks, ExportFormat format, Path path)
+            throws DukeException {
+        Path tempPath = null;
+        try {
+            if (this.isInDataDirectory(path)) {
+                throw new DukeException(String.format(ERROR_EXPORTING_TO_DATA_MSG, path));
+            }
+
+            tempPath = path.resolveSibling(
+                    path.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    Writer writer = new BufferedWriter(Channels.newWriter(channel,
+                            StandardCharsets.UTF_8.newEncoder(), -1), EXPORT_BUFFER_SIZE)) {
+                TaskExporter exporter = TaskExporter.create(format, writer, Instant.now());
+                exporter.writeHeader();
+                int taskId = 1;
+                for (Task task : tasks) {
+                    exporter.write(taskId, task);
+                    taskId++;
+                }
+                exporter.writeFooter();
+                writer.flush();
+                channel.force(true);
+            }
+            Storage.replaceAtomically(tempPath, path);
+        } catch (IOException e) {
+            throw new CorruptedStorageException(String.format(ERROR_WRITING_TO_EXPORT_MSG, path),
+                    e);
+        } finally {
+            if (tempPath != null) {
+                try {
+                    Files.deleteIfExists(tempPath);
+                } catch (IOException e) {
+                    // Only a stray temporary file is left behind
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given path is in the directory that the saved tasks are kept in, where
+     * exported tasks could overwrite the saved tasks or the files kept alongside them.
+     * Symbolic links are followed for the parts of the path that exist.
+     */
+    private boolean isInDataDirectory(Path path) throws IOException {
+        Path dataDirectory = this.filePath.toAbsolutePath().normalize().getParent();
+        Path directory = path.toAbsolutePath().normalize().getParent();
+        if (directory == null) {
+            return false;
+        } else if (Files.exists(dataDirectory) && Files.exists(directory)) {
+            return directory.toRealPath().startsWith(dataDirectory.toRealPath());
+        }
+        return directory.startsWith(dataDirectory);
+    }
+
+    /**
+     * Writes the tasks that are to replace the saved tasks to a file.
+     */
+    interface ReplacementWriter {
+        void write(Path path) throws IOException;
+    }
+
+    /**
+     * Signals that the saved tasks were not overwritten, because they were changed by another
+     * program since they were last read or written here.
+     */
+    static class StaleFileException extends IOException {
+        StaleFileException() {
+            super("The saved tasks were changed by another program.");
         }
     }
 }
@@ -0,0 +1,347 @@
+package duke;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.Todo;
+
+/**
+ * Writes tasks to an output in an {@link ExportFormat}, one task at a time, so that only the task
+ * being written is ever held in memory.
+ * The header of the format is written with {@link #writeHeader()}, followed by each task with
+ * {@link #write(int, Task)}, and then the footer with {@link #writeFooter()}.
+ */
+abstract class TaskExporter {
+    /**
+     * The output that tasks are written to.
+     */
+    final Appendable out;
+
+    TaskExporter(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Returns an exporter that writes tasks to the given output in the given format.
+     *
+     * @param format The format to write tasks in.
+     * @param out    The output to write tasks to.
+     * @param time   The time the tasks are exported, which some formats record.
+     * @return The exporter.
+     */
+    static TaskExporter create(ExportFormat format, Appendable out, Instant time) {
+        switch (format) {
+        case CSV:
+            return new CsvExporter(out);
+        case JSON_LINES:
+            return new JsonLinesExporter(out);
+        case ICALENDAR:
+            return new ICalendarExporter(out, time);
+        default:
+            throw new AssertionError(format);
+        }
+    }
+
+    /**
+     * Writes whatever comes before the tasks in the format.
+     *
+     * @throws IOException If the output could not be written to.
+     */
+    void writeHeader() throws IOException {
+    }
+
+    /**
+     * Writes the given task.
+     *
+     * @param taskId The ID of the task.
+     * @param task   The task to be written.
+     * @throws IOException If the output could not be written to.
+     */
+    abstract void write(int taskId, Task task) throws IOException;
+
+    /**
+     * Writes whatever comes after the tasks in the format.
+     *
+     * @throws IOException If the output could not be written to.
+     */
+    void writeFooter() throws IOException {
+    }
+
+    private static String getType(Task task) {
+        if (task instanceof Todo) {
+            return "todo";
+        } else if (task instanceof Deadline) {
+            return "deadline";
+        } else {
+            assert task instanceof Event;
+            return "event";
+        }
+    }
+
+    /**
+     * Writes tasks as comma-separated values, following RFC 4180.
+     */
+    private static class CsvExporter extends TaskExporter {
+        CsvExporter(Appendable out) {
+            super(out);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            this.out.append("id,type,description,done,date,recurrence\r\n");
+        }
+
+        @Override
+        void write(int taskId, Task task) throws IOException {
+            this.out.append(Integer.toString(taskId)).append(',')
+                    .append(TaskExporter.getType(task)).append(',');
+            this.appendField(task.getDescription());
+            this.out.append(',').append(task.isDone() ? "true" : "false").append(',');
+            LocalDate date = task.getDate();
+            if (date != null) {
+                DateTimeFormatter.ISO_LOCAL_DATE.formatTo(date, this.out);
+            }
+            this.out.append(',').append(task.getRecurrence().getKeyword()).append("\r\n");
+        }
+
+        /**
+         * Appends the given field, quoting it if it contains any character that has a meaning in
+         * the format.
+         */
+        private void appendField(String field) throws IOException {
+            boolean isQuoted = false;
+            for (int i = 0; i < field.length() && !isQuoted; i++) {
+                char c = field.charAt(i);
+                isQuoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!isQuoted) {
+                this.out.append(field);
+                return;
+            }
+
+            this.out.append('"');
+            for (int i = 0; i < field.length(); i++) {
+                char c = field.charAt(i);
+                if (c == '"') {
+                    this.out.append('"');
+                }
+                this.out.append(c);
+            }
+            this.out.append('"');
+        }
+    }
+
+    /**
+     * Writes tasks as JSON Lines, where each task is a JSON object on a line of its own.
+     * Only the tasks that have a date or repeat have those fields.
+     */
+    private static class JsonLinesExporter extends TaskExporter {
+        private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+        JsonLinesExporter(Appendable out) {
+            super(out);
+        }
+
+        @Override
+        void write(int taskId, Task task) throws IOException {
+            this.out.append("{\"id\":").append(Integer.toString(taskId))
+                    .append(",\"type\":\"").append(TaskExporter.getType(task))
+                    .append("\",\"description\":");
+            this.appendString(task.getDescription());
+            this.out.append(",\"done\":").append(task.isDone() ? "true" : "false");
+
+            LocalDate date = task.getDate();
+            if (date != null) {
+                this.out.append(",\"date\":\"");
+                DateTimeFormatter.ISO_LOCAL_DATE.formatTo(date, this.out);
+                this.out.append('"');
+            }
+            if (task.getRecurrence() != Recurrence.NONE) {
+                this.out.append(",\"recurrence\":\"").append(task.getRecurrence().getKeyword())
+                        .append('"');
+            }
+            this.out.append("}\n");
+        }
+
+        /**
+         * Appends the given string as a JSON string, escaping the characters that JSON requires
+         * to be escaped.
+         */
+        private void appendString(String string) throws IOException {
+            this.out.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c == '"' || c == '\\') {
+                    this.out.append('\\').append(c);
+                } else if (c == '\n') {
+                    this.out.append("\\n");
+                } else if (c < 0x20) {
+                    this.out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xf]);
+                } else {
+                    this.out.append(c);
+                }
+            }
+            this.out.append('"');
+        }
+    }
+
+    /**
+     * Writes tasks as an iCalendar, following RFC 5545.
+     * To-dos and deadlines are written as <code>VTODO</code>s, with deadlines due on their date,
+     * and events are written as all-day <code>VEVENT</code>s. Repeating tasks start on their first
+     * occurrence, which their recurrence rule counts from, the same way as
+     * {@link Recurrence#getNextOccurrence(LocalDate, LocalDate)} does. Each occurrence of a
+     * repeating deadline is due on the day it starts.
+     */
+    private static class ICalendarExporter extends TaskExporter {
+        /**
+         * The maximum number of bytes in a line, after which the line is folded onto the next.
+         */
+        private static final int MAX_LINE_BYTES = 75;
+
+        /**
+         * The number of days in the shortest month.
+         */
+        private static final int MIN_DAYS_IN_MONTH = 28;
+
+        private static final DateTimeFormatter TIMESTAMP_FORMAT =
+                DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+        /**
+         * The time the tasks are exported, in the format of an iCalendar timestamp.
+         */
+        private final String timestamp;
+
+        private final StringBuilder line = new StringBuilder();
+
+        ICalendarExporter(Appendable out, Instant time) {
+            super(out);
+            this.timestamp = TIMESTAMP_FORMAT.format(time);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            this.out.append("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Duke//Duke//EN\r\n");
+        }
+
+        @Override
+        void write(int taskId, Task task) throws IOException {
+            String component = task instanceof Event ? "VEVENT" : "VTODO";
+            this.out.append("BEGIN:").append(component).append("\r\n");
+            // Task IDs change as tasks are deleted, so they are only unique within one export
+            this.out.append("UID:").append(this.timestamp).append('-')
+                    .append(Integer.toString(taskId)).append("@duke\r\n");
+            this.out.append("DTSTAMP:").append(this.timestamp).append("\r\n");
+
+            this.line.setLength(0);
+            this.line.append("SUMMARY:");
+            this.appendText(task.getDescription());
+            this.writeLine();
+
+            LocalDate date = task.getDate();
+            boolean isRecurring = task.getRecurrence() != Recurrence.NONE;
+            if (isRecurring) {
+                // Recurrence rules count from the start, which to-dos otherwise do not need
+                LocalDate firstOccurrence = task.getFirstOccurrence();
+                this.writeDate("DTSTART", firstOccurrence);
+                if (!(task instanceof Event)) {
+                    this.writeDate("DUE", firstOccurrence);
+                }
+                this.writeRule(task.getRecurrence(), firstOccurrence);
+            } else if (date != null) {
+                this.writeDate(task instanceof Event ? "DTSTART" : "DUE", date);
+            }
+            if (!(task instanceof Event)) {
+                this.out.append("STATUS:").append(task.isDone() ? "COMPLETED" : "NEEDS-ACTION")
+                        .append("\r\n");
+            }
+            this.out.append("END:").append(component).append("\r\n");
+        }
+
+        @Override
+        void writeFooter() throws IOException {
+            this.out.append("END:VCALENDAR\r\n");
+        }
+
+        /**
+         * Writes a property with the given name whose value is the given date.
+         */
+        private void writeDate(String name, LocalDate date) throws IOException {
+            this.out.append(name).append(";VALUE=DATE:");
+            DateTimeFormatter.BASIC_ISO_DATE.formatTo(date, this.out);
+            this.out.append("\r\n");
+        }
+
+        /**
+         * Writes the recurrence rule of a task that repeats from the given first occurrence.
+         * A monthly task first due after the 28th is due on the last day of the months which
+         * are too short for that day, so its rule picks the last of the days from the 28th up to
+         * that day that each month has.
+         */
+        private void writeRule(Recurrence recurrence, LocalDate firstOccurrence)
+                throws IOException {
+            this.out.append("RRULE:FREQ=").append(recurrence.name());
+            int dayOfMonth = firstOccurrence.getDayOfMonth();
+            if (recurrence == Recurrence.MONTHLY && dayOfMonth > MIN_DAYS_IN_MONTH) {
+                this.out.append(";BYMONTHDAY=").append(Integer.toString(MIN_DAYS_IN_MONTH));
+                for (int day = MIN_DAYS_IN_MONTH + 1; day <= dayOfMonth; day++) {
+                    this.out.append(',').append(Integer.toString(day));
+                }
+                this.out.append(";BYSETPOS=-1");
+            }
+            this.out.append("\r\n");
+        }
+
+        /**
+         * Appends the given text to the line, escaping the characters that have a meaning in the
+         * format.
+         */
+        private void appendText(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\\' || c == ';' || c == ',') {
+                    this.line.append('\\').append(c);
+                } else if (c == '\n') {
+                    this.line.append("\\n");
+                } else {
+                    this.line.append(c);
+                }
+            }
+        }
+
+        /**
+         * Writes out the line, folding it so that no line is longer than {@link #MAX_LINE_BYTES}
+         * bytes in UTF-8. A character is never split across lines.
+         */
+        private void writeLine() throws IOException {
+            int lineBytes = 0;
+            for (int i = 0; i < this.line.length(); ) {
+                char c = this.line.charAt(i);
+                int length = 1;
+                int bytes = c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+                if (Character.isHighSurrogate(c) && i + 1 < this.line.length()
+                        && Character.isLowSurrogate(this.line.charAt(i + 1))) {
+                    length = 2;
+                    bytes = 4;
+                }
+
+                if (lineBytes + bytes > MAX_LINE_BYTES) {
+                    // The space that starts the next line is part of the folding
+                    this.out.append("\r\n ");
+                    lineBytes = 1;
+                }
+                this.out.append(this.line, i, i + length);
+                lineBytes += bytes;
+                i += length;
+            }
+            this.out.append("\r\n");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package duke;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The lock that a {@link Storage} takes on a file next to its saved tasks while it replaces them,
+ * which keeps other processes from replacing them at the same time.
+ * The lock is held on behalf of the storage rather than a thread, so that tasks can still be
+ * written in the background while the lock is held for a command, and it can be taken again by
+ * the storage that holds it.
+ */
+final class WriterLock {
+    /**
+     * The lock files held in this process, since a file can only be locked once by a process and
+     * other storages of the same saved tasks have to wait for it instead.
+     */
+    private static final Set<Path> LOCKED_PATHS = new HashSet<>();
+
+    private final Path lockPath;
+
+    /**
+     * The channel that holds the lock, which releases the lock when it is closed, or
+     * <code>null</code> if the lock is not held.
+     */
+    private FileChannel channel;
+    private int holdCount;
+
+    /**
+     * Initialises a new instance, without taking the lock.
+     *
+     * @param lockPath The path of the file to lock, which is created if it does not exist.
+     */
+    WriterLock(Path lockPath) {
+        this.lockPath = lockPath.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Takes the lock, waiting until no other process or storage holds it.
+     *
+     * @throws IOException If the lock file could not be locked.
+     */
+    synchronized void lock() throws IOException {
+        if (this.holdCount == 0) {
+            synchronized (LOCKED_PATHS) {
+                try {
+                    while (!LOCKED_PATHS.add(this.lockPath)) {
+                        LOCKED_PATHS.wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+
+            try {
+                this.channel = FileChannel.open(this.lockPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE);
+                this.channel.lock();
+            } catch (IOException e) {
+                this.release();
+                throw e;
+            }
+        }
+        this.holdCount++;
+    }
+
+    /**
+     * Releases the lock once it has been released as many times as it was taken.
+     *
+     * @throws IOException If the lock file could not be unlocked.
+     */
+    synchronized void unlock() throws IOException {
+        assert this.holdCount > 0;
+        this.holdCount--;
+        if (this.holdCount == 0) {
+            this.release();
+        }
+    }
+
+    private void release() throws IOException {
+        try {
+            if (this.channel != null) {
+                this.channel.close();
+            }
+        } finally {
+            this.channel = null;
+            synchronized (LOCKED_PATHS) {
+                LOCKED_PATHS.remove(this.lockPath);
+                LOCKED_PATHS.notifyAll();
+            }
+        }
+    }
+}
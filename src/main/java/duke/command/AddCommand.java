@@ -36,7 +36,7 @@ public class AddCommand extends Command {
     public String execute(TaskList tasks, Storage storage) throws DukeException {
         tasks.addTask(task);
 
-        storage.saveNewTask(task);
+        storage.saveTasks(tasks);
 
         return String
                 .format("Got it. I've added this task:\n  %s\nNow you have %d tasks in the list.",
@@ -0,0 +1,46 @@
+package duke.command;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import duke.Storage;
+import duke.exception.DukeException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will move all completed tasks from the task list to the archive.
+ */
+public class ArchiveCommand extends Command {
+    /**
+     * Executes the Archive command by appending all completed tasks to the archive, removing them
+     * from the task list and storage, and then printing a message indicating how many tasks were
+     * archived.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     * @throws DukeException If the execution fails at any step.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) throws DukeException {
+        BitSet taskIds = TaskSelection.ofCompletedTasks().getTaskIds(tasks);
+        if (taskIds.isEmpty()) {
+            return "No completed tasks to archive.";
+        }
+
+        List<Task> completedTasks = new ArrayList<>(taskIds.cardinality());
+        for (Task task : tasks) {
+            if (task.isDone()) {
+                completedTasks.add(task);
+            }
+        }
+
+        tasks.deleteTasks(taskIds);
+        storage.archiveAndSaveTasks(completedTasks, tasks);
+
+        return String.format("Noted. I've archived %d completed tasks.\n"
+                + "Now you have %d tasks in the list.", completedTasks.size(), tasks.size());
+    }
+}
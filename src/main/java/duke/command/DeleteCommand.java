@@ -1,32 +1,34 @@
 package duke.command;
 
+import java.util.BitSet;
+import java.util.List;
+
 import duke.Storage;
 import duke.exception.DukeException;
-import duke.exception.InvalidTaskIdException;
 import duke.task.Task;
 import duke.task.TaskList;
 
 /**
- * Encapsulates a command that will delete a task.
+ * Encapsulates a command that will delete one or more tasks.
  */
 public class DeleteCommand extends Command {
     /**
-     * The ID of the task to be deleted.
+     * The selection of tasks to be deleted.
      */
-    private final int taskId;
+    private final TaskSelection selection;
 
     /**
      * Initialises a new instance.
      *
-     * @param taskId The ID of the task to be deleted.
+     * @param selection The selection of tasks to be deleted.
      */
-    public DeleteCommand(int taskId) {
-        this.taskId = taskId;
+    public DeleteCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     /**
-     * Executes the Delete command by deleting the task from the task list, updating the storage,
-     * and then printing a message indicating that the task was successfully deleted.
+     * Executes the Delete command by deleting the selected tasks from the task list, updating the
+     * storage once, and then printing a message indicating which tasks were deleted.
      *
      * @param tasks   The list of tasks known by the chat bot.
      * @param storage The storage that is used by the chat bot.
@@ -35,15 +37,32 @@ public class DeleteCommand extends Command {
      */
     @Override
     public String execute(TaskList tasks, Storage storage) throws DukeException {
-        if (taskId > tasks.size()) {
-            throw new InvalidTaskIdException("No task with the given ID was found!");
+        BitSet taskIds = this.selection.getTaskIds(tasks);
+        if (taskIds.isEmpty()) {
+            return "No tasks to remove.";
         }
-        Task task = tasks.deleteTask(taskId);
+        List<Task> deletedTasks = tasks.deleteTasks(taskIds);
 
-        storage.deleteExistingTask(taskId);
+        storage.saveTasks(tasks);
 
-        return String
-                .format("Noted. I've removed this task:\n%s\nNow you have %d tasks in the list.",
-                        task, tasks.size());
+        if (deletedTasks.size() == 1) {
+            return String.format(
+                    "Noted. I've removed this task:\n%s\nNow you have %d tasks in the list.",
+                    deletedTasks.get(0), tasks.size());
+        }
+        return String.format(
+                "Noted. I've removed these %d tasks:\n%s\nNow you have %d tasks in the list.",
+                deletedTasks.size(), joinLines(deletedTasks), tasks.size());
+    }
+
+    private static String joinLines(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        for (Task task : tasks) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(task);
+        }
+        return sb.toString();
     }
 }
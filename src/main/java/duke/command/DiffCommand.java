@@ -0,0 +1,94 @@
+package duke.command;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import duke.Storage;
+import duke.exception.DukeException;
+import duke.exception.SnapshotNotFoundException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will show how the task list has changed since a snapshot.
+ */
+public class DiffCommand extends Command {
+    /**
+     * The time of the snapshot to compare with, or <code>null</code> for the latest snapshot.
+     */
+    private final String time;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param time The time of the snapshot to compare with, such as "2020-11-06", or
+     *             <code>null</code> for the latest snapshot.
+     */
+    public DiffCommand(String time) {
+        this.time = time;
+    }
+
+    /**
+     * Executes the Diff command by printing out the tasks that are only in the latest snapshot
+     * taken at or before the given time, followed by the tasks that are only in the list.
+     * A task that was changed shows up as both, and tasks are matched regardless of where they are
+     * in the list.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     * @throws DukeException If the execution fails at any step.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) throws DukeException {
+        String name = storage.findSnapshot(this.time);
+        if (name == null) {
+            throw new SnapshotNotFoundException(this.time);
+        }
+        List<Task> snapshotTasks = storage.loadSnapshot(name);
+
+        // The number of times each task is in the snapshot but not yet matched in the list
+        Map<String, Integer> unmatchedTasks = new HashMap<>();
+        for (Task task : snapshotTasks) {
+            unmatchedTasks.merge(task.serialise(), 1, Integer::sum);
+        }
+
+        StringBuilder addedTasks = new StringBuilder();
+        int taskId = 1;
+        for (Task task : tasks) {
+            if (!DiffCommand.match(unmatchedTasks, task.serialise())) {
+                addedTasks.append("\n+ ").append(taskId).append(". ").append(task);
+            }
+            taskId++;
+        }
+
+        StringBuilder removedTasks = new StringBuilder();
+        for (Task task : snapshotTasks) {
+            if (DiffCommand.match(unmatchedTasks, task.serialise())) {
+                removedTasks.append("\n- ").append(task);
+            }
+        }
+
+        if (addedTasks.length() == 0 && removedTasks.length() == 0) {
+            return String.format("No changes since the snapshot %s.", name);
+        }
+        return String.format("Here are the changes since the snapshot %s:%s%s", name,
+                removedTasks, addedTasks);
+    }
+
+    /**
+     * Matches the given task against one of the unmatched tasks, returning whether there was one.
+     */
+    private static boolean match(Map<String, Integer> unmatchedTasks, String serialisedTask) {
+        Integer count = unmatchedTasks.get(serialisedTask);
+        if (count == null) {
+            return false;
+        } else if (count == 1) {
+            unmatchedTasks.remove(serialisedTask);
+        } else {
+            unmatchedTasks.put(serialisedTask, count - 1);
+        }
+        return true;
+    }
+}
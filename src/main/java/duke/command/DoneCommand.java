@@ -1,32 +1,34 @@
 package duke.command;
 
+import java.util.BitSet;
+
 import duke.Storage;
 import duke.exception.DukeException;
-import duke.exception.InvalidTaskIdException;
 import duke.task.Task;
 import duke.task.TaskList;
 
 /**
- * Encapsulates a command that will mark a task as complete.
+ * Encapsulates a command that will mark one or more tasks as complete.
  */
 public class DoneCommand extends Command {
     /**
-     * The ID of the task to be marked as complete.
+     * The selection of tasks to be marked as complete.
      */
-    private final int taskId;
+    private final TaskSelection selection;
 
     /**
      * Initialises a new instance.
      *
-     * @param taskId The ID of the task to be marked as complete.
+     * @param selection The selection of tasks to be marked as complete.
      */
-    public DoneCommand(int taskId) {
-        this.taskId = taskId;
+    public DoneCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     /**
-     * Executes the Done command by marking the task in the task list as complete, updating the
-     * storage, and then printing a message to indicate that the task was marked as done.
+     * Executes the Done command by marking the selected tasks in the task list as complete,
+     * updating the storage once, and then printing a message to indicate which tasks were marked
+     * as done.
      *
      * @param tasks   The list of tasks known by the chat bot.
      * @param storage The storage that is used by the chat bot.
@@ -35,14 +37,30 @@ public class DoneCommand extends Command {
      */
     @Override
     public String execute(TaskList tasks, Storage storage) throws DukeException {
-        if (taskId > tasks.size()) {
-            throw new InvalidTaskIdException("No task with the given ID was found!");
+        BitSet taskIds = this.selection.getTaskIds(tasks);
+        assert !taskIds.isEmpty();
+        StringBuilder markedTasks = new StringBuilder();
+        Task task = null;
+        for (int taskId = taskIds.nextSetBit(0); taskId >= 0;
+                taskId = taskIds.nextSetBit(taskId + 1)) {
+            task = tasks.markTaskAsDone(taskId);
+            if (markedTasks.length() > 0) {
+                markedTasks.append('\n');
+            }
+            markedTasks.append(task);
         }
-        Task task = tasks.getTask(taskId);
-        task.markAsDone();
 
-        storage.updateExistingTask(taskId, task);
+        storage.saveTasks(tasks);
+
+        if (taskIds.cardinality() > 1) {
+            return String.format("Nice! I've marked these %d tasks as done:\n%s",
+                    taskIds.cardinality(), markedTasks);
+        }
 
+        // A repeating task moves on to its next occurrence rather than being marked as done
+        if (!task.isDone()) {
+            return String.format("Nice! I've marked this occurrence as done. Up next:\n%s", task);
+        }
         return String.format("Nice! I've marked this task as done:\n%s", task);
     }
 }
@@ -0,0 +1,55 @@
+package duke.command;
+
+import java.nio.file.Path;
+
+import duke.ExportFormat;
+import duke.Storage;
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will export all tasks to a file, so that they can be used by other
+ * programs.
+ */
+public class ExportCommand extends Command {
+    /**
+     * The format to export the tasks in.
+     */
+    private final ExportFormat format;
+
+    /**
+     * The path of the file to export the tasks to.
+     */
+    private final Path path;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param format The format to export the tasks in.
+     * @param path   The path of the file to export the tasks to.
+     */
+    public ExportCommand(ExportFormat format, Path path) {
+        this.format = format;
+        this.path = path;
+    }
+
+    /**
+     * Executes the Export command by writing all tasks to the file in the chosen format, and then
+     * printing a message showing how many tasks were exported and how quickly.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     * @throws DukeException If the execution fails at any step.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) throws DukeException {
+        long startTime = System.nanoTime();
+        storage.exportTasks(tasks, this.format, this.path);
+        long elapsedNanos = Math.max(System.nanoTime() - startTime, 1);
+
+        return String.format("Noted. I've exported your %d tasks to %s as %s in %d ms "
+                        + "(%d tasks per second).", tasks.size(), this.path, this.format.getName(),
+                elapsedNanos / 1_000_000, tasks.size() * 1_000_000_000L / elapsedNanos);
+    }
+}
@@ -0,0 +1,51 @@
+package duke.command;
+
+import duke.Storage;
+import duke.task.TaskFilter;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will find a list of tasks meeting some filter conditions.
+ */
+public class FilterCommand extends Command {
+    /**
+     * The filter conditions as typed by the user, with the conditions separated by single spaces.
+     */
+    private final String query;
+
+    /**
+     * The filter compiled from the conditions.
+     */
+    private final TaskFilter filter;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param query  The filter conditions as typed by the user.
+     * @param filter The filter compiled from the conditions.
+     */
+    public FilterCommand(String query, TaskFilter filter) {
+        this.query = query;
+        this.filter = filter;
+    }
+
+    /**
+     * Executes the Filter command by filtering the task list and then printing a message listing
+     * the matching tasks or a message indicating no tasks were found. The message is reused until
+     * the task list changes.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        return tasks.getQueryCache().getResult("find " + this.query, () -> {
+            TaskList filteredTasks = tasks.filter(this.filter);
+            if (filteredTasks.size() == 0) {
+                return "No matching tasks found.";
+            }
+            return String.format("Here are the matching tasks in your list:\n%s", filteredTasks);
+        });
+    }
+}
@@ -1,36 +1,123 @@
 package duke.command;
 
+import java.util.Locale;
+
 import duke.Storage;
+import duke.exception.DukeException;
 import duke.task.TaskList;
 
 /**
  * Encapsulates a command that will find a list of tasks containing the given keyword.
  */
 public class FindCommand extends Command {
+    /**
+     * The maximum number of tasks shown when only the best matches are shown.
+     */
+    private static final int MAX_RANKED_RESULTS = 10;
+
     /**
      * The keyword to search for
      */
     private final String keyword;
 
     /**
-     * Initialises a new instance.
+     * A flag to indicate if the archive should be searched instead of the task list.
+     */
+    private final boolean isSearchingArchive;
+
+    /**
+     * A flag to indicate if only the best matches should be shown, best match first, allowing for
+     * typos.
+     */
+    private final boolean isRanked;
+
+    /**
+     * Initialises a new instance that searches the task list.
      *
      * @param keyword The keyword to be added.
      */
     public FindCommand(String keyword) {
+        this(keyword, false);
+    }
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param keyword            The keyword to be added.
+     * @param isSearchingArchive Whether the archive should be searched instead of the task list.
+     */
+    public FindCommand(String keyword, boolean isSearchingArchive) {
+        this(keyword, isSearchingArchive, false);
+    }
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param keyword            The keyword to be added.
+     * @param isSearchingArchive Whether the archive should be searched instead of the task list.
+     * @param isRanked           Whether only the best matches should be shown, allowing for typos.
+     */
+    public FindCommand(String keyword, boolean isSearchingArchive, boolean isRanked) {
+        assert !(isSearchingArchive && isRanked);
         this.keyword = keyword;
+        this.isSearchingArchive = isSearchingArchive;
+        this.isRanked = isRanked;
     }
 
     /**
-     * Executes the Find command by searching for the keyword within the task list and then
-     * printing a message listing the matching tasks or a message indicating no tasks were found..
+     * Executes the Find command by searching for the keyword within the task list or archive and
+     * then printing a message listing the matching tasks or a message indicating no tasks were
+     * found. Searches of the task list are answered from the cache until the task list changes.
      *
      * @param tasks   The list of tasks known by the chat bot.
      * @param storage The storage that is used by the chat bot.
      * @return A string detailing the outcome of the execution.
+     * @throws DukeException If the archive could not be searched.
      */
     @Override
-    public String execute(TaskList tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) throws DukeException {
+        if (this.isSearchingArchive) {
+            TaskList archivedTasks = new TaskList(storage.searchArchive(this.keyword));
+            if (archivedTasks.size() == 0) {
+                return "No matching archived tasks found.";
+            }
+            return String.format("Here are the matching tasks in your archive:\n%s",
+                    archivedTasks);
+        }
+
+        // The archive is read from the hard disk, so only searches of the task list are cached
+        return tasks.getQueryCache().getResult(this.getNormalisedQuery(),
+                () -> this.searchTasks(tasks));
+    }
+
+    /**
+     * Returns the query written the same way as every other query with the same results. Searches
+     * ignore case, and ranked searches also ignore how the words are spaced.
+     */
+    private String getNormalisedQuery() {
+        if (this.isRanked) {
+            String words = this.keyword.toLowerCase(Locale.ROOT).trim();
+            return "find --fuzzy " + String.join(" ", words.split("\\s+"));
+        }
+
+        // Characters are folded the same way they are compared when searching
+        StringBuilder query = new StringBuilder("find ");
+        for (int i = 0; i < this.keyword.length(); i++) {
+            query.append(Character.toLowerCase(Character.toUpperCase(this.keyword.charAt(i))));
+        }
+        return query.toString();
+    }
+
+    private String searchTasks(TaskList tasks) {
+        if (this.isRanked) {
+            TaskList rankedTasks = tasks.searchRanked(this.keyword, FindCommand.MAX_RANKED_RESULTS);
+            if (rankedTasks.size() == 0) {
+                return "No matching tasks found.";
+            }
+            return String.format("Here are the closest matching tasks in your list:\n%s",
+                    rankedTasks);
+        }
+
         TaskList filteredTasks = tasks.search(this.keyword);
         if (filteredTasks.size() == 0) {
             return "No matching tasks found.";
@@ -16,7 +16,8 @@ public class HelpCommand extends Command {
      */
     @Override
     public String execute(TaskList tasks, Storage storage) {
-        String listHelpMessage = "To list out all existing tasks, type 'list'.\n";
+        String listHelpMessage = "To list out all existing tasks, type 'list', or 'list --sort "
+                + "<due, desc, type, or done>' to sort them.\n";
         String byeHelpMessage = "To exit the program, type 'bye'.\n";
         String todoHelpMessage = "To add a new Todo item, type 'todo <description>'.\n";
         String deadlineHelpMessage =
@@ -24,19 +25,47 @@ public class HelpCommand extends Command {
                         + " format>'.\n";
         String eventHelpMessage = "To add a new Event item, type 'event <description> /at <date "
                 + "in yyyy-MM-dd format>'.\n";
-        String doneHelpMessage = "To mark any item as complete, type 'done <taskId>'.\n";
-        String deleteHelpMessage = "To delete any item, type `delete <taskId>.\n";
+        String recurrenceHelpMessage = "To make a Deadline or Event item repeat, add '/every "
+                + "<daily, weekly, or monthly>' after its date.\n";
+        String doneHelpMessage = "To mark any items as complete, type 'done <taskIds>', for "
+                + "example 'done 3,7,10-12'.\n";
+        String deleteHelpMessage = "To delete any items, type 'delete <taskIds>', or 'delete "
+                + "--done' to delete all completed items.\n";
         String updateHelpMessage =
                 "To update an item, type 'update <taskId> <command to create a todo, deadline, or"
                         + " event>'.\n";
         String findHelpMessage =
-                "To find all items containing a certain keyword, type 'find <keyword>'.\n";
+                "To find all items containing a certain keyword, type 'find <keyword>', or 'find "
+                        + "--archive <keyword>' to search archived items instead. To find the 10 "
+                        + "items that best match some words, even with typos, type 'find --fuzzy "
+                        + "<words>'. To filter items, type 'find' followed by conditions such "
+                        + "as 'type:deadline done:false due<2020-11-01 text:report'.\n";
+        String archiveHelpMessage =
+                "To move all completed items out of the list and into the archive, type "
+                        + "'archive'.\n";
+
+        String undoHelpMessage = "To undo the last change to your items, type 'undo', and "
+                + "type 'redo' to make it again. Up to 100 changes can be undone, even after a "
+                + "restart.\n";
+
+        String snapshotHelpMessage = "To save a copy of your items as they are now, type "
+                + "'snapshot', or 'snapshot --list' to see all copies. To see what changed since "
+                + "a copy, type 'diff <date>', and to go back to it, type 'restore <date>', "
+                + "where the date is in yyyy-MM-dd format. A copy is also saved every day.\n";
+
+        String exportHelpMessage = "To export your items for use in other programs, type "
+                + "'export <csv, jsonl, or ics> <path>'. Calendar apps can import the ics file.\n";
+
+        String statsHelpMessage = "To see statistics about your items and searches, type "
+                + "'stats'.\n";
 
         List<String> messages =
                 List.of(listHelpMessage, byeHelpMessage, todoHelpMessage, deadlineHelpMessage,
-                        eventHelpMessage, doneHelpMessage, deleteHelpMessage, updateHelpMessage,
-                        findHelpMessage).stream().map((message) -> "\u2022 " + message)
-                        .collect(Collectors.toList());
+                        eventHelpMessage, recurrenceHelpMessage, doneHelpMessage,
+                        deleteHelpMessage, updateHelpMessage, findHelpMessage,
+                        archiveHelpMessage, undoHelpMessage, snapshotHelpMessage,
+                        exportHelpMessage, statsHelpMessage).stream()
+                        .map((message) -> "\u2022 " + message).collect(Collectors.toList());
 
         return String.format("This is a list of functionalities that I support:\n\n%s",
                 String.join("", messages));
@@ -1,14 +1,39 @@
 package duke.command;
 
 import duke.Storage;
+import duke.task.SortOrder;
 import duke.task.TaskList;
 
 /**
  * Encapsulates a command that will list all the tasks of the chat bot.
  */
 public class ListCommand extends Command {
+    /**
+     * The order to list the tasks in, or <code>null</code> to list them in the order they were
+     * added.
+     */
+    private final SortOrder order;
+
+    /**
+     * Initialises a new instance that lists the tasks in the order they were added.
+     */
+    public ListCommand() {
+        this(null);
+    }
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param order The order to list the tasks in, or <code>null</code> to list them in the order
+     *              they were added.
+     */
+    public ListCommand(SortOrder order) {
+        this.order = order;
+    }
+
     /**
      * Executes the List command by printing out all tasks in the task list.
+     * The message is reused until the task list changes.
      *
      * @param tasks   The list of tasks known by the chat bot.
      * @param storage The storage that is used by the chat bot.
@@ -18,8 +43,13 @@ public class ListCommand extends Command {
     public String execute(TaskList tasks, Storage storage) {
         if (tasks.size() == 0) {
             return "No tasks found.";
+        } else if (this.order == null) {
+            return tasks.getQueryCache().getResult("list",
+                    () -> String.format("Here are the tasks in your list:\n%s", tasks));
         } else {
-            return String.format("Here are the tasks in your list:\n%s", tasks);
+            return tasks.getQueryCache().getResult("list --sort " + this.order.getKeyword(),
+                    () -> String.format("Here are the tasks in your list, sorted by %s:\n%s",
+                            this.order.getKeyword(), tasks.toString(this.order)));
         }
     }
 }
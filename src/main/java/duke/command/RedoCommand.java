@@ -0,0 +1,31 @@
+package duke.command;
+
+import duke.Storage;
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will redo the latest change that was undone.
+ */
+public class RedoCommand extends Command {
+    /**
+     * Executes the Redo command by making the latest undone edit in the history again, updating
+     * the storage, and then printing a message indicating how many tasks are now in the list.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     * @throws DukeException If the execution fails at any step.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) throws DukeException {
+        if (!storage.getHistory().redo(tasks)) {
+            return "Nothing to redo.";
+        }
+
+        storage.saveTasks(tasks);
+
+        return String.format("Noted. I've redone your last undone change.\nNow you have %d tasks "
+                + "in the list.", tasks.size());
+    }
+}
@@ -0,0 +1,61 @@
+package duke.command;
+
+import java.util.BitSet;
+import java.util.List;
+
+import duke.Storage;
+import duke.exception.DukeException;
+import duke.exception.SnapshotNotFoundException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will replace the task list with the tasks in a snapshot.
+ */
+public class RestoreCommand extends Command {
+    /**
+     * The time to restore the task list to, or <code>null</code> for the latest snapshot.
+     */
+    private final String time;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param time The time to restore the task list to, such as "2020-11-06", or
+     *             <code>null</code> for the latest snapshot.
+     */
+    public RestoreCommand(String time) {
+        this.time = time;
+    }
+
+    /**
+     * Executes the Restore command by replacing all tasks in the list with those in the latest
+     * snapshot taken at or before the given time, updating the storage, and then printing a
+     * message indicating how many tasks are now in the list. The restore can be undone.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     * @throws DukeException If the execution fails at any step.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) throws DukeException {
+        String name = storage.findSnapshot(this.time);
+        if (name == null) {
+            throw new SnapshotNotFoundException(this.time);
+        }
+        List<Task> snapshotTasks = storage.loadSnapshot(name);
+
+        BitSet taskIds = new BitSet();
+        taskIds.set(1, tasks.size() + 1);
+        tasks.deleteTasks(taskIds);
+        for (Task task : snapshotTasks) {
+            tasks.addTask(task);
+        }
+
+        storage.saveTasks(tasks);
+
+        return String.format("Noted. I've restored your tasks from the snapshot %s.\n"
+                + "Now you have %d tasks in the list.", name, tasks.size());
+    }
+}
@@ -0,0 +1,58 @@
+package duke.command;
+
+import java.util.List;
+
+import duke.Storage;
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will take a snapshot of the task list, or list the snapshots taken.
+ */
+public class SnapshotCommand extends Command {
+    /**
+     * Whether the snapshots taken are listed instead of taking a new one.
+     */
+    private final boolean isListing;
+
+    /**
+     * Initialises a new instance that will take a snapshot.
+     */
+    public SnapshotCommand() {
+        this(false);
+    }
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param isListing Whether to list the snapshots taken instead of taking a new one.
+     */
+    public SnapshotCommand(boolean isListing) {
+        this.isListing = isListing;
+    }
+
+    /**
+     * Executes the Snapshot command by saving a copy of the task list as it is now, or by printing
+     * out the names of all snapshots.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     * @throws DukeException If the execution fails at any step.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) throws DukeException {
+        if (this.isListing) {
+            List<String> names = storage.getSnapshotNames();
+            if (names.isEmpty()) {
+                return "There are no snapshots yet.";
+            }
+            return String.format("Here are your snapshots, oldest first:\n%s",
+                    String.join("\n", names));
+        }
+
+        String name = storage.saveSnapshot(tasks);
+        return String.format("Noted. I've taken a snapshot of your %d tasks: %s", tasks.size(),
+                name);
+    }
+}
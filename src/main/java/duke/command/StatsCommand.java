@@ -0,0 +1,37 @@
+package duke.command;
+
+import duke.Storage;
+import duke.task.QueryCache;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will show statistics about the chat bot.
+ */
+public class StatsCommand extends Command {
+    /**
+     * Executes the Stats command by printing out the number of tasks, and how often queries were
+     * answered from the cache.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        int numCompletedTasks = 0;
+        for (Task task : tasks) {
+            if (task.isDone()) {
+                numCompletedTasks++;
+            }
+        }
+
+        QueryCache queryCache = tasks.getQueryCache();
+        long numQueries = queryCache.getNumHits() + queryCache.getNumMisses();
+        double hitRate = numQueries == 0 ? 0 : 100.0 * queryCache.getNumHits() / numQueries;
+
+        return String.format("Here are some statistics:\nTasks: %d (%d completed)\n"
+                        + "Cached queries: %d hits, %d misses (%.1f%% hit rate)", tasks.size(),
+                numCompletedTasks, queryCache.getNumHits(), queryCache.getNumMisses(), hitRate);
+    }
+}
@@ -0,0 +1,76 @@
+package duke.command;
+
+import java.util.BitSet;
+import java.util.List;
+
+import duke.exception.InvalidTaskIdException;
+import duke.task.Task;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a selection of tasks that a command is to be applied to, either as ranges of task
+ * IDs or as all tasks that are already completed.
+ */
+public class TaskSelection {
+    /**
+     * The inclusive ranges of task IDs that are selected, each given as <code>{from, to}</code>.
+     */
+    private final List<int[]> taskIdRanges;
+
+    /**
+     * A flag to indicate if all completed tasks are selected instead.
+     */
+    private final boolean isSelectingCompletedTasks;
+
+    private TaskSelection(List<int[]> taskIdRanges, boolean isSelectingCompletedTasks) {
+        this.taskIdRanges = taskIdRanges;
+        this.isSelectingCompletedTasks = isSelectingCompletedTasks;
+    }
+
+    /**
+     * Returns a selection of the tasks with IDs in the given ranges.
+     *
+     * @param taskIdRanges The inclusive ranges of task IDs, each given as <code>{from, to}</code>.
+     * @return A selection of the tasks with IDs in the given ranges.
+     */
+    public static TaskSelection ofTaskIds(List<int[]> taskIdRanges) {
+        return new TaskSelection(taskIdRanges, false);
+    }
+
+    /**
+     * Returns a selection of all tasks that are completed.
+     *
+     * @return A selection of all tasks that are completed.
+     */
+    public static TaskSelection ofCompletedTasks() {
+        return new TaskSelection(List.of(), true);
+    }
+
+    /**
+     * Returns the IDs of the selected tasks in the given list.
+     *
+     * @param tasks The list of tasks to select from.
+     * @return The set of selected task IDs.
+     * @throws InvalidTaskIdException If some selected task ID does not exist in the list.
+     */
+    public BitSet getTaskIds(TaskList tasks) throws InvalidTaskIdException {
+        BitSet taskIds = new BitSet(tasks.size() + 1);
+
+        if (this.isSelectingCompletedTasks) {
+            int taskId = 1;
+            for (Task task : tasks) {
+                taskIds.set(taskId, task.isDone());
+                taskId++;
+            }
+            return taskIds;
+        }
+
+        for (int[] range : this.taskIdRanges) {
+            if (range[1] > tasks.size()) {
+                throw new InvalidTaskIdException("No task with the given ID was found!");
+            }
+            taskIds.set(range[0], range[1] + 1);
+        }
+        return taskIds;
+    }
+}
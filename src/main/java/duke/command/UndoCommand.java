@@ -0,0 +1,31 @@
+package duke.command;
+
+import duke.Storage;
+import duke.exception.DukeException;
+import duke.task.TaskList;
+
+/**
+ * Encapsulates a command that will undo the latest command that changed the task list.
+ */
+public class UndoCommand extends Command {
+    /**
+     * Executes the Undo command by reversing the latest edit in the history, updating the storage,
+     * and then printing a message indicating how many tasks are now in the list.
+     *
+     * @param tasks   The list of tasks known by the chat bot.
+     * @param storage The storage that is used by the chat bot.
+     * @return A string detailing the outcome of the execution.
+     * @throws DukeException If the execution fails at any step.
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) throws DukeException {
+        if (!storage.getHistory().undo(tasks)) {
+            return "Nothing to undo.";
+        }
+
+        storage.saveTasks(tasks);
+
+        return String.format("Noted. I've undone your last change.\nNow you have %d tasks in the "
+                + "list.", tasks.size());
+    }
+}
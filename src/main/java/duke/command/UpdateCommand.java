@@ -33,7 +33,7 @@ public class UpdateCommand extends Command {
 
     /**
      * Executes the Update command by updating the task from the task list, updating the storage,
-     * and then printing a message showing the new updated task list.
+     * and then printing a message showing the updated task.
      *
      * @param tasks   The list of tasks known by the chat bot.
      * @param storage The storage that is used by the chat bot.
@@ -47,9 +47,9 @@ public class UpdateCommand extends Command {
         }
 
         tasks.updateTask(taskId, updatedTask);
-        storage.updateExistingTask(taskId, updatedTask);
+        storage.saveTasks(tasks);
 
-        return String.format("Noted. I've updated the task.\n\nHere's your updated task "
-                + "list:\n%s\n", tasks);
+        return String.format("Noted. I've updated this task:\n%d. %s", taskId,
+                tasks.getTask(taskId));
     }
 }
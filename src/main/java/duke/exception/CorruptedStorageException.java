@@ -13,4 +13,15 @@ public class CorruptedStorageException extends DukeException {
     public CorruptedStorageException(String message) {
         super("Storage is corrupted! " + message);
     }
+
+    /**
+     * Initialises a new instance with a warning that the storage is corrupted, followed by the
+     * specified detail message.
+     *
+     * @param message The detail message.
+     * @param cause   The failure to read or write the storage that led to this exception.
+     */
+    public CorruptedStorageException(String message, Throwable cause) {
+        super("Storage is corrupted! " + message, cause);
+    }
 }
@@ -13,4 +13,29 @@ public class DukeException extends Exception {
     public DukeException(String message) {
         super("OOPS!!! " + message);
     }
+
+    /**
+     * Initialises a new instance with a <code>OOPS!!! </code> to represent the personality of
+     * the chat bot, followed by the specified detail message.
+     *
+     * @param message The detail message.
+     * @param cause   The failure that led to this exception.
+     */
+    public DukeException(String message, Throwable cause) {
+        super("OOPS!!! " + message, cause);
+    }
+
+    /**
+     * Initialises a new instance with a <code>OOPS!!! </code> to represent the personality of
+     * the chat bot, followed by the specified detail message, and optionally without a stack
+     * trace.
+     * Exceptions that report invalid inputs rather than bugs leave out the stack trace, since
+     * filling it in would cost more than handling the input itself.
+     *
+     * @param message       The detail message.
+     * @param hasStackTrace Whether the stack trace is filled in.
+     */
+    protected DukeException(String message, boolean hasStackTrace) {
+        super("OOPS!!! " + message, null, true, hasStackTrace);
+    }
 }
@@ -0,0 +1,17 @@
+package duke.exception;
+
+/**
+ * Encapsulates the exception when an unknown export format is received.
+ */
+public class InvalidExportFormatException extends DukeException {
+    /**
+     * Initialises a new instance with a warning to indicate that the export format is not
+     * recognised, as well as the export formats that are supported.
+     *
+     * @param format The invalid export format that resulted in this exception.
+     */
+    public InvalidExportFormatException(String format) {
+        super(String.format("%s is not a recognised export format. Please key in either csv, "
+                + "jsonl, or ics.", format), false);
+    }
+}
@@ -0,0 +1,18 @@
+package duke.exception;
+
+/**
+ * Encapsulates the exception when an unknown filter condition is received.
+ */
+public class InvalidFilterException extends DukeException {
+    /**
+     * Initialises a new instance with a warning to indicate that the filter condition is not
+     * recognised, as well as the filter conditions that are supported.
+     *
+     * @param condition The invalid filter condition that resulted in this exception.
+     */
+    public InvalidFilterException(String condition) {
+        super(String.format("%s is not a recognised filter. Please use type:<todo, deadline, or "
+                + "event>, done:<true or false>, due<date>, due<=<date>, due><date>, "
+                + "due>=<date>, due:<date>, or text:<keyword>.", condition), false);
+    }
+}
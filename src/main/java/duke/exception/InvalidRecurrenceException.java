@@ -0,0 +1,17 @@
+package duke.exception;
+
+/**
+ * Encapsulates the exception when an unknown recurrence is received.
+ */
+public class InvalidRecurrenceException extends DukeException {
+    /**
+     * Initialises a new instance with a warning to indicate that the recurrence is not
+     * recognised, as well as the recurrences that are supported.
+     *
+     * @param recurrence The invalid recurrence that resulted in this exception.
+     */
+    public InvalidRecurrenceException(String recurrence) {
+        super(String.format("%s is not a recognised recurrence. Please key in either daily, "
+                + "weekly, or monthly.", recurrence), false);
+    }
+}
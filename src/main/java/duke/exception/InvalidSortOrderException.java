@@ -0,0 +1,17 @@
+package duke.exception;
+
+/**
+ * Encapsulates the exception when an unknown sort order is received.
+ */
+public class InvalidSortOrderException extends DukeException {
+    /**
+     * Initialises a new instance with a warning to indicate that the sort order is not
+     * recognised, as well as the sort orders that are supported.
+     *
+     * @param order The invalid sort order that resulted in this exception.
+     */
+    public InvalidSortOrderException(String order) {
+        super(String.format("%s is not a recognised sort order. Please key in either due, desc, "
+                + "type, or done.", order), false);
+    }
+}
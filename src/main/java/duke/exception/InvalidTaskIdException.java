@@ -11,6 +11,6 @@ public class InvalidTaskIdException extends DukeException {
      * @param message The detail message.
      */
     public InvalidTaskIdException(String message) {
-        super(message + " Please key in only the integer representing the task!");
+        super(message + " Please key in only the integer representing the task!", false);
     }
 }
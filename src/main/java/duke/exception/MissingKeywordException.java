@@ -11,6 +11,6 @@ public class MissingKeywordException extends DukeException {
      * @param message The detail message.
      */
     public MissingKeywordException(String message) {
-        super(String.format("%s Please specify a keyword!", message));
+        super(String.format("%s Please specify a keyword!", message), false);
     }
 }
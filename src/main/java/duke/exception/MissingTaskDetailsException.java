@@ -12,7 +12,7 @@ public class MissingTaskDetailsException extends DukeException {
      * @param message The detail message.
      */
     public MissingTaskDetailsException(String message) {
-        super(message + " Insufficient details provided!");
+        super(message + " Insufficient details provided!", false);
     }
 
     /**
@@ -22,6 +22,6 @@ public class MissingTaskDetailsException extends DukeException {
      * @param missingDetails The task details that are missing
      */
     public MissingTaskDetailsException(String message, String missingDetails) {
-        super(message + " " + missingDetails);
+        super(message + " " + missingDetails, false);
     }
 }
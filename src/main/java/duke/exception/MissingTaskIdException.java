@@ -11,6 +11,6 @@ public class MissingTaskIdException extends DukeException {
      * @param message The detail message.
      */
     public MissingTaskIdException(String message) {
-        super(message + " No task was specified!");
+        super(message + " No task was specified!", false);
     }
 }
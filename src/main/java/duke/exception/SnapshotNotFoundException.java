@@ -0,0 +1,20 @@
+package duke.exception;
+
+/**
+ * Encapsulates the exception when there is no snapshot for a given time.
+ */
+public class SnapshotNotFoundException extends DukeException {
+    /**
+     * Initialises a new instance with a warning to indicate that there is no snapshot taken at or
+     * before the given time, as well as how to see the snapshots that there are.
+     *
+     * @param time The time that resulted in this exception, or <code>null</code> if there are no
+     *             snapshots at all.
+     */
+    public SnapshotNotFoundException(String time) {
+        super(time == null
+                ? "There are no snapshots yet. Type 'snapshot' to take one."
+                : String.format("There is no snapshot taken on or before %s. Type 'snapshot "
+                        + "--list' to see all snapshots.", time), false);
+    }
+}
@@ -0,0 +1,18 @@
+package duke.exception;
+
+/**
+ * Encapsulates the exception when the saved tasks are not overwritten, because another program
+ * changed them since they were last read.
+ */
+public class StaleStorageException extends DukeException {
+    /**
+     * Initialises a new instance with a warning that the saved tasks were changed by another
+     * program, so the change was not saved.
+     *
+     * @param cause The failure to replace the saved tasks that led to this exception.
+     */
+    public StaleStorageException(Throwable cause) {
+        super("The saved tasks were just changed by another program, so your change was not "
+                + "saved. Their changes have been loaded instead, so please try again.", cause);
+    }
+}
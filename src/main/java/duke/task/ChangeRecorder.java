@@ -0,0 +1,19 @@
+package duke.task;
+
+/**
+ * Records the changes made to a {@link TaskList} as they are made, together with what they
+ * replaced, so that they can be reversed later.
+ * Unlike subscribers, a recorder is called on the same thread as the change, before the change
+ * returns.
+ */
+public interface ChangeRecorder {
+    /**
+     * Records a change made to the list.
+     *
+     * @param type         The kind of change.
+     * @param taskId       The ID of the changed task at the time of the change.
+     * @param previousTask The task as it was just before the change, serialised with
+     *                     {@link Task#serialise()}, or <code>null</code> if the task was added.
+     */
+    void record(TaskChange.Type type, int taskId, String previousTask);
+}
@@ -0,0 +1,525 @@
+package duke.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A store that keeps its tasks in columns of primitives rather than as {@link Task} objects, and
+ * creates a new task each time one is taken out.
+ * The tasks are split into chunks of {@link #CHUNK_SIZE} tasks, where every chunk but the last is
+ * full. Each chunk keeps the types, dates and recurrences of its tasks in arrays of primitives,
+ * the done flags of all of its tasks in a single <code>long</code>, and the descriptions of its
+ * tasks one after another in a single array, with one byte per character when every character
+ * fits in one. Chunks are never changed, so changing a task only copies the chunk that holds it,
+ * and the chunks are kept in a {@link PersistentVector} so that all other chunks are shared.
+ */
+final class ColumnarTaskStore implements TaskStore {
+    /**
+     * The number of tasks in each chunk, which is the number of done flags that fit in a
+     * <code>long</code>.
+     */
+    static final int CHUNK_SIZE = Long.SIZE;
+
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+
+    private static final Recurrence[] RECURRENCES = Recurrence.values();
+
+    private static final ColumnarTaskStore EMPTY =
+            new ColumnarTaskStore(PersistentVector.empty(), 0);
+
+    private final PersistentVector<Chunk> chunks;
+    private final int size;
+
+    private ColumnarTaskStore(PersistentVector<Chunk> chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Returns an empty store.
+     */
+    static ColumnarTaskStore empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a store of the given tasks, in the order they are iterated.
+     */
+    static ColumnarTaskStore of(Iterable<Task> tasks) {
+        Builder builder = new Builder(EMPTY, 0);
+        for (Task task : tasks) {
+            builder.add(task);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public TaskLayout getLayout() {
+        return TaskLayout.COLUMNS;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Task get(int index) {
+        this.checkIndex(index, this.size);
+        return this.chunks.get(index / CHUNK_SIZE).get(index % CHUNK_SIZE);
+    }
+
+    @Override
+    public ColumnarTaskStore set(int index, Task task) {
+        this.checkIndex(index, this.size);
+        int chunkIndex = index / CHUNK_SIZE;
+        int row = index % CHUNK_SIZE;
+        Chunk chunk = this.chunks.get(chunkIndex);
+        Chunk newChunk = new ChunkBuilder().addRows(chunk, 0, row).add(task)
+                .addRows(chunk, row + 1, chunk.size).build();
+        return new ColumnarTaskStore(this.chunks.set(chunkIndex, newChunk), this.size);
+    }
+
+    @Override
+    public ColumnarTaskStore append(Task task) {
+        if (this.size % CHUNK_SIZE == 0) {
+            Chunk newChunk = new ChunkBuilder().add(task).build();
+            return new ColumnarTaskStore(this.chunks.append(newChunk), this.size + 1);
+        }
+
+        int chunkIndex = this.size / CHUNK_SIZE;
+        Chunk chunk = this.chunks.get(chunkIndex);
+        Chunk newChunk = new ChunkBuilder().addRows(chunk, 0, chunk.size).add(task).build();
+        return new ColumnarTaskStore(this.chunks.set(chunkIndex, newChunk), this.size + 1);
+    }
+
+    @Override
+    public ColumnarTaskStore insert(int index, Task task) {
+        this.checkIndex(index, this.size + 1);
+        return new Builder(this, index).add(task).addFrom(this, index).build();
+    }
+
+    @Override
+    public ColumnarTaskStore remove(int index) {
+        this.checkIndex(index, this.size);
+        return new Builder(this, index).addFrom(this, index + 1).build();
+    }
+
+    @Override
+    public ColumnarTaskStore removeAll(BitSet indices, List<Task> removedTasks) {
+        int firstIndex = indices.nextSetBit(0);
+        if (firstIndex < 0 || firstIndex >= this.size) {
+            return this;
+        }
+
+        // Only the removed tasks are created, while the kept tasks are copied column by column
+        Builder keptTasks = new Builder(this, firstIndex);
+        Iterator<Chunk> iterator = this.chunks.iterator(firstIndex / CHUNK_SIZE);
+        int index = firstIndex;
+        for (int row = firstIndex % CHUNK_SIZE; iterator.hasNext(); row = 0) {
+            Chunk chunk = iterator.next();
+            for (; row < chunk.size; row++) {
+                if (indices.get(index)) {
+                    removedTasks.add(chunk.get(row));
+                } else {
+                    keptTasks.addRow(chunk, row);
+                }
+                index++;
+            }
+        }
+        return keptTasks.build();
+    }
+
+    @Override
+    public Iterator<Task> iterator(int start) {
+        return new Iterator<>() {
+            private final Iterator<Chunk> chunkIterator =
+                    ColumnarTaskStore.this.chunks.iterator(start / CHUNK_SIZE);
+            private Chunk chunk;
+            private int row = start % CHUNK_SIZE;
+            private int index = start;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < ColumnarTaskStore.this.size;
+            }
+
+            @Override
+            public Task next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (this.chunk == null) {
+                    this.chunk = this.chunkIterator.next();
+                } else if (this.row == CHUNK_SIZE) {
+                    this.chunk = this.chunkIterator.next();
+                    this.row = 0;
+                }
+                Task task = this.chunk.get(this.row);
+                this.row++;
+                this.index++;
+                return task;
+            }
+        };
+    }
+
+    /**
+     * Adds the tasks whose description contains the given keyword to the given list.
+     * The descriptions are matched where they are packed in each chunk, so only the matching
+     * tasks are created.
+     */
+    @Override
+    public void search(String keyword, List<Task> matchingTasks) {
+        // Characters are compared the same way as String#regionMatches ignoring case
+        char[] upperKeyword = new char[keyword.length()];
+        char[] lowerKeyword = new char[keyword.length()];
+        for (int i = 0; i < keyword.length(); i++) {
+            upperKeyword[i] = Character.toUpperCase(keyword.charAt(i));
+            lowerKeyword[i] = Character.toLowerCase(upperKeyword[i]);
+        }
+
+        for (Chunk chunk : this.chunks) {
+            for (int row = 0; row < chunk.size; row++) {
+                if (chunk.containsKeyword(row, keyword, upperKeyword, lowerKeyword)) {
+                    matchingTasks.add(chunk.get(row));
+                }
+            }
+        }
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length "
+                    + bound);
+        }
+    }
+
+    /**
+     * Up to {@link #CHUNK_SIZE} tasks, kept in columns.
+     */
+    private static final class Chunk {
+        private final int size;
+        private final byte[] types;
+        private final long doneFlags;
+
+        /**
+         * The dates of the tasks as days since the epoch, or <code>null</code> if no task in the
+         * chunk has a date.
+         */
+        private final int[] dates;
+
+        /**
+         * The ordinals of the recurrences of the tasks, or <code>null</code> if no task in the
+         * chunk repeats.
+         */
+        private final byte[] recurrences;
+
+        /**
+         * The dates of the first occurrences of the tasks as days since the epoch, or
+         * <code>null</code> if every task in the chunk is at its first occurrence.
+         */
+        private final int[] firstOccurrences;
+
+        /**
+         * The descriptions of the tasks one after another, with one byte per character, or
+         * <code>null</code> if some character does not fit in a byte.
+         */
+        private final byte[] latin1Text;
+
+        /**
+         * The descriptions of the tasks one after another, or <code>null</code> if they are kept
+         * in {@link #latin1Text}.
+         */
+        private final char[] text;
+
+        /**
+         * The offset in the text at which the description of each task ends, which is where the
+         * description of the next task starts.
+         */
+        private final int[] textEnds;
+
+        private Chunk(ChunkBuilder builder) {
+            this.size = builder.size;
+            this.types = Arrays.copyOf(builder.types, builder.size);
+            this.doneFlags = builder.doneFlags;
+            this.dates = builder.hasDates ? Arrays.copyOf(builder.dates, builder.size) : null;
+            this.recurrences = builder.hasRecurrences
+                    ? Arrays.copyOf(builder.recurrences, builder.size)
+                    : null;
+            this.firstOccurrences = builder.hasMovedOccurrences
+                    ? Arrays.copyOf(builder.firstOccurrences, builder.size)
+                    : null;
+            if (builder.isLatin1) {
+                this.latin1Text = new byte[builder.textLength];
+                for (int i = 0; i < builder.textLength; i++) {
+                    this.latin1Text[i] = (byte) builder.text[i];
+                }
+                this.text = null;
+            } else {
+                this.latin1Text = null;
+                this.text = Arrays.copyOf(builder.text, builder.textLength);
+            }
+            this.textEnds = Arrays.copyOf(builder.textEnds, builder.size);
+        }
+
+        /**
+         * Creates the task in the given row.
+         */
+        Task get(int row) {
+            int start = this.getTextStart(row);
+            int length = this.textEnds[row] - start;
+            String description = this.latin1Text != null
+                    ? new String(this.latin1Text, start, length, StandardCharsets.ISO_8859_1)
+                    : new String(this.text, start, length);
+            boolean isDone = this.isDone(row);
+            switch (this.types[row]) {
+            case TODO:
+                return new Todo(description, isDone);
+            case DEADLINE:
+                return new Deadline(description, LocalDate.ofEpochDay(this.dates[row]), isDone,
+                        this.getRecurrence(row),
+                        LocalDate.ofEpochDay(this.getFirstOccurrence(row)));
+            default:
+                return new Event(description, LocalDate.ofEpochDay(this.dates[row]), isDone,
+                        this.getRecurrence(row),
+                        LocalDate.ofEpochDay(this.getFirstOccurrence(row)));
+            }
+        }
+
+        boolean isDone(int row) {
+            return (this.doneFlags >>> row & 1) != 0;
+        }
+
+        Recurrence getRecurrence(int row) {
+            return this.recurrences == null
+                    ? Recurrence.NONE
+                    : RECURRENCES[this.recurrences[row]];
+        }
+
+        int getFirstOccurrence(int row) {
+            return this.firstOccurrences == null ? this.dates[row] : this.firstOccurrences[row];
+        }
+
+        int getTextStart(int row) {
+            return row == 0 ? 0 : this.textEnds[row - 1];
+        }
+
+        char charAt(int offset) {
+            return this.latin1Text != null
+                    ? (char) (this.latin1Text[offset] & 0xFF)
+                    : this.text[offset];
+        }
+
+        /**
+         * Returns whether the description in the given row contains the given keyword, ignoring
+         * case, where the keyword is also given in upper case and then lower case.
+         */
+        boolean containsKeyword(int row, String keyword, char[] upperKeyword,
+                char[] lowerKeyword) {
+            int lastStart = this.textEnds[row] - keyword.length();
+            for (int start = this.getTextStart(row); start <= lastStart; start++) {
+                int i = 0;
+                while (i < keyword.length()) {
+                    char c = this.charAt(start + i);
+                    if (c != keyword.charAt(i)) {
+                        char upper = Character.toUpperCase(c);
+                        if (upper != upperKeyword[i]
+                                && Character.toLowerCase(upper) != lowerKeyword[i]) {
+                            break;
+                        }
+                    }
+                    i++;
+                }
+                if (i == keyword.length()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Collects the columns of up to {@link #CHUNK_SIZE} tasks, to create a chunk from.
+     */
+    private static final class ChunkBuilder {
+        private final byte[] types = new byte[CHUNK_SIZE];
+        private final int[] dates = new int[CHUNK_SIZE];
+        private final byte[] recurrences = new byte[CHUNK_SIZE];
+        private final int[] firstOccurrences = new int[CHUNK_SIZE];
+        private final int[] textEnds = new int[CHUNK_SIZE];
+        private char[] text = new char[CHUNK_SIZE * 16];
+        private int textLength;
+        private long doneFlags;
+        private int size;
+        private boolean hasDates;
+        private boolean hasRecurrences;
+        private boolean hasMovedOccurrences;
+        private boolean isLatin1 = true;
+
+        boolean isFull() {
+            return this.size == CHUNK_SIZE;
+        }
+
+        ChunkBuilder add(Task task) {
+            assert !this.isFull();
+            int row = this.size;
+            if (task instanceof Todo) {
+                this.types[row] = TODO;
+            } else if (task instanceof Deadline) {
+                this.types[row] = DEADLINE;
+            } else {
+                this.types[row] = EVENT;
+            }
+            LocalDate date = task.getDate();
+            LocalDate firstOccurrence = task.getFirstOccurrence();
+            this.setRow(row, task.isDone(), date == null ? 0 : (int) date.toEpochDay(),
+                    task.getRecurrence(),
+                    firstOccurrence == null ? 0 : (int) firstOccurrence.toEpochDay());
+            this.hasDates |= date != null;
+
+            String description = task.getDescription();
+            this.ensureTextCapacity(description.length());
+            description.getChars(0, description.length(), this.text, this.textLength);
+            for (int i = 0; i < description.length() && this.isLatin1; i++) {
+                this.isLatin1 = description.charAt(i) <= 0xFF;
+            }
+            this.textLength += description.length();
+            this.textEnds[row] = this.textLength;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * Copies the tasks in the given rows of the given chunk, without creating them.
+         */
+        ChunkBuilder addRows(Chunk chunk, int from, int to) {
+            for (int row = from; row < to; row++) {
+                this.addRow(chunk, row);
+            }
+            return this;
+        }
+
+        ChunkBuilder addRow(Chunk chunk, int row) {
+            assert !this.isFull();
+            int newRow = this.size;
+            this.types[newRow] = chunk.types[row];
+            if (chunk.dates == null) {
+                this.setRow(newRow, chunk.isDone(row), 0, Recurrence.NONE, 0);
+            } else {
+                this.setRow(newRow, chunk.isDone(row), chunk.dates[row],
+                        chunk.getRecurrence(row), chunk.getFirstOccurrence(row));
+                this.hasDates |= chunk.types[row] != TODO;
+            }
+
+            int start = chunk.getTextStart(row);
+            int length = chunk.textEnds[row] - start;
+            this.ensureTextCapacity(length);
+            for (int i = 0; i < length; i++) {
+                char c = chunk.charAt(start + i);
+                this.text[this.textLength + i] = c;
+                this.isLatin1 &= c <= 0xFF;
+            }
+            this.textLength += length;
+            this.textEnds[newRow] = this.textLength;
+            this.size++;
+            return this;
+        }
+
+        Chunk build() {
+            return new Chunk(this);
+        }
+
+        private void setRow(int row, boolean isDone, int date, Recurrence recurrence,
+                int firstOccurrence) {
+            if (isDone) {
+                this.doneFlags |= 1L << row;
+            }
+            this.dates[row] = date;
+            this.recurrences[row] = (byte) recurrence.ordinal();
+            this.firstOccurrences[row] = firstOccurrence;
+            this.hasRecurrences |= recurrence != Recurrence.NONE;
+            this.hasMovedOccurrences |= firstOccurrence != date;
+        }
+
+        private void ensureTextCapacity(int length) {
+            if (this.textLength + length > this.text.length) {
+                this.text = Arrays.copyOf(this.text,
+                        Math.max(this.text.length * 2, this.textLength + length));
+            }
+        }
+    }
+
+    /**
+     * Adds tasks to the end of a store, without creating a new store for each task.
+     */
+    private static final class Builder {
+        private final PersistentVector.Builder<Chunk> chunks;
+        private ChunkBuilder chunk = new ChunkBuilder();
+        private int size;
+
+        /**
+         * Initialises a new instance that starts with the given number of tasks from the start of
+         * the given store.
+         */
+        Builder(ColumnarTaskStore store, int count) {
+            int numFullChunks = count / CHUNK_SIZE;
+            this.chunks = store.chunks.take(numFullChunks).toBuilder();
+            this.size = numFullChunks * CHUNK_SIZE;
+            if (count > this.size) {
+                this.chunk.addRows(store.chunks.get(numFullChunks), 0, count - this.size);
+                this.size = count;
+            }
+        }
+
+        Builder add(Task task) {
+            this.startChunkIfFull();
+            this.chunk.add(task);
+            this.size++;
+            return this;
+        }
+
+        Builder addRow(Chunk source, int row) {
+            this.startChunkIfFull();
+            this.chunk.addRow(source, row);
+            this.size++;
+            return this;
+        }
+
+        /**
+         * Copies the tasks of the given store from the given index onwards, without creating
+         * them.
+         */
+        Builder addFrom(ColumnarTaskStore store, int start) {
+            Iterator<Chunk> iterator = store.chunks.iterator(start / CHUNK_SIZE);
+            for (int row = start % CHUNK_SIZE; iterator.hasNext(); row = 0) {
+                Chunk source = iterator.next();
+                for (; row < source.size; row++) {
+                    this.addRow(source, row);
+                }
+            }
+            return this;
+        }
+
+        ColumnarTaskStore build() {
+            if (this.chunk.size > 0) {
+                this.chunks.add(this.chunk.build());
+                this.chunk = new ChunkBuilder();
+            }
+            return new ColumnarTaskStore(this.chunks.build(), this.size);
+        }
+
+        private void startChunkIfFull() {
+            if (this.chunk.isFull()) {
+                this.chunks.add(this.chunk.build());
+                this.chunk = new ChunkBuilder();
+            }
+        }
+    }
+}
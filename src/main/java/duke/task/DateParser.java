@@ -0,0 +1,115 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+
+import duke.exception.InvalidDateInputException;
+
+/**
+ * Parses the dates of tasks, which are both typed by the user and saved in the format
+ * "yyyy-MM-dd".
+ * Dates in exactly that format are read digit by digit rather than through a
+ * <code>DateTimeFormatter</code>, and the dates parsed recently are cached, since most tasks share
+ * a few distinct dates. Any other date is left to {@link LocalDate#parse(CharSequence)}.
+ */
+public final class DateParser {
+    /**
+     * The number of bits of the index into the cache.
+     */
+    private static final int CACHE_BITS = 10;
+
+    /**
+     * The cache of parsed dates, where each date can only be held at the index given by its hash,
+     * replacing whichever date was there before.
+     * Dates can be parsed from any thread without locking, since each cached date is immutable,
+     * so a thread either sees a whole cached date or none at all.
+     */
+    private static final CachedDate[] CACHE = new CachedDate[1 << CACHE_BITS];
+
+    private DateParser() {
+    }
+
+    /**
+     * Returns the date represented by the given string.
+     *
+     * @param date The date in the format "yyyy-MM-dd".
+     * @return The date represented by the string.
+     * @throws InvalidDateInputException If the string is not a valid date in the format
+     *                                   "yyyy-MM-dd".
+     */
+    public static LocalDate parse(String date) throws InvalidDateInputException {
+        int packedDate = DateParser.pack(date);
+        if (packedDate < 0) {
+            return DateParser.parseOtherFormat(date);
+        }
+
+        int index = (packedDate * 0x9E3779B9) >>> (Integer.SIZE - CACHE_BITS);
+        CachedDate cachedDate = CACHE[index];
+        if (cachedDate != null && cachedDate.packedDate == packedDate) {
+            return cachedDate.date;
+        }
+
+        int year = packedDate / 10000;
+        int month = packedDate / 100 % 100;
+        int day = packedDate % 100;
+        if (month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            throw new InvalidDateInputException(date);
+        }
+        LocalDate parsedDate = LocalDate.of(year, month, day);
+        CACHE[index] = new CachedDate(packedDate, parsedDate);
+        return parsedDate;
+    }
+
+    /**
+     * Returns the digits of the given date in the format "yyyy-MM-dd" as a single number, or
+     * <code>-1</code> if the date is not in that format.
+     */
+    private static int pack(String date) {
+        if (date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return -1;
+        }
+
+        int packedDate = 0;
+        for (int i = 0; i < date.length(); i++) {
+            if (i == 4 || i == 7) {
+                continue;
+            }
+            int digit = date.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            packedDate = packedDate * 10 + digit;
+        }
+        return packedDate;
+    }
+
+    private static LocalDate parseOtherFormat(String date) throws InvalidDateInputException {
+        // Only years beyond 9999 or before 0000 are written differently, with a sign in front, so
+        // any other date is invalid without having LocalDate throw an exception to say so
+        if (!date.startsWith("+") && !date.startsWith("-")) {
+            throw new InvalidDateInputException(date);
+        }
+
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateInputException(date);
+        }
+    }
+
+    /**
+     * A parsed date, together with the digits it was parsed from.
+     */
+    private static final class CachedDate {
+        private final int packedDate;
+        private final LocalDate date;
+
+        CachedDate(int packedDate, LocalDate date) {
+            this.packedDate = packedDate;
+            this.date = date;
+        }
+    }
+}
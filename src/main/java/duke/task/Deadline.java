@@ -1,8 +1,8 @@
 package duke.task;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import duke.exception.InvalidDateInputException;
 
@@ -11,7 +11,13 @@ import duke.exception.InvalidDateInputException;
  */
 public class Deadline extends Task {
     private static final String identifier = "D";
-    private final LocalDate by;
+    private final Recurrence recurrence;
+    private LocalDate by;
+
+    /**
+     * The date of the first occurrence of the deadline, which later occurrences are counted from.
+     */
+    private final LocalDate firstOccurrence;
 
     /**
      * Initialises a new instance.
@@ -22,12 +28,7 @@ public class Deadline extends Task {
      * @throws InvalidDateInputException If the given date is not a recognised date format.
      */
     public Deadline(String description, String by) throws InvalidDateInputException {
-        super(description);
-        try {
-            this.by = LocalDate.parse(by);
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateInputException(by);
-        }
+        this(description, by, false);
     }
 
     /**
@@ -40,11 +41,107 @@ public class Deadline extends Task {
      */
     public Deadline(String description, String by, boolean isDone)
             throws InvalidDateInputException {
+        this(description, by, isDone, Recurrence.NONE);
+    }
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param description The description of the deadline.
+     * @param by          The deadline of the current occurrence of the task in a String format
+     *                    "yyyy-MM-dd".
+     * @param isDone      Whether the task is done.
+     * @param recurrence  How often the task repeats.
+     * @throws InvalidDateInputException If the given date is not a recognised date format.
+     */
+    public Deadline(String description, String by, boolean isDone, Recurrence recurrence)
+            throws InvalidDateInputException {
         super(description, isDone);
-        try {
-            this.by = LocalDate.parse(by);
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateInputException(by);
+        this.recurrence = recurrence;
+        this.by = DateParser.parse(by);
+        this.firstOccurrence = this.by;
+    }
+
+    /**
+     * Initialises a new instance of a repeating deadline that has already moved on from its first
+     * occurrence.
+     *
+     * @param description     The description of the deadline.
+     * @param by              The deadline of the current occurrence of the task in a String
+     *                        format "yyyy-MM-dd".
+     * @param isDone          Whether the deadline is done.
+     * @param recurrence      How often the deadline repeats.
+     * @param firstOccurrence The date of the first occurrence in a String format "yyyy-MM-dd".
+     * @throws InvalidDateInputException If either of the given dates is not a recognised date
+     *                                   format.
+     */
+    public Deadline(String description, String by, boolean isDone, Recurrence recurrence,
+            String firstOccurrence) throws InvalidDateInputException {
+        super(description, isDone);
+        this.recurrence = recurrence;
+        this.by = DateParser.parse(by);
+        this.firstOccurrence = DateParser.parse(firstOccurrence);
+    }
+
+    /**
+     * Initialises a new instance from dates that have already been parsed.
+     */
+    Deadline(String description, LocalDate by, boolean isDone, Recurrence recurrence,
+            LocalDate firstOccurrence) {
+        super(description, isDone);
+        this.recurrence = recurrence;
+        this.by = by;
+        this.firstOccurrence = firstOccurrence;
+    }
+
+    @Override
+    Deadline copy() {
+        return new Deadline(this.getDescription(), this.by, this.isDone(), this.recurrence,
+                this.firstOccurrence);
+    }
+
+    /**
+     * Returns the date of the current occurrence of the deadline.
+     *
+     * @return The date of the deadline.
+     */
+    @Override
+    public LocalDate getDate() {
+        return this.by;
+    }
+
+    /**
+     * Returns the date of the first occurrence of the deadline, which later occurrences are
+     * counted from.
+     *
+     * @return The date of the first occurrence.
+     */
+    @Override
+    public LocalDate getFirstOccurrence() {
+        return this.firstOccurrence;
+    }
+
+    /**
+     * Returns how often the deadline repeats.
+     *
+     * @return How often the deadline repeats, which is {@link Recurrence#NONE} if it does not.
+     */
+    @Override
+    public Recurrence getRecurrence() {
+        return this.recurrence;
+    }
+
+    /**
+     * Marks the deadline as done.
+     * If the deadline repeats, only its current occurrence is completed, and the deadline moves
+     * on to its next occurrence instead.
+     */
+    @Override
+    public void markAsDone() {
+        if (this.recurrence == Recurrence.NONE) {
+            super.markAsDone();
+        } else {
+            this.by = this.recurrence.getNextOccurrence(this.firstOccurrence, this.by);
         }
     }
 
@@ -57,20 +154,36 @@ public class Deadline extends Task {
      */
     @Override
     public String toString() {
-        return String.format("[%s]%s (by: %s)", Deadline.identifier, super.toString(),
-                this.by.format(DateTimeFormatter.ofPattern("MMM d yyyy")));
+        String by = this.by.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
+        if (this.recurrence != Recurrence.NONE) {
+            by += ", " + this.recurrence.getDescription();
+        }
+        return String.format("[%s]%s (by: %s)", Deadline.identifier, super.toString(), by);
     }
 
     /**
-     * Serialises the deadline task to a string.
-     * The serialised deadline task consists of a <code>D</code>, followed by a <code>|</code>, and
-     * then the serialised representation of a normal {@link Task}
+     * Serialises the deadline task, appending the result to the given output.
+     * The serialised deadline task consists of a <code>D</code>, followed by a <code>|</code>, the
+     * serialised representation of a normal {@link Task}, another <code>|</code>, and then the date
+     * in the format "yyyy-MM-dd". If the deadline repeats, this is followed by another
+     * <code>|</code> and the keyword of its {@link Recurrence}, and then by the date of its first
+     * occurrence if it has moved on from it.
      *
-     * @return A string representing the serialised deadline task.
+     * @param out The output to append the serialised deadline task to.
+     * @throws IOException If the output could not be appended to.
      */
     @Override
-    public String serialise() {
-        return String.format("%s | %s | %s", Deadline.identifier, super.serialise(),
-                this.by.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+    public void serialiseTo(Appendable out) throws IOException {
+        out.append(Deadline.identifier).append(" | ");
+        super.serialiseTo(out);
+        out.append(" | ");
+        Task.appendDate(out, this.by);
+        if (this.recurrence != Recurrence.NONE) {
+            out.append(" | ").append(this.recurrence.getKeyword());
+            if (!this.firstOccurrence.equals(this.by)) {
+                out.append(" | ");
+                Task.appendDate(out, this.firstOccurrence);
+            }
+        }
     }
 }
@@ -1,8 +1,8 @@
 package duke.task;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 import duke.exception.InvalidDateInputException;
 
@@ -11,7 +11,13 @@ import duke.exception.InvalidDateInputException;
  */
 public class Event extends Task {
     private static final String identifier = "E";
-    private final LocalDate at;
+    private final Recurrence recurrence;
+    private LocalDate at;
+
+    /**
+     * The date of the first occurrence of the event, which later occurrences are counted from.
+     */
+    private final LocalDate firstOccurrence;
 
     /**
      * Initialises a new instance.
@@ -22,12 +28,7 @@ public class Event extends Task {
      * @throws InvalidDateInputException If the given date is not a recognised date format.
      */
     public Event(String description, String at) throws InvalidDateInputException {
-        super(description);
-        try {
-            this.at = LocalDate.parse(at);
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateInputException(at);
-        }
+        this(description, at, false);
     }
 
     /**
@@ -39,11 +40,107 @@ public class Event extends Task {
      * @throws InvalidDateInputException If the given date is not a recognised date format.
      */
     public Event(String description, String at, boolean isDone) throws InvalidDateInputException {
+        this(description, at, isDone, Recurrence.NONE);
+    }
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param description The description of the event.
+     * @param at          The date at which the current occurrence of the event will happen in a
+     *                    String format "yyyy-MM-dd".
+     * @param isDone      Whether the event is done.
+     * @param recurrence  How often the event repeats.
+     * @throws InvalidDateInputException If the given date is not a recognised date format.
+     */
+    public Event(String description, String at, boolean isDone, Recurrence recurrence)
+            throws InvalidDateInputException {
         super(description, isDone);
-        try {
-            this.at = LocalDate.parse(at);
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateInputException(at);
+        this.recurrence = recurrence;
+        this.at = DateParser.parse(at);
+        this.firstOccurrence = this.at;
+    }
+
+    /**
+     * Initialises a new instance of a repeating event that has already moved on from its first
+     * occurrence.
+     *
+     * @param description     The description of the event.
+     * @param at              The date at which the current occurrence of the event will happen
+     *                        in a String format "yyyy-MM-dd".
+     * @param isDone          Whether the event is done.
+     * @param recurrence      How often the event repeats.
+     * @param firstOccurrence The date of the first occurrence in a String format "yyyy-MM-dd".
+     * @throws InvalidDateInputException If either of the given dates is not a recognised date
+     *                                   format.
+     */
+    public Event(String description, String at, boolean isDone, Recurrence recurrence,
+            String firstOccurrence) throws InvalidDateInputException {
+        super(description, isDone);
+        this.recurrence = recurrence;
+        this.at = DateParser.parse(at);
+        this.firstOccurrence = DateParser.parse(firstOccurrence);
+    }
+
+    /**
+     * Initialises a new instance from dates that have already been parsed.
+     */
+    Event(String description, LocalDate at, boolean isDone, Recurrence recurrence,
+            LocalDate firstOccurrence) {
+        super(description, isDone);
+        this.recurrence = recurrence;
+        this.at = at;
+        this.firstOccurrence = firstOccurrence;
+    }
+
+    @Override
+    Event copy() {
+        return new Event(this.getDescription(), this.at, this.isDone(), this.recurrence,
+                this.firstOccurrence);
+    }
+
+    /**
+     * Returns the date of the current occurrence of the event.
+     *
+     * @return The date of the event.
+     */
+    @Override
+    public LocalDate getDate() {
+        return this.at;
+    }
+
+    /**
+     * Returns the date of the first occurrence of the event, which later occurrences are
+     * counted from.
+     *
+     * @return The date of the first occurrence.
+     */
+    @Override
+    public LocalDate getFirstOccurrence() {
+        return this.firstOccurrence;
+    }
+
+    /**
+     * Returns how often the event repeats.
+     *
+     * @return How often the event repeats, which is {@link Recurrence#NONE} if it does not.
+     */
+    @Override
+    public Recurrence getRecurrence() {
+        return this.recurrence;
+    }
+
+    /**
+     * Marks the event as done.
+     * If the event repeats, only its current occurrence is completed, and the event moves on to
+     * its next occurrence instead.
+     */
+    @Override
+    public void markAsDone() {
+        if (this.recurrence == Recurrence.NONE) {
+            super.markAsDone();
+        } else {
+            this.at = this.recurrence.getNextOccurrence(this.firstOccurrence, this.at);
         }
     }
 
@@ -56,20 +153,36 @@ public class Event extends Task {
      */
     @Override
     public String toString() {
-        return String.format("[%s]%s (at: %s)", Event.identifier, super.toString(),
-                this.at.format(DateTimeFormatter.ofPattern("MMM d yyyy")));
+        String at = this.at.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
+        if (this.recurrence != Recurrence.NONE) {
+            at += ", " + this.recurrence.getDescription();
+        }
+        return String.format("[%s]%s (at: %s)", Event.identifier, super.toString(), at);
     }
 
     /**
-     * Serialises the event to a string.
-     * The serialised event consists of a <code>E</code>, followed by a <code>|</code>, and
-     * then the serialised representation of a normal {@link Task}
+     * Serialises the event, appending the result to the given output.
+     * The serialised event consists of a <code>E</code>, followed by a <code>|</code>, the
+     * serialised representation of a normal {@link Task}, another <code>|</code>, and then the date
+     * in the format "yyyy-MM-dd". If the event repeats, this is followed by another
+     * <code>|</code> and the keyword of its {@link Recurrence}, and then by the date of its first
+     * occurrence if it has moved on from it.
      *
-     * @return A string representing the serialised event.
+     * @param out The output to append the serialised event to.
+     * @throws IOException If the output could not be appended to.
      */
     @Override
-    public String serialise() {
-        return String.format("%s | %s | %s", Event.identifier, super.serialise(),
-                this.at.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+    public void serialiseTo(Appendable out) throws IOException {
+        out.append(Event.identifier).append(" | ");
+        super.serialiseTo(out);
+        out.append(" | ");
+        Task.appendDate(out, this.at);
+        if (this.recurrence != Recurrence.NONE) {
+            out.append(" | ").append(this.recurrence.getKeyword());
+            if (!this.firstOccurrence.equals(this.at)) {
+                out.append(" | ");
+                Task.appendDate(out, this.firstOccurrence);
+            }
+        }
     }
 }
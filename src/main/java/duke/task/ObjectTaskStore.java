@@ -0,0 +1,93 @@
+package duke.task;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A store that keeps every task as a {@link Task} object in a {@link PersistentVector}, which
+ * hands out the tasks as they were added.
+ */
+final class ObjectTaskStore implements TaskStore {
+    private static final ObjectTaskStore EMPTY = new ObjectTaskStore(PersistentVector.empty());
+
+    private final PersistentVector<Task> tasks;
+
+    private ObjectTaskStore(PersistentVector<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Returns an empty store.
+     */
+    static ObjectTaskStore empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a store of the given tasks, in the order they are iterated.
+     */
+    static ObjectTaskStore of(Iterable<Task> tasks) {
+        return new ObjectTaskStore(PersistentVector.of(tasks));
+    }
+
+    @Override
+    public TaskLayout getLayout() {
+        return TaskLayout.OBJECTS;
+    }
+
+    @Override
+    public int size() {
+        return this.tasks.size();
+    }
+
+    @Override
+    public Task get(int index) {
+        return this.tasks.get(index);
+    }
+
+    @Override
+    public ObjectTaskStore set(int index, Task task) {
+        return new ObjectTaskStore(this.tasks.set(index, task));
+    }
+
+    @Override
+    public ObjectTaskStore append(Task task) {
+        return new ObjectTaskStore(this.tasks.append(task));
+    }
+
+    @Override
+    public ObjectTaskStore insert(int index, Task task) {
+        return new ObjectTaskStore(this.tasks.insert(index, task));
+    }
+
+    @Override
+    public ObjectTaskStore remove(int index) {
+        return new ObjectTaskStore(this.tasks.remove(index));
+    }
+
+    @Override
+    public ObjectTaskStore removeAll(BitSet indices, List<Task> removedTasks) {
+        int firstIndex = indices.nextSetBit(0);
+        if (firstIndex < 0 || firstIndex >= this.tasks.size()) {
+            return this;
+        }
+
+        PersistentVector.Builder<Task> keptTasks = this.tasks.take(firstIndex).toBuilder();
+        Iterator<Task> iterator = this.tasks.iterator(firstIndex);
+        for (int index = firstIndex; iterator.hasNext(); index++) {
+            Task task = iterator.next();
+            if (indices.get(index)) {
+                removedTasks.add(task);
+            } else {
+                keptTasks.add(task);
+            }
+        }
+        return new ObjectTaskStore(keptTasks.build());
+    }
+
+    @Override
+    public Iterator<Task> iterator(int start) {
+        return this.tasks.iterator(start);
+    }
+}
@@ -0,0 +1,336 @@
+package duke.task;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable list that is changed by creating a new list, which shares all but the changed parts
+ * with the original list.
+ * The elements are stored in a tree where each node has up to {@link #WIDTH} children, with the
+ * last elements kept in a separate tail. Getting or replacing an element only visits one node on
+ * each level of the tree, and adding an element to the end usually only copies the tail. Since no
+ * list is ever changed, any number of threads can read a list while another thread creates newer
+ * versions of it.
+ *
+ * @param <E> The type of the elements in the list.
+ */
+final class PersistentVector<E> implements Iterable<E> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY =
+            new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+
+    /**
+     * The number of bits that the index of an element is shifted by to find its child of the root.
+     */
+    private final int shift;
+
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns an empty list.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Returns a list of the given elements, in the order they are iterated.
+     */
+    static <E> PersistentVector<E> of(Iterable<? extends E> elements) {
+        Builder<E> builder = PersistentVector.<E>empty().toBuilder();
+        for (E element : elements) {
+            builder.add(element);
+        }
+        return builder.build();
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    E get(int index) {
+        this.checkIndex(index, this.size);
+        return this.elementAt(index);
+    }
+
+    /**
+     * Returns a list where the element at the given index is replaced with the given element.
+     */
+    PersistentVector<E> set(int index, E element) {
+        this.checkIndex(index, this.size);
+        if (index >= this.getTailOffset()) {
+            Object[] newTail = this.tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(this.size, this.shift, this.root, newTail);
+        }
+        return new PersistentVector<>(this.size, this.shift,
+                PersistentVector.set(this.shift, this.root, index, element), this.tail);
+    }
+
+    /**
+     * Returns a list with the given element added to the end.
+     */
+    PersistentVector<E> append(E element) {
+        if (this.size - this.getTailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(this.tail, this.tail.length + 1);
+            newTail[this.tail.length] = element;
+            return new PersistentVector<>(this.size + 1, this.shift, this.root, newTail);
+        }
+        return this.toBuilder().add(element).build();
+    }
+
+    /**
+     * Returns a list with the given element inserted at the given index.
+     * The elements before the index are shared, so this takes time in proportion to the number
+     * of elements after the index.
+     */
+    PersistentVector<E> insert(int index, E element) {
+        this.checkIndex(index, this.size + 1);
+        Builder<E> builder = this.take(index).toBuilder().add(element);
+        for (Iterator<E> iterator = this.iterator(index); iterator.hasNext(); ) {
+            builder.add(iterator.next());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a list without the element at the given index.
+     * The elements before the index are shared, so this takes time in proportion to the number
+     * of elements after the index.
+     */
+    PersistentVector<E> remove(int index) {
+        this.checkIndex(index, this.size);
+        Builder<E> builder = this.take(index).toBuilder();
+        for (Iterator<E> iterator = this.iterator(index + 1); iterator.hasNext(); ) {
+            builder.add(iterator.next());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a list of the given number of elements from the start of this list.
+     */
+    PersistentVector<E> take(int count) {
+        this.checkIndex(count, this.size + 1);
+        if (count == this.size) {
+            return this;
+        } else if (count == 0) {
+            return PersistentVector.empty();
+        } else if (count > this.getTailOffset()) {
+            Object[] newTail = Arrays.copyOf(this.tail, count - this.getTailOffset());
+            return new PersistentVector<>(count, this.shift, this.root, newTail);
+        }
+
+        // The node holding the last element kept becomes the tail
+        Object[] newTail = Arrays.copyOf(this.nodeFor(count - 1), ((count - 1) & MASK) + 1);
+        int treeSize = count - newTail.length;
+        if (treeSize == 0) {
+            return new PersistentVector<>(count, BITS, EMPTY_NODE, newTail);
+        }
+
+        int newShift = this.shift;
+        Object[] newRoot = PersistentVector.take(this.shift, this.root, treeSize - 1);
+        while (newShift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(count, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Returns a builder that adds elements to the end of this list.
+     */
+    Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return this.iterator(0);
+    }
+
+    /**
+     * Returns an iterator over the elements from the given index onwards.
+     */
+    Iterator<E> iterator(int start) {
+        return new Iterator<>() {
+            private int index = start;
+            private Object[] node;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < PersistentVector.this.size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (this.node == null || (this.index & MASK) == 0) {
+                    this.node = PersistentVector.this.nodeFor(this.index);
+                }
+                E element = (E) this.node[this.index & MASK];
+                this.index++;
+                return element;
+            }
+        };
+    }
+
+    private int getTailOffset() {
+        return this.size - this.tail.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) this.nodeFor(index)[index & MASK];
+    }
+
+    /**
+     * Returns the node holding the element at the given index.
+     */
+    private Object[] nodeFor(int index) {
+        if (index >= this.getTailOffset()) {
+            return this.tail;
+        }
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length "
+                    + bound);
+        }
+    }
+
+    /**
+     * Returns a copy of the given node, with the element at the given index replaced.
+     */
+    private static Object[] set(int level, Object[] node, int index, Object element) {
+        Object[] newNode = node.clone();
+        if (level == 0) {
+            newNode[index & MASK] = element;
+        } else {
+            int childIndex = (index >>> level) & MASK;
+            newNode[childIndex] = PersistentVector.set(level - BITS, (Object[]) node[childIndex],
+                    index, element);
+        }
+        return newNode;
+    }
+
+    /**
+     * Returns a copy of the given node that only keeps the elements up to the given index, where
+     * the element at the index is the last element of its own node.
+     */
+    private static Object[] take(int level, Object[] node, int lastIndex) {
+        int childIndex = (lastIndex >>> level) & MASK;
+        Object[] newNode = new Object[WIDTH];
+        System.arraycopy(node, 0, newNode, 0, childIndex);
+        newNode[childIndex] = level == BITS
+                ? node[childIndex]
+                : PersistentVector.take(level - BITS, (Object[]) node[childIndex], lastIndex);
+        return newNode;
+    }
+
+    /**
+     * Returns a copy of the given node with a full tail added after its last element.
+     */
+    private static Object[] pushTail(int size, int level, Object[] node, Object[] tail) {
+        int childIndex = ((size - 1) >>> level) & MASK;
+        Object[] newNode = node.clone();
+        if (level == BITS) {
+            newNode[childIndex] = tail;
+        } else {
+            Object[] child = (Object[]) node[childIndex];
+            newNode[childIndex] = child == null
+                    ? PersistentVector.newPath(level - BITS, tail)
+                    : PersistentVector.pushTail(size, level - BITS, child, tail);
+        }
+        return newNode;
+    }
+
+    /**
+     * Returns a chain of new nodes down to the given level, ending with the given node.
+     */
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] newNode = new Object[WIDTH];
+        newNode[0] = PersistentVector.newPath(level - BITS, node);
+        return newNode;
+    }
+
+    /**
+     * Adds elements to the end of a list, without creating a new list for each element.
+     * The tail is filled in place, and only moved into the tree once it is full.
+     *
+     * @param <E> The type of the elements in the list.
+     */
+    static final class Builder<E> {
+        private int size;
+        private int shift;
+        private Object[] root;
+        private Object[] tail = new Object[WIDTH];
+        private int tailSize;
+
+        private Builder(PersistentVector<E> vector) {
+            this.size = vector.size;
+            this.shift = vector.shift;
+            this.root = vector.root;
+            this.tailSize = vector.tail.length;
+            System.arraycopy(vector.tail, 0, this.tail, 0, this.tailSize);
+        }
+
+        Builder<E> add(E element) {
+            if (this.tailSize == WIDTH) {
+                this.pushTail();
+            }
+            this.tail[this.tailSize] = element;
+            this.tailSize++;
+            this.size++;
+            return this;
+        }
+
+        PersistentVector<E> build() {
+            return new PersistentVector<>(this.size, this.shift, this.root,
+                    Arrays.copyOf(this.tail, this.tailSize));
+        }
+
+        private void pushTail() {
+            if ((this.size >>> BITS) > (1 << this.shift)) {
+                // The tree is full, so it gets a new root one level up
+                Object[] newRoot = new Object[WIDTH];
+                newRoot[0] = this.root;
+                newRoot[1] = PersistentVector.newPath(this.shift, this.tail);
+                this.root = newRoot;
+                this.shift += BITS;
+            } else {
+                this.root = PersistentVector.pushTail(this.size, this.shift, this.root, this.tail);
+            }
+            this.tail = new Object[WIDTH];
+            this.tailSize = 0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package duke.task;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A small cache of the results of queries on a {@link TaskList}, such as listing or searching
+ * for tasks.
+ * Every change to the list increases its version, and the cached results are dropped as soon as
+ * they are looked up at a newer version, so a result is never out of date.
+ */
+public class QueryCache {
+    /**
+     * The maximum number of results that are cached. The least recently used result is dropped
+     * to make room for a new one.
+     */
+    private static final int MAX_ENTRIES = 32;
+
+    private final TaskList tasks;
+    private final Map<String, String> results =
+            new LinkedHashMap<>(MAX_ENTRIES * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return this.size() > MAX_ENTRIES;
+                }
+            };
+
+    /**
+     * The version of the list that the cached results are for.
+     */
+    private long version;
+    private long numHits;
+    private long numMisses;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param tasks The list of tasks that the queries are on.
+     */
+    QueryCache(TaskList tasks) {
+        this.tasks = tasks;
+        this.version = tasks.getVersion();
+    }
+
+    /**
+     * Returns the cached result of the given query, computing and caching it first if there is no
+     * result for the current version of the list.
+     *
+     * @param query       The query, written the same way every time it is made.
+     * @param computation The computation of the result of the query.
+     * @return The result of the query.
+     */
+    public String getResult(String query, Supplier<String> computation) {
+        if (this.version != this.tasks.getVersion()) {
+            this.results.clear();
+            this.version = this.tasks.getVersion();
+        }
+
+        String result = this.results.get(query);
+        if (result != null) {
+            this.numHits++;
+            return result;
+        }
+
+        this.numMisses++;
+        result = computation.get();
+        this.results.put(query, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of queries that were answered from the cache.
+     *
+     * @return The number of queries that were answered from the cache.
+     */
+    public long getNumHits() {
+        return this.numHits;
+    }
+
+    /**
+     * Returns the number of queries that had to be computed.
+     *
+     * @return The number of queries that had to be computed.
+     */
+    public long getNumMisses() {
+        return this.numMisses;
+    }
+}
@@ -0,0 +1,220 @@
+package duke.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Ranks tasks by how closely their descriptions match a query, tolerating typos.
+ * Each word of the query scores against the closest word of a description: an exact match scores
+ * the most, followed by a word that starts with the query word, followed by a word that is only a
+ * few edits away. Words that appear in many descriptions are only scored once per search.
+ */
+class RankedSearch {
+    private static final double EXACT_MATCH_SCORE = 1.0;
+    private static final double PREFIX_MATCH_SCORE = 0.8;
+    private static final double TYPO_MATCH_SCORE = 0.6;
+
+    /**
+     * The shortest query word that can match a longer word by its prefix.
+     */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final String[] queryTerms;
+
+    /**
+     * The score of each distinct description word against each query word, worked out the first
+     * time the word is seen.
+     */
+    private final Map<String, double[]> termScores = new HashMap<>();
+
+    private final int[] previousRow;
+    private final int[] currentRow;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param query The words to search for.
+     */
+    RankedSearch(String query) {
+        List<String> terms = RankedSearch.tokenise(query);
+        this.queryTerms = terms.toArray(new String[0]);
+
+        int maxQueryTermLength = 0;
+        for (String term : this.queryTerms) {
+            maxQueryTermLength = Math.max(maxQueryTermLength, term.length());
+        }
+        this.previousRow = new int[maxQueryTermLength + 1];
+        this.currentRow = new int[maxQueryTermLength + 1];
+    }
+
+    /**
+     * Returns the tasks that best match the query, best match first.
+     * Only the best matches are kept while searching, so this takes the same memory no matter how
+     * many tasks match.
+     *
+     * @param tasks      The tasks to search.
+     * @param maxResults The maximum number of tasks to return.
+     * @return The best matching tasks. Tasks that match equally well are in the order they are in
+     *     the list.
+     */
+    List<Task> search(Iterable<Task> tasks, int maxResults) {
+        // The worst of the best matches so far is at the head, ready to be replaced
+        PriorityQueue<ScoredTask> bestMatches = new PriorityQueue<>(maxResults + 1);
+        double[] taskScores = new double[this.queryTerms.length];
+        int position = 0;
+        for (Task task : tasks) {
+            double score = this.score(task.getDescription(), taskScores);
+            if (score > 0) {
+                bestMatches.add(new ScoredTask(task, score, position));
+                if (bestMatches.size() > maxResults) {
+                    bestMatches.poll();
+                }
+            }
+            position++;
+        }
+
+        List<ScoredTask> sortedMatches = new ArrayList<>(bestMatches);
+        Collections.sort(sortedMatches, Collections.reverseOrder());
+        List<Task> matchingTasks = new ArrayList<>(sortedMatches.size());
+        for (ScoredTask scoredTask : sortedMatches) {
+            matchingTasks.add(scoredTask.task);
+        }
+        return matchingTasks;
+    }
+
+    private double score(String description, double[] taskScores) {
+        for (int i = 0; i < taskScores.length; i++) {
+            taskScores[i] = 0;
+        }
+        for (String term : RankedSearch.tokenise(description)) {
+            double[] scores = this.termScores.computeIfAbsent(term, this::scoreTerm);
+            for (int i = 0; i < taskScores.length; i++) {
+                taskScores[i] = Math.max(taskScores[i], scores[i]);
+            }
+        }
+
+        double score = 0;
+        for (double termScore : taskScores) {
+            score += termScore;
+        }
+        return score;
+    }
+
+    private double[] scoreTerm(String term) {
+        double[] scores = new double[this.queryTerms.length];
+        for (int i = 0; i < this.queryTerms.length; i++) {
+            String queryTerm = this.queryTerms[i];
+            if (term.equals(queryTerm)) {
+                scores[i] = EXACT_MATCH_SCORE;
+            } else if (queryTerm.length() >= MIN_PREFIX_LENGTH && term.startsWith(queryTerm)) {
+                scores[i] = PREFIX_MATCH_SCORE;
+            } else {
+                int maxDistance = RankedSearch.getMaxDistance(queryTerm);
+                int distance = this.getEditDistance(queryTerm, term, maxDistance);
+                if (distance <= maxDistance) {
+                    scores[i] = TYPO_MATCH_SCORE * (1 - (double) distance / (maxDistance + 1));
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Returns the number of typos tolerated in a query word. Short words are easily turned into
+     * other short words, so they must match exactly.
+     */
+    private static int getMaxDistance(String queryTerm) {
+        if (queryTerm.length() <= 2) {
+            return 0;
+        } else if (queryTerm.length() <= 5) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    /**
+     * Returns the number of characters that have to be inserted, deleted, or replaced to turn the
+     * query word into the given word, or any number larger than the given maximum if it takes more
+     * than that.
+     */
+    private int getEditDistance(String queryTerm, String term, int maxDistance) {
+        if (Math.abs(queryTerm.length() - term.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int[] previous = this.previousRow;
+        int[] current = this.currentRow;
+        for (int j = 0; j <= queryTerm.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= term.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= queryTerm.length(); j++) {
+                int cost = term.charAt(i - 1) == queryTerm.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1,
+                        previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+
+            // The distance can only grow from here on
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[queryTerm.length()];
+    }
+
+    /**
+     * Splits the given text into lowercase words made up of letters and digits.
+     */
+    private static List<String> tokenise(String text) {
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordCharacter =
+                    i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordCharacter && start < 0) {
+                start = i;
+            } else if (!isWordCharacter && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * A task together with how well it matches the query.
+     */
+    private static class ScoredTask implements Comparable<ScoredTask> {
+        private final Task task;
+        private final double score;
+        private final int position;
+
+        ScoredTask(Task task, double score, int position) {
+            this.task = task;
+            this.score = score;
+            this.position = position;
+        }
+
+        /**
+         * Orders tasks from the worst match to the best, where a task later in the list is a
+         * worse match than an earlier task with the same score.
+         */
+        @Override
+        public int compareTo(ScoredTask other) {
+            int comparison = Double.compare(this.score, other.score);
+            return comparison != 0 ? comparison : Integer.compare(other.position, this.position);
+        }
+    }
+}
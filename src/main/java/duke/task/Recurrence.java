@@ -0,0 +1,94 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Represents how often a {@link Deadline} or {@link Event} repeats.
+ * A repeating task is stored once, together with its current and first occurrences. Later
+ * occurrences are only worked out when the current one is completed, counting from the first one.
+ */
+public enum Recurrence {
+    NONE("", ""),
+    DAILY("daily", "every day"),
+    WEEKLY("weekly", "every week"),
+    MONTHLY("monthly", "every month");
+
+    /**
+     * The keyword used to specify this recurrence, both when input by the user and when stored.
+     */
+    private final String keyword;
+
+    /**
+     * A human readable description of how often the task repeats.
+     */
+    private final String description;
+
+    Recurrence(String keyword, String description) {
+        this.keyword = keyword;
+        this.description = description;
+    }
+
+    /**
+     * Returns the recurrence with the given keyword.
+     * The keyword is case-insensitive.
+     *
+     * @param keyword The keyword of the recurrence, for example "weekly".
+     * @return The recurrence with the given keyword, or <code>null</code> if there is none.
+     */
+    public static Recurrence fromKeyword(String keyword) {
+        for (Recurrence recurrence : Recurrence.values()) {
+            if (recurrence != NONE && recurrence.keyword.equalsIgnoreCase(keyword)) {
+                return recurrence;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the keyword used to specify this recurrence.
+     *
+     * @return The keyword used to specify this recurrence.
+     */
+    public String getKeyword() {
+        return this.keyword;
+    }
+
+    /**
+     * Returns a human readable description of how often the task repeats.
+     *
+     * @return A description such as "every week".
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Returns the date of the occurrence after the one on the given date.
+     * Monthly occurrences are counted from the first occurrence rather than the current one, so
+     * that a task first due on the 31st is due on the last day of shorter months, and on the 31st
+     * again in longer ones.
+     *
+     * @param firstOccurrence The date of the first occurrence.
+     * @param date            The date of the current occurrence.
+     * @return The date of the next occurrence, or the same date if the task does not repeat.
+     */
+    public LocalDate getNextOccurrence(LocalDate firstOccurrence, LocalDate date) {
+        switch (this) {
+        case DAILY:
+            return date.plusDays(1);
+        case WEEKLY:
+            return date.plusWeeks(1);
+        case MONTHLY:
+            long numMonths = Math.max(0, ChronoUnit.MONTHS.between(firstOccurrence, date));
+            LocalDate nextDate = firstOccurrence.plusMonths(numMonths);
+            while (!nextDate.isAfter(date)) {
+                numMonths++;
+                nextDate = firstOccurrence.plusMonths(numMonths);
+            }
+            return nextDate;
+        default:
+            return date;
+        }
+    }
+}
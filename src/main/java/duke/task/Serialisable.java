@@ -1,13 +1,34 @@
 package duke.task;
 
+import java.io.IOException;
+
 /**
  * Represents an object which can be serialised.
  */
 public interface Serialisable {
+    /**
+     * Serialises the object, appending the result to the given output.
+     * No intermediate strings need to be created, so implementations should prefer this over
+     * {@link #serialise()} when writing many objects to the same output.
+     *
+     * @param out The output to append the serialised object to.
+     * @throws IOException If the output could not be appended to.
+     */
+    void serialiseTo(Appendable out) throws IOException;
+
     /**
      * Serialises the object into a string.
      *
      * @return A string representing the serialised object.
      */
-    String serialise();
+    default String serialise() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            this.serialiseTo(sb);
+        } catch (IOException e) {
+            // Appending to a StringBuilder never throws
+            throw new AssertionError(e);
+        }
+        return sb.toString();
+    }
 }
@@ -0,0 +1,61 @@
+package duke.task;
+
+/**
+ * Represents an order that the tasks in a {@link TaskList} can be listed in.
+ * Tasks that are equal in an order stay in the order they are in the list.
+ */
+public enum SortOrder {
+    /**
+     * Earliest date first. Tasks without a date come last.
+     */
+    DUE("due"),
+
+    /**
+     * Alphabetical order of the descriptions, ignoring case.
+     */
+    DESCRIPTION("desc"),
+
+    /**
+     * To-dos first, then deadlines, then events.
+     */
+    TYPE("type"),
+
+    /**
+     * Tasks that are not done first.
+     */
+    DONE("done");
+
+    /**
+     * The keyword used to specify this order.
+     */
+    private final String keyword;
+
+    SortOrder(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns the order with the given keyword.
+     * The keyword is case-insensitive.
+     *
+     * @param keyword The keyword of the order, for example "due".
+     * @return The order with the given keyword, or <code>null</code> if there is none.
+     */
+    public static SortOrder fromKeyword(String keyword) {
+        for (SortOrder order : SortOrder.values()) {
+            if (order.keyword.equalsIgnoreCase(keyword)) {
+                return order;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the keyword used to specify this order.
+     *
+     * @return The keyword used to specify this order.
+     */
+    public String getKeyword() {
+        return this.keyword;
+    }
+}
@@ -0,0 +1,317 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps the tasks of a {@link TaskList} sorted in each {@link SortOrder} that has been asked for,
+ * updating each order as tasks are added, changed, or deleted instead of sorting the whole list
+ * again.
+ * Each task also keeps track of its position in the list, so that sorted tasks can still be shown
+ * with the task IDs used by every other command.
+ * The views hold on to the tasks that they sort, so with {@link TaskLayout#COLUMNS}, each task is
+ * created once when the views are first made, rather than every time the list is sorted.
+ */
+class SortedViews {
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The entry of each task in the list, in the order of the list.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<SortOrder, TreeSet<Entry>> views = new EnumMap<>(SortOrder.class);
+
+    /**
+     * A Fenwick tree over the sequence numbers of the tasks, where each task in the list counts
+     * as one. The position of a task in the list is then the number of tasks with a sequence
+     * number up to its own.
+     */
+    private int[] positions;
+
+    /**
+     * The sequence number given to the next task added to the end of the list. Sequence numbers
+     * increase along the list.
+     */
+    private int nextSequence;
+
+    /**
+     * Initialises a new instance for the given list.
+     *
+     * @param tasks The list whose tasks are kept sorted.
+     */
+    SortedViews(TaskList tasks) {
+        for (Task task : tasks) {
+            this.entries.add(new Entry(task));
+        }
+        this.renumber();
+    }
+
+    /**
+     * Records that the given task was added to the end of the list.
+     */
+    void addTask(Task task) {
+        Entry entry = new Entry(task);
+        this.entries.add(entry);
+        if (this.nextSequence < this.positions.length) {
+            entry.sequence = this.nextSequence;
+            this.nextSequence++;
+            this.addPosition(entry.sequence, 1);
+        } else {
+            // The new task is numbered along with every other task
+            this.renumber();
+        }
+
+        for (TreeSet<Entry> view : this.views.values()) {
+            view.add(entry);
+        }
+    }
+
+    /**
+     * Records that the given task was inserted into the list at the given index.
+     * The task takes a sequence number between those of its neighbours if there is one free,
+     * which there usually is where a task was deleted before.
+     */
+    void insertTask(Task task, int index) {
+        if (index == this.entries.size()) {
+            this.addTask(task);
+            return;
+        }
+
+        Entry entry = new Entry(task);
+        int previousSequence = index == 0 ? 0 : this.entries.get(index - 1).sequence;
+        int nextSequence = this.entries.get(index).sequence;
+        this.entries.add(index, entry);
+        if (nextSequence - previousSequence > 1) {
+            entry.sequence = previousSequence + (nextSequence - previousSequence) / 2;
+            this.addPosition(entry.sequence, 1);
+        } else {
+            this.renumber();
+        }
+
+        for (TreeSet<Entry> view : this.views.values()) {
+            view.add(entry);
+        }
+    }
+
+    /**
+     * Records that the task at the given index was replaced by the given task.
+     */
+    void replaceTask(int index, Task updatedTask) {
+        Entry originalEntry = this.entries.get(index);
+        this.removeFromViews(originalEntry);
+
+        Entry entry = new Entry(updatedTask);
+        entry.sequence = originalEntry.sequence;
+        this.entries.set(index, entry);
+        for (TreeSet<Entry> view : this.views.values()) {
+            view.add(entry);
+        }
+    }
+
+    /**
+     * Records that the task at the given index was deleted from the list.
+     */
+    void deleteTask(int index) {
+        Entry entry = this.entries.remove(index);
+        this.removeFromViews(entry);
+        this.addPosition(entry.sequence, -1);
+    }
+
+    /**
+     * Records that the tasks at the given indices were deleted from the list, going over the
+     * entries only once.
+     */
+    void deleteTasks(BitSet indices) {
+        int numKeptEntries = 0;
+        for (int index = 0; index < this.entries.size(); index++) {
+            Entry entry = this.entries.get(index);
+            if (indices.get(index)) {
+                this.removeFromViews(entry);
+                this.addPosition(entry.sequence, -1);
+            } else {
+                this.entries.set(numKeptEntries, entry);
+                numKeptEntries++;
+            }
+        }
+        this.entries.subList(numKeptEntries, this.entries.size()).clear();
+    }
+
+    /**
+     * Returns a string representation of the list sorted in the given order, where each task is
+     * numbered by its task ID.
+     * The order is kept from then on, so only the first call for each order sorts the list.
+     *
+     * @param order The order to list the tasks in.
+     * @return A string representation of the sorted list.
+     */
+    String toString(SortOrder order) {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : this.getView(order)) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(this.getPosition(entry.sequence)).append(". ").append(entry.task);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the tasks with a date within the given dates, in the order they are in the list.
+     * Only those tasks are gone over, by finding them in the tasks sorted by date, so this takes
+     * time in proportion to the number of tasks returned once the list has been sorted by date.
+     *
+     * @param from  The earliest date allowed, or <code>null</code> if there is none.
+     * @param until The latest date allowed, or <code>null</code> if there is none.
+     * @return The tasks with a date within the given dates.
+     */
+    List<Task> getTasksWithin(LocalDate from, LocalDate until) {
+        List<Task> tasks = new ArrayList<>();
+        if (from != null && until != null && from.isAfter(until)) {
+            return tasks;
+        }
+
+        // No task has sequence number 0 or the largest integer, and tasks without a date come
+        // after every task with one
+        TreeSet<Entry> view = this.getView(SortOrder.DUE);
+        Entry upperBound = until == null
+                ? new Entry(null, 0)
+                : new Entry(until, Integer.MAX_VALUE);
+        List<Entry> entries = new ArrayList<>(from == null
+                ? view.headSet(upperBound, false)
+                : view.subSet(new Entry(from, 0), false, upperBound, false));
+        entries.sort(Comparator.comparingInt(entry -> entry.sequence));
+        for (Entry entry : entries) {
+            tasks.add(entry.task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the tasks sorted in the given order, sorting them the first time.
+     */
+    private TreeSet<Entry> getView(SortOrder order) {
+        TreeSet<Entry> view = this.views.get(order);
+        if (view == null) {
+            view = new TreeSet<>(SortedViews.getComparator(order));
+            view.addAll(this.entries);
+            this.views.put(order, view);
+        }
+        return view;
+    }
+
+    private void removeFromViews(Entry entry) {
+        for (TreeSet<Entry> view : this.views.values()) {
+            view.remove(entry);
+        }
+    }
+
+    /**
+     * Gives every task in the list a new sequence number in the order they are in the list, with
+     * room for as many tasks again to be added.
+     * This keeps the relative order of the sequence numbers, so the views stay sorted.
+     */
+    private void renumber() {
+        int numTasks = this.entries.size();
+        this.positions = new int[Math.max(INITIAL_CAPACITY, numTasks * 2) + 1];
+        int sequence = 1;
+        for (Entry entry : this.entries) {
+            entry.sequence = sequence;
+            sequence++;
+        }
+        this.nextSequence = numTasks + 1;
+
+        // Builds the Fenwick tree of all ones in linear time
+        for (sequence = 1; sequence < this.positions.length; sequence++) {
+            if (sequence <= numTasks) {
+                this.positions[sequence]++;
+            }
+            int parent = sequence + (sequence & -sequence);
+            if (parent < this.positions.length) {
+                this.positions[parent] += this.positions[sequence];
+            }
+        }
+    }
+
+    private void addPosition(int sequence, int delta) {
+        for (int i = sequence; i < this.positions.length; i += i & -i) {
+            this.positions[i] += delta;
+        }
+    }
+
+    private int getPosition(int sequence) {
+        int position = 0;
+        for (int i = sequence; i > 0; i -= i & -i) {
+            position += this.positions[i];
+        }
+        return position;
+    }
+
+    private static Comparator<Entry> getComparator(SortOrder order) {
+        Comparator<Entry> comparator;
+        switch (order) {
+        case DUE:
+            comparator = Comparator.comparing(entry -> entry.date,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            break;
+        case DESCRIPTION:
+            comparator = Comparator.comparing(entry -> entry.task.getDescription(),
+                    String.CASE_INSENSITIVE_ORDER);
+            break;
+        case TYPE:
+            comparator = Comparator.comparingInt(entry -> entry.typeRank);
+            break;
+        case DONE:
+            comparator = Comparator.comparing(entry -> entry.isDone);
+            break;
+        default:
+            throw new AssertionError(order);
+        }
+
+        // Sequence numbers are unique, so no two tasks are ever equal
+        return comparator.thenComparingInt(entry -> entry.sequence);
+    }
+
+    /**
+     * A task in the views, together with the parts of the task that it is sorted by as they were
+     * when it was added. Tasks are replaced rather than changed in the list, but a task can still
+     * be changed directly, so it is found by these parts rather than by the task itself.
+     */
+    private static class Entry {
+        private final Task task;
+        private final int typeRank;
+        private final LocalDate date;
+        private final boolean isDone;
+        private int sequence;
+
+        Entry(Task task) {
+            this.task = task;
+            if (task instanceof Todo) {
+                this.typeRank = 0;
+            } else if (task instanceof Deadline) {
+                this.typeRank = 1;
+            } else {
+                this.typeRank = 2;
+            }
+            this.date = task.getDate();
+            this.isDone = task.isDone();
+        }
+
+        /**
+         * Initialises an entry without a task, which marks where tasks with the given date and
+         * sequence number would be in the tasks sorted by date.
+         */
+        Entry(LocalDate date, int sequence) {
+            this.task = null;
+            this.typeRank = 0;
+            this.date = date;
+            this.isDone = false;
+            this.sequence = sequence;
+        }
+    }
+}
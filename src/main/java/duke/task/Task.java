@@ -1,5 +1,8 @@
 package duke.task;
 
+import java.io.IOException;
+import java.time.LocalDate;
+
 /**
  * Encapsulates a task.
  */
@@ -36,6 +39,15 @@ public abstract class Task implements Serialisable {
         this.isDone = isDone;
     }
 
+    /**
+     * Returns the description of the task.
+     *
+     * @return The description of the task.
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
     /**
      * Returns the status of the task.
      *
@@ -45,6 +57,35 @@ public abstract class Task implements Serialisable {
         return this.isDone;
     }
 
+    /**
+     * Returns the date of the task, which is the date of its current occurrence if it repeats.
+     *
+     * @return The date of the task, or <code>null</code> if the task does not have a date.
+     */
+    public LocalDate getDate() {
+        return null;
+    }
+
+    /**
+     * Returns the date of the first occurrence of the task, which later occurrences are counted
+     * from if it repeats.
+     *
+     * @return The date of the first occurrence, which is the date of the task if it does not
+     *         repeat, or <code>null</code> if the task does not have a date.
+     */
+    public LocalDate getFirstOccurrence() {
+        return this.getDate();
+    }
+
+    /**
+     * Returns how often the task repeats.
+     *
+     * @return How often the task repeats, which is {@link Recurrence#NONE} if it does not.
+     */
+    public Recurrence getRecurrence() {
+        return Recurrence.NONE;
+    }
+
     /**
      * Returns a <code>✓</code> if the task is done, <code>✘</code> otherwise.
      *
@@ -54,6 +95,13 @@ public abstract class Task implements Serialisable {
         return (this.isDone ? "\u2713" : "\u2718"); // return tick or X symbols
     }
 
+    /**
+     * Returns a copy of the task, which can be changed without changing this task.
+     *
+     * @return A copy of the task.
+     */
+    abstract Task copy();
+
     /**
      * Marks a task as done.
      */
@@ -61,6 +109,16 @@ public abstract class Task implements Serialisable {
         this.isDone = true;
     }
 
+    /**
+     * Sets whether the task is done as it is. Unlike {@link #markAsDone()}, a repeating task does
+     * not move on to its next occurrence.
+     *
+     * @param isDone Whether the task is done.
+     */
+    void setDone(boolean isDone) {
+        this.isDone = isDone;
+    }
+
     /**
      * Checks if the task description contains the given keyword.
      * The check is case-insensitive.
@@ -69,7 +127,15 @@ public abstract class Task implements Serialisable {
      * @return <code>true</code> if the task contains the keyword, <code>false</code> otherwise.
      */
     public boolean containsKeyword(String keyword) {
-        return this.description.toLowerCase().contains(keyword.toLowerCase());
+        // Scan in place rather than lower-casing both strings, since this runs once per task on
+        // every search and would otherwise allocate two new strings each time.
+        int lastStart = this.description.length() - keyword.length();
+        for (int i = 0; i <= lastStart; i++) {
+            if (this.description.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -85,16 +151,49 @@ public abstract class Task implements Serialisable {
     }
 
     /**
-     * Serialises the task to a string.
+     * Serialises the task, appending the result to the given output.
      * The serialised task consists of a number to indicate the completion status of the task
      * (<code>1</code> if the task is done, <code>0</code> otherwise), followed by a
      * <code>|</code>, and then the description of the task.
      *
-     * @return A string representing the serialised task.
+     * @param out The output to append the serialised task to.
+     * @throws IOException If the output could not be appended to.
      */
     @Override
-    public String serialise() {
-        return String.format("%d | %s", this.isDone ? 1 : 0, this.description);
+    public void serialiseTo(Appendable out) throws IOException {
+        out.append(this.isDone ? '1' : '0').append(" | ").append(this.description);
     }
 
+    /**
+     * Appends the given date to the output in the format "yyyy-MM-dd".
+     * This is equivalent to appending {@link LocalDate#toString()}, but avoids creating a new
+     * string for every date that is serialised.
+     *
+     * @param out  The output to append the date to.
+     * @param date The date to be appended.
+     * @throws IOException If the output could not be appended to.
+     */
+    static void appendDate(Appendable out, LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            // LocalDate uses a sign and extra digits for these years
+            out.append(date.toString());
+            return;
+        }
+        appendDigits(out, year, 4);
+        out.append('-');
+        appendDigits(out, date.getMonthValue(), 2);
+        out.append('-');
+        appendDigits(out, date.getDayOfMonth(), 2);
+    }
+
+    private static void appendDigits(Appendable out, int value, int width) throws IOException {
+        int divisor = 1;
+        for (int i = 1; i < width; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package duke.task;
+
+/**
+ * Represents a single change made to a {@link TaskList}, as published to its subscribers.
+ * Applying the changes in the order they are published to a copy of the list keeps the copy in
+ * step with the list.
+ */
+public class TaskChange {
+    /**
+     * The kinds of changes that can be made to a list of tasks.
+     */
+    public enum Type {
+        ADDED,
+        UPDATED,
+        MARKED_AS_DONE,
+        DELETED
+    }
+
+    private final Type type;
+
+    /**
+     * The ID of the changed task at the time of the change. For a deleted task, this is the ID
+     * the task had just before it was deleted.
+     */
+    private final int taskId;
+
+    private final Task task;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param type   The kind of change.
+     * @param taskId The ID of the changed task at the time of the change.
+     * @param task   The changed task.
+     */
+    public TaskChange(Type type, int taskId, Task task) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return The kind of change.
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the ID of the changed task at the time of the change.
+     *
+     * @return The ID of the changed task.
+     */
+    public int getTaskId() {
+        return this.taskId;
+    }
+
+    /**
+     * Returns the changed task. For an updated task, this is the task that replaced it.
+     * Tasks are not copied, so the task may have been changed again since.
+     *
+     * @return The changed task.
+     */
+    public Task getTask() {
+        return this.task;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d: %s", this.type, this.taskId, this.task);
+    }
+}
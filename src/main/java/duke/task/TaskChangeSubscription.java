@@ -0,0 +1,75 @@
+package duke.task;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Passes the changes published by a {@link TaskList} on to a subscriber, unless the subscriber
+ * has fallen so far behind that some changes had to be dropped. The subscriber is then told so
+ * with {@link Flow.Subscriber#onError(Throwable)} instead of receiving an incomplete sequence of
+ * changes, and can re-read the whole list and subscribe again.
+ */
+class TaskChangeSubscription implements Flow.Subscriber<TaskChange> {
+    private final Flow.Subscriber<? super TaskChange> subscriber;
+    private Flow.Subscription subscription;
+
+    /**
+     * A flag to indicate if a change was dropped because the subscriber's buffer was full.
+     * This is set on the publishing thread, and read on the thread delivering changes.
+     */
+    private volatile boolean hasDroppedChanges;
+    private boolean isCancelled;
+
+    /**
+     * Initialises a new instance.
+     *
+     * @param subscriber The subscriber to pass changes on to.
+     */
+    TaskChangeSubscription(Flow.Subscriber<? super TaskChange> subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Records that a change could not be buffered for this subscriber.
+     */
+    void dropChange() {
+        this.hasDroppedChanges = true;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        this.subscriber.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(TaskChange change) {
+        if (this.isCancelled) {
+            return;
+        }
+
+        // Changes are only dropped when the buffer is full, so there is always a buffered change
+        // left to report the dropped changes in place of
+        if (this.hasDroppedChanges) {
+            this.isCancelled = true;
+            this.subscription.cancel();
+            this.subscriber.onError(new IllegalStateException(
+                    "Some changes were dropped because the subscriber fell behind."));
+            return;
+        }
+        this.subscriber.onNext(change);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (!this.isCancelled) {
+            this.subscriber.onError(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (!this.isCancelled) {
+            this.subscriber.onComplete();
+        }
+    }
+}
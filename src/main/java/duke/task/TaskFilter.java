@@ -0,0 +1,149 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Encapsulates a combination of conditions that a task has to meet, such as its type, whether it
+ * is done, its date, and words in its description.
+ * The conditions are checked from the cheapest to the most expensive, so a task that fails a cheap
+ * condition never has its description scanned.
+ */
+public class TaskFilter implements Predicate<Task> {
+    private static final int TYPE_COST = 0;
+    private static final int DONE_COST = 1;
+    private static final int DATE_COST = 2;
+    private static final int TEXT_COST = 3;
+
+    /**
+     * The conditions to be checked, ordered from the cheapest to the most expensive.
+     */
+    private final List<Condition> conditions = new ArrayList<>();
+
+    /**
+     * The earliest and latest dates that a task can have to meet the conditions, or
+     * <code>null</code> if the conditions do not limit them.
+     */
+    private LocalDate dateFrom;
+    private LocalDate dateUntil;
+
+    /**
+     * Adds a condition that the task is of the given type.
+     *
+     * @param type The type of task, such as {@link Deadline}.
+     * @return This filter.
+     */
+    public TaskFilter withType(Class<? extends Task> type) {
+        return this.with(TYPE_COST, type::isInstance);
+    }
+
+    /**
+     * Adds a condition that the task is done, or not done.
+     *
+     * @param isDone Whether the task has to be done.
+     * @return This filter.
+     */
+    public TaskFilter withDone(boolean isDone) {
+        return this.with(DONE_COST, task -> task.isDone() == isDone);
+    }
+
+    /**
+     * Adds a condition that the task has a date on or after the given date.
+     * Tasks without a date never meet this condition.
+     *
+     * @param date The earliest date allowed.
+     * @return This filter.
+     */
+    public TaskFilter withDateFrom(LocalDate date) {
+        if (this.dateFrom == null || date.isAfter(this.dateFrom)) {
+            this.dateFrom = date;
+        }
+        return this.with(DATE_COST, task -> task.getDate() != null
+                && !task.getDate().isBefore(date));
+    }
+
+    /**
+     * Adds a condition that the task has a date on or before the given date.
+     * Tasks without a date never meet this condition.
+     *
+     * @param date The latest date allowed.
+     * @return This filter.
+     */
+    public TaskFilter withDateUntil(LocalDate date) {
+        if (this.dateUntil == null || date.isBefore(this.dateUntil)) {
+            this.dateUntil = date;
+        }
+        return this.with(DATE_COST, task -> task.getDate() != null
+                && !task.getDate().isAfter(date));
+    }
+
+    /**
+     * Adds a condition that the description of the task contains the given keyword.
+     * The check is case-insensitive.
+     *
+     * @param keyword The keyword to check.
+     * @return This filter.
+     */
+    public TaskFilter withKeyword(String keyword) {
+        return this.with(TEXT_COST, task -> task.containsKeyword(keyword));
+    }
+
+    /**
+     * Checks if the task meets every condition of the filter.
+     *
+     * @param task The task to check.
+     * @return <code>true</code> if the task meets every condition, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean test(Task task) {
+        for (Condition condition : this.conditions) {
+            if (!condition.predicate.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the earliest date that a task can have to meet the conditions.
+     *
+     * @return The earliest date, or <code>null</code> if the conditions do not limit it.
+     */
+    LocalDate getDateFrom() {
+        return this.dateFrom;
+    }
+
+    /**
+     * Returns the latest date that a task can have to meet the conditions.
+     *
+     * @return The latest date, or <code>null</code> if the conditions do not limit it.
+     */
+    LocalDate getDateUntil() {
+        return this.dateUntil;
+    }
+
+    private TaskFilter with(int cost, Predicate<Task> predicate) {
+        // Conditions of the same cost stay in the order they were added
+        int index = this.conditions.size();
+        while (index > 0 && this.conditions.get(index - 1).cost > cost) {
+            index--;
+        }
+        this.conditions.add(index, new Condition(cost, predicate));
+        return this;
+    }
+
+    /**
+     * A single condition of the filter, together with how expensive it is to check.
+     */
+    private static class Condition {
+        private final int cost;
+        private final Predicate<Task> predicate;
+
+        Condition(int cost, Predicate<Task> predicate) {
+            this.cost = cost;
+            this.predicate = predicate;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package duke.task;
+
+/**
+ * Represents how the tasks of a {@link TaskList} are laid out in memory, trading the memory that
+ * each task takes against the time taken to get a task out of the list.
+ */
+public enum TaskLayout {
+    /**
+     * Every task is kept as a {@link Task} object, which is handed out as it is.
+     */
+    OBJECTS("objects"),
+
+    /**
+     * The tasks are kept in parallel arrays of their types, dates and done flags, with their
+     * descriptions packed together, and a {@link Task} is only created when a task is taken out
+     * of the list. This takes several times less memory for long lists, and searches scan the
+     * descriptions without creating any tasks, but every task taken out of the list is a new
+     * object.
+     */
+    COLUMNS("columns");
+
+    /**
+     * The keyword used to specify this layout.
+     */
+    private final String keyword;
+
+    TaskLayout(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns the layout with the given keyword.
+     * The keyword is case-insensitive.
+     *
+     * @param keyword The keyword of the layout, for example "columns".
+     * @return The layout with the given keyword, or <code>null</code> if there is none.
+     */
+    public static TaskLayout fromKeyword(String keyword) {
+        for (TaskLayout layout : TaskLayout.values()) {
+            if (layout.keyword.equalsIgnoreCase(keyword)) {
+                return layout;
+            }
+        }
+        return null;
+    }
+}
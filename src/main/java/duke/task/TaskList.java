@@ -1,21 +1,65 @@
 package duke.task;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
 
 /**
  * Encapsulates a list of {@link Task}s.
+ * Every change made through the list is published as a {@link TaskChange} to any subscribers, so
+ * that they can keep up with the list without re-reading it after every change.
+ * The tasks are kept in a {@link TaskStore}, laid out in one of the {@link TaskLayout}s, and tasks
+ * in the list are never changed in place, so a snapshot of the list can be taken at any time
+ * without copying it.
  */
-public class TaskList {
-    private final List<Task> tasks;
+public class TaskList implements Iterable<Task> {
+    /**
+     * The maximum number of changes buffered for each subscriber that has yet to receive them.
+     */
+    private static final int MAX_BUFFERED_CHANGES = 256;
+
+    /**
+     * The tasks currently in the list. Each change replaces this with a new version, so anyone
+     * holding an older version keeps seeing the list as it was.
+     */
+    private volatile TaskStore tasks;
+
+    /**
+     * The publisher of changes to the list, which is only created once the first subscriber
+     * subscribes.
+     */
+    private SubmissionPublisher<TaskChange> changes;
+
+    /**
+     * The number of changes made to the list so far.
+     */
+    private long version;
+
+    /**
+     * The cache of query results on the list, which is only created once it is first used.
+     */
+    private QueryCache queryCache;
+
+    /**
+     * The views of the list in sorted orders, which are only created once the list is first
+     * listed in a sorted order.
+     */
+    private SortedViews sortedViews;
+
+    /**
+     * The recorder of changes to the list, or <code>null</code> if changes are not recorded.
+     */
+    private ChangeRecorder recorder;
 
     /**
      * Initialises a new instance with no existing {@link Task}s.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this.tasks = ObjectTaskStore.empty();
     }
 
     /**
@@ -24,11 +68,29 @@ public class TaskList {
      * @param tasks The lists of tasks to initialise the instance with.
      */
     public TaskList(List<Task> tasks) {
+        this.tasks = ObjectTaskStore.of(tasks);
+    }
+
+    /**
+     * Initialises a new instance based on a list of existing {@link Task}s, which are laid out in
+     * memory in the given layout.
+     *
+     * @param tasks  The lists of tasks to initialise the instance with.
+     * @param layout The layout of the tasks in memory.
+     */
+    public TaskList(List<Task> tasks, TaskLayout layout) {
+        this.tasks = layout == TaskLayout.COLUMNS
+                ? ColumnarTaskStore.of(tasks)
+                : ObjectTaskStore.of(tasks);
+    }
+
+    private TaskList(TaskStore tasks) {
         this.tasks = tasks;
     }
 
     /**
      * Returns a {@link Task} stored in the list based on the given task ID.
+     * With {@link TaskLayout#COLUMNS}, a new task is returned every time.
      *
      * @param taskId The ID of the task to be retrieved.
      * @return The task with the corresponding ID.
@@ -45,7 +107,29 @@ public class TaskList {
      * @return <code>true</code> if the task was added successfully, <code>false</code> otherwise.
      */
     public boolean addTask(Task task) {
-        return this.tasks.add(task);
+        this.tasks = this.tasks.append(task);
+        if (this.sortedViews != null) {
+            this.sortedViews.addTask(task);
+        }
+        this.recordChange(TaskChange.Type.ADDED, this.tasks.size(), task, null);
+        return true;
+    }
+
+    /**
+     * Inserts a {@link Task} into the list, so that it has the given task ID.
+     * The tasks from that ID onwards move down the list by one.
+     *
+     * @param taskId The ID that the task will have, which is at most one more than the number of
+     *               tasks in the list.
+     * @param task   The task to be inserted.
+     */
+    public void insertTask(int taskId, Task task) {
+        assert taskId <= this.tasks.size() + 1;
+        this.tasks = this.tasks.insert(taskId - 1, task);
+        if (this.sortedViews != null) {
+            this.sortedViews.insertTask(task, taskId - 1);
+        }
+        this.recordChange(TaskChange.Type.ADDED, taskId, task, null);
     }
 
     /**
@@ -59,9 +143,59 @@ public class TaskList {
         assert taskId <= this.tasks.size();
         Task originalTask = this.tasks.get(taskId - 1);
         if (originalTask.isDone()) {
-            updatedTask.markAsDone();
+            // Marking a repeating task as done would move it on to its next occurrence instead
+            updatedTask.setDone(true);
+        }
+        this.tasks = this.tasks.set(taskId - 1, updatedTask);
+        if (this.sortedViews != null) {
+            this.sortedViews.replaceTask(taskId - 1, updatedTask);
+        }
+        this.recordChange(TaskChange.Type.UPDATED, taskId, updatedTask,
+                this.serialiseIfRecorded(originalTask));
+        return originalTask;
+    }
+
+    /**
+     * Replaces a {@link Task} in the list with the given task as it is. Unlike
+     * {@link #updateTask(int, Task)}, the new task is not marked as done if the original task was.
+     *
+     * @param taskId The ID of the task to be replaced.
+     * @param task   The task to replace it with.
+     * @return The {@link Task} that was replaced.
+     */
+    public Task replaceTask(int taskId, Task task) {
+        assert taskId <= this.tasks.size();
+        Task originalTask = this.tasks.get(taskId - 1);
+        this.tasks = this.tasks.set(taskId - 1, task);
+        if (this.sortedViews != null) {
+            this.sortedViews.replaceTask(taskId - 1, task);
+        }
+        this.recordChange(TaskChange.Type.UPDATED, taskId, task,
+                this.serialiseIfRecorded(originalTask));
+        return originalTask;
+    }
+
+    /**
+     * Marks a {@link Task} in the list as done.
+     * A repeating task moves on to its next occurrence instead.
+     * The task is replaced by a copy that is marked as done, so snapshots of the list taken
+     * before still see the task as it was.
+     *
+     * @param taskId The ID of the task to be marked as done.
+     * @return The {@link Task} that was marked as done.
+     */
+    public Task markTaskAsDone(int taskId) {
+        assert taskId <= this.tasks.size();
+        Task originalTask = this.tasks.get(taskId - 1);
+        Task task = originalTask.copy();
+        task.markAsDone();
+        this.tasks = this.tasks.set(taskId - 1, task);
+        if (this.sortedViews != null) {
+            this.sortedViews.replaceTask(taskId - 1, task);
         }
-        return this.tasks.set(taskId - 1, updatedTask);
+        this.recordChange(TaskChange.Type.MARKED_AS_DONE, taskId, task,
+                this.serialiseIfRecorded(originalTask));
+        return task;
     }
 
     /**
@@ -72,7 +206,124 @@ public class TaskList {
      */
     public Task deleteTask(int taskId) {
         assert taskId <= this.tasks.size();
-        return this.tasks.remove(taskId - 1);
+        Task deletedTask = this.tasks.get(taskId - 1);
+        this.tasks = this.tasks.remove(taskId - 1);
+        if (this.sortedViews != null) {
+            this.sortedViews.deleteTask(taskId - 1);
+        }
+        this.recordChange(TaskChange.Type.DELETED, taskId, deletedTask,
+                this.serialiseIfRecorded(deletedTask));
+        return deletedTask;
+    }
+
+    /**
+     * Deletes all {@link Task}s in the list with the given IDs.
+     * The tasks before the first deleted task are kept as they are, and the rest of the list is
+     * rebuilt in a single pass, so this is much cheaper than deleting the tasks one at a time.
+     *
+     * @param taskIds The IDs of the tasks to be deleted.
+     * @return The {@link Task}s that were deleted from the list, in the order they were in.
+     */
+    public List<Task> deleteTasks(BitSet taskIds) {
+        assert taskIds.length() <= this.tasks.size() + 1;
+        List<Task> deletedTasks = new ArrayList<>(taskIds.cardinality());
+        if (taskIds.nextSetBit(1) < 0) {
+            return deletedTasks;
+        }
+
+        // Bit i of the indices is the task with ID i + 1
+        BitSet indices = taskIds.get(1, Math.max(1, taskIds.length()));
+        this.tasks = this.tasks.removeAll(indices, deletedTasks);
+        if (this.sortedViews != null) {
+            this.sortedViews.deleteTasks(indices);
+        }
+
+        // Recorded from the last task to the first, so that each ID is still correct when the
+        // deletions before it have been applied
+        int i = deletedTasks.size() - 1;
+        for (int taskId = taskIds.previousSetBit(taskIds.length()); taskId > 0;
+                taskId = taskIds.previousSetBit(taskId - 1)) {
+            Task deletedTask = deletedTasks.get(i);
+            this.recordChange(TaskChange.Type.DELETED, taskId, deletedTask,
+                    this.serialiseIfRecorded(deletedTask));
+            i--;
+        }
+        return deletedTasks;
+    }
+
+    /**
+     * Subscribes to the changes made to the list from now on.
+     * Changes are delivered asynchronously, as the subscriber requests them. Publishing never
+     * waits for a subscriber: if a subscriber falls more than {@value #MAX_BUFFERED_CHANGES}
+     * changes behind, it is unsubscribed and receives an error instead of the remaining changes.
+     *
+     * @param subscriber The subscriber to receive the changes.
+     */
+    public void subscribe(Flow.Subscriber<? super TaskChange> subscriber) {
+        if (this.changes == null) {
+            this.changes = new SubmissionPublisher<>(ForkJoinPool.commonPool(),
+                    TaskList.MAX_BUFFERED_CHANGES);
+        }
+        this.changes.subscribe(new TaskChangeSubscription(subscriber));
+    }
+
+    /**
+     * Sets the recorder that every change made to the list from now on is recorded by.
+     *
+     * @param recorder The recorder of changes, or <code>null</code> to stop recording changes.
+     */
+    public void setChangeRecorder(ChangeRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Returns the cache of the results of queries on the list, which is kept up to date with the
+     * changes made to the list.
+     *
+     * @return The cache of query results.
+     */
+    public QueryCache getQueryCache() {
+        if (this.queryCache == null) {
+            this.queryCache = new QueryCache(this);
+        }
+        return this.queryCache;
+    }
+
+    /**
+     * Returns the number of changes made to the list so far.
+     */
+    long getVersion() {
+        return this.version;
+    }
+
+    private boolean hasSubscribers() {
+        return this.changes != null && this.changes.hasSubscribers();
+    }
+
+    /**
+     * Returns the given task serialised, or <code>null</code> if changes are not recorded, so that
+     * tasks are only serialised when they are recorded.
+     */
+    private String serialiseIfRecorded(Task task) {
+        return this.recorder == null ? null : task.serialise();
+    }
+
+    /**
+     * Records a change to the list, and publishes it to any subscribers.
+     */
+    private void recordChange(TaskChange.Type type, int taskId, Task task, String previousTask) {
+        this.version++;
+        if (this.recorder != null) {
+            this.recorder.record(type, taskId, previousTask);
+        }
+        if (!this.hasSubscribers()) {
+            return;
+        }
+
+        this.changes.offer(new TaskChange(type, taskId, task), (subscriber, change) -> {
+            ((TaskChangeSubscription) subscriber).dropChange();
+            return false;
+        });
     }
 
     /**
@@ -91,12 +342,92 @@ public class TaskList {
      * @return The list of tasks where all tasks' description contains the given keyword.
      */
     public TaskList search(String keyword) {
-        List<Task> filteredList =
-                this.tasks.stream().filter((task) -> task.containsKeyword(keyword))
-                        .collect(Collectors.toList());
+        List<Task> filteredList = new ArrayList<>();
+        this.tasks.search(keyword, filteredList);
         return new TaskList(filteredList);
     }
 
+    /**
+     * Returns a new list of tasks that meet every condition of the given filter.
+     * If the filter limits the dates of the tasks, only the tasks within those dates are checked,
+     * which are found in the list sorted by date as in {@link #toString(SortOrder)}.
+     *
+     * @param filter The filter to check each task against.
+     * @return The list of tasks that meet every condition of the filter.
+     */
+    public TaskList filter(TaskFilter filter) {
+        Iterable<Task> tasks = this.tasks;
+        if (filter.getDateFrom() != null || filter.getDateUntil() != null) {
+            tasks = this.getSortedViews().getTasksWithin(filter.getDateFrom(),
+                    filter.getDateUntil());
+        }
+
+        List<Task> filteredList = new ArrayList<>();
+        for (Task task : tasks) {
+            if (filter.test(task)) {
+                filteredList.add(task);
+            }
+        }
+        return new TaskList(filteredList);
+    }
+
+    /**
+     * Returns a new list of the tasks whose descriptions best match the given query, best match
+     * first. Unlike {@link #search(String)}, each word of the query is matched separately, and
+     * words with a few typos still match.
+     *
+     * @param query      The words to search for.
+     * @param maxResults The maximum number of tasks to return.
+     * @return The list of at most <code>maxResults</code> best matching tasks.
+     */
+    public TaskList searchRanked(String query, int maxResults) {
+        return new TaskList(new RankedSearch(query).search(this.tasks, maxResults));
+    }
+
+    /**
+     * Returns an iterator over the {@link Task}s in the list, in the order they were added.
+     * The iterator goes over the list as it was when the iterator was created, even if the list is
+     * changed while iterating. It does not support removing tasks from the list.
+     *
+     * @return An iterator over the {@link Task}s in the list.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return this.tasks.iterator();
+    }
+
+    /**
+     * Returns a copy of the list as it is now, which is not affected by later changes to this
+     * list, and vice versa.
+     * The copy shares the tasks with this list rather than copying them, so this takes the same
+     * time no matter how long the list is. It can be read from any thread.
+     *
+     * @return A copy of the list as it is now.
+     */
+    public TaskList snapshot() {
+        return new TaskList(this.tasks);
+    }
+
+    /**
+     * Returns a string representation of the list sorted in the given order.
+     * Each task is still numbered by its position in the list, so that the numbers can be used as
+     * task IDs. The list is kept sorted in each order as it changes, so only the first call for
+     * each order sorts the whole list.
+     *
+     * @param order The order to list the tasks in.
+     * @return A string representation of the sorted list.
+     */
+    public String toString(SortOrder order) {
+        return this.getSortedViews().toString(order);
+    }
+
+    private SortedViews getSortedViews() {
+        if (this.sortedViews == null) {
+            this.sortedViews = new SortedViews(this);
+        }
+        return this.sortedViews;
+    }
+
     /**
      * Returns a string representation of the list.
      * For each task in the list, the string representation includes a numbering of these tasks
@@ -107,8 +438,15 @@ public class TaskList {
      */
     @Override
     public String toString() {
-        return IntStream.range(0, this.tasks.size())
-                .mapToObj(i -> String.format("%d. %s", i + 1, tasks.get(i)))
-                .collect(Collectors.joining("\n")).trim();
+        StringBuilder sb = new StringBuilder();
+        int taskId = 1;
+        for (Task task : this.tasks) {
+            if (taskId > 1) {
+                sb.append('\n');
+            }
+            sb.append(taskId).append(". ").append(task);
+            taskId++;
+        }
+        return sb.toString();
     }
 }
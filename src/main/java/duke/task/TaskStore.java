@@ -0,0 +1,77 @@
+package duke.task;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The tasks held by a {@link TaskList}, laid out in memory in one of the {@link TaskLayout}s.
+ * A store is never changed: every change creates a new store, which shares all but the changed
+ * parts with the original store, so any number of threads can read a store while another thread
+ * creates newer versions of it. Tasks are found by their index in the store, which is one less
+ * than their task ID.
+ */
+interface TaskStore extends Iterable<Task> {
+    /**
+     * Returns the layout of the tasks in the store.
+     */
+    TaskLayout getLayout();
+
+    int size();
+
+    Task get(int index);
+
+    /**
+     * Returns a store where the task at the given index is replaced with the given task.
+     */
+    TaskStore set(int index, Task task);
+
+    /**
+     * Returns a store with the given task added to the end.
+     */
+    TaskStore append(Task task);
+
+    /**
+     * Returns a store with the given task inserted at the given index.
+     * The tasks before the index are shared, so this takes time in proportion to the number of
+     * tasks after the index.
+     */
+    TaskStore insert(int index, Task task);
+
+    /**
+     * Returns a store without the task at the given index.
+     * The tasks before the index are shared, so this takes time in proportion to the number of
+     * tasks after the index.
+     */
+    TaskStore remove(int index);
+
+    /**
+     * Returns a store without the tasks at the given indices, adding the removed tasks to the
+     * given list in the order they were in.
+     * The tasks before the first removed task are shared, and the rest of the store is rebuilt in
+     * a single pass.
+     */
+    TaskStore removeAll(BitSet indices, List<Task> removedTasks);
+
+    /**
+     * Returns an iterator over the tasks from the given index onwards.
+     */
+    Iterator<Task> iterator(int start);
+
+    @Override
+    default Iterator<Task> iterator() {
+        return this.iterator(0);
+    }
+
+    /**
+     * Adds the tasks whose description contains the given keyword to the given list, in the order
+     * they are in, matching the keyword the same way as {@link Task#containsKeyword(String)}.
+     */
+    default void search(String keyword, List<Task> matchingTasks) {
+        for (Task task : this) {
+            if (task.containsKeyword(keyword)) {
+                matchingTasks.add(task);
+            }
+        }
+    }
+}
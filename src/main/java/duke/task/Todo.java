@@ -1,5 +1,7 @@
 package duke.task;
 
+import java.io.IOException;
+
 /**
  * Encapsulates a task that needs to be done.
  */
@@ -26,6 +28,11 @@ public class Todo extends Task {
         super(description, isDone);
     }
 
+    @Override
+    Todo copy() {
+        return new Todo(this.getDescription(), this.isDone());
+    }
+
     /**
      * Returns a string representation of the todo.
      * This string representation is prepended by a <code>T</code> to indicate that this task is a
@@ -39,14 +46,16 @@ public class Todo extends Task {
     }
 
     /**
-     * Serialises the todo to a string.
+     * Serialises the todo, appending the result to the given output.
      * The serialised todo consists of a <code>T</code>, followed by a <code>|</code>, and
      * then the serialised representation of a normal {@link Task}
      *
-     * @return A string representing the serialised todo.
+     * @param out The output to append the serialised todo to.
+     * @throws IOException If the output could not be appended to.
      */
     @Override
-    public String serialise() {
-        return String.format("%s | %s", Todo.identifier, super.serialise());
+    public void serialiseTo(Appendable out) throws IOException {
+        out.append(Todo.identifier).append(" | ");
+        super.serialiseTo(out);
     }
 }
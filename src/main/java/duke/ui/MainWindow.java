@@ -1,8 +1,15 @@
 package duke.ui;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import duke.Duke;
+import duke.exception.DukeException;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
@@ -13,6 +20,12 @@ import javafx.scene.layout.VBox;
  * Controller for MainWindow. Provides the layout for the other controls.
  */
 public class MainWindow extends AnchorPane {
+    /**
+     * The message that is used to tell the user that the saved tasks could not be loaded.
+     */
+    private static final String LOAD_FAILURE_WARNING =
+            "%s\nStarting with an empty list of tasks instead.";
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -21,9 +34,20 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private TaskListView taskListView;
+    @FXML
+    private ProgressIndicator loadingIndicator;
 
     private Duke duke;
 
+    /**
+     * The inputs given by the user while the saved tasks are loading, which are answered in order
+     * once they have loaded.
+     */
+    private final List<String> pendingInputs = new ArrayList<>();
+    private boolean isLoading;
+
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
 
@@ -33,13 +57,65 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Initialises the main window with the Duke chat bot and greets the user.
+     * Initialises the main window with the Duke chat bot, greets the user, and loads the saved
+     * tasks in the background. The user can give inputs while the tasks are loading, which are
+     * answered once they have loaded.
      *
      * @param duke The Duke instance to initialise the main window with.
      */
     public void initialiseDuke(Duke duke) {
         this.duke = duke;
+        duke.setWarningHandler(this::showWarning);
         dialogContainer.getChildren().add(DialogBox.getDukeDialog(duke.greetUser(), dukeImage));
+
+        Task<Void> loadTask = new Task<>() {
+            @Override
+            protected Void call() throws DukeException {
+                duke.loadTasks();
+                return null;
+            }
+        };
+        loadTask.setOnSucceeded(event -> finishLoading(duke.getQuarantineWarning()));
+        loadTask.setOnFailed(event -> {
+            Throwable e = loadTask.getException();
+            // The user is only shown the message, so the cause is kept for whoever investigates
+            e.printStackTrace();
+            finishLoading(String.format(LOAD_FAILURE_WARNING, e.getMessage()));
+        });
+
+        isLoading = true;
+        loadingIndicator.setVisible(true);
+        Thread loadThread = new Thread(loadTask, "duke-loader");
+        loadThread.setDaemon(true);
+        loadThread.start();
+    }
+
+    /**
+     * Shows the loaded tasks, shows the given warning about loading them if there is one, and
+     * answers the inputs given while they were loading.
+     */
+    private void finishLoading(String warning) {
+        isLoading = false;
+        loadingIndicator.setVisible(false);
+        taskListView.showTasks(duke.getTasks());
+        if (warning != null) {
+            dialogContainer.getChildren().add(DialogBox.getDukeDialog(warning, dukeImage));
+        }
+
+        for (String input : pendingInputs) {
+            dialogContainer.getChildren().add(
+                    DialogBox.getDukeDialog(duke.getResponse(input), dukeImage));
+        }
+        pendingInputs.clear();
+    }
+
+    /**
+     * Shows a warning about work that Duke did in the background, which can be given on any
+     * thread.
+     */
+    private void showWarning(String warning) {
+        Platform.runLater(() ->
+                dialogContainer.getChildren().add(DialogBox.getDukeDialog(warning, dukeImage)));
     }
 
     /**
@@ -55,6 +131,14 @@ public class MainWindow extends AnchorPane {
             return;
         }
 
+        if (isLoading) {
+            // The input is answered once the saved tasks have loaded
+            pendingInputs.add(input);
+            dialogContainer.getChildren().add(DialogBox.getUserDialog(input, userImage));
+            userInput.clear();
+            return;
+        }
+
         String response = duke.getResponse(input);
 
         dialogContainer.getChildren().addAll(DialogBox.getUserDialog(input, userImage),
@@ -0,0 +1,118 @@
+package duke.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import duke.task.Task;
+import duke.task.TaskChange;
+import duke.task.TaskList;
+import javafx.application.Platform;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+
+/**
+ * A control that shows every task in a {@link TaskList}, numbered by their task IDs.
+ * The view keeps up with the list by applying each {@link TaskChange} to the changed row only, and
+ * only the rows that are visible are ever rendered.
+ */
+public class TaskListView extends ListView<Task> {
+    /**
+     * Initialises a new instance that does not show any tasks yet.
+     */
+    public TaskListView() {
+        this.getStyleClass().add("task-list-view");
+        this.setCellFactory(listView -> new TaskCell());
+    }
+
+    /**
+     * Shows the tasks in the given list, and keeps showing them as the list changes.
+     * This has to be called on the JavaFX application thread, which is also where the list is
+     * changed.
+     *
+     * @param tasks The list of tasks to be shown.
+     */
+    public void showTasks(TaskList tasks) {
+        List<Task> currentTasks = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            currentTasks.add(task);
+        }
+
+        // Nothing can change the list between copying it and subscribing, since both happen on
+        // the application thread
+        this.getItems().setAll(currentTasks);
+        tasks.subscribe(new TaskChangeApplier(tasks));
+    }
+
+    /**
+     * Applies the changes made to a list of tasks to the rows of the view, one change at a time.
+     */
+    private class TaskChangeApplier implements Flow.Subscriber<TaskChange> {
+        private final TaskList tasks;
+        private Flow.Subscription subscription;
+
+        TaskChangeApplier(TaskList tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(TaskChange change) {
+            // The next change is only requested once this one has been shown, so a busy
+            // application thread slows the changes down instead of queuing them up without limit
+            Platform.runLater(() -> {
+                this.apply(change);
+                this.subscription.request(1);
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // Some changes were missed, so start over from the current list
+            Platform.runLater(() -> TaskListView.this.showTasks(this.tasks));
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        private void apply(TaskChange change) {
+            int index = change.getTaskId() - 1;
+            switch (change.getType()) {
+            case ADDED:
+                TaskListView.this.getItems().add(index, change.getTask());
+                break;
+            case UPDATED:
+            case MARKED_AS_DONE:
+                // Replacing the row with the same task still re-renders it
+                TaskListView.this.getItems().set(index, change.getTask());
+                break;
+            case DELETED:
+                TaskListView.this.getItems().remove(index);
+                break;
+            default:
+                assert false : change.getType();
+            }
+        }
+    }
+
+    /**
+     * A row of the view, which shows a task together with its task ID.
+     */
+    private static class TaskCell extends ListCell<Task> {
+        @Override
+        protected void updateItem(Task task, boolean isEmpty) {
+            super.updateItem(task, isEmpty);
+            if (isEmpty || task == null) {
+                this.setText(null);
+                return;
+            }
+            this.setText((this.getIndex() + 1) + ". " + task);
+        }
+    }
+}
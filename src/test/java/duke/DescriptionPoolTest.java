@@ -0,0 +1,21 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class DescriptionPoolTest {
+    @Test
+    public void intern_equalDescriptions_sameInstance() {
+        String first = DescriptionPool.intern(new String("pay rent"));
+        String second = DescriptionPool.intern(new String("pay rent"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void intern_newDescription_unchanged() {
+        assertEquals("standup", DescriptionPool.intern("standup"));
+    }
+}
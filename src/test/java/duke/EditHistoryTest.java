@@ -0,0 +1,359 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.CorruptedStorageException;
+import duke.exception.DukeException;
+import duke.exception.StaleStorageException;
+import duke.task.Deadline;
+import duke.task.Recurrence;
+import duke.task.SortOrder;
+import duke.task.TaskList;
+import duke.task.Todo;
+
+public class EditHistoryTest {
+    private static Storage getStorage() throws IOException {
+        Path filePath = Files.createTempDirectory("duke").resolve("data").resolve("duke.txt");
+        return new Storage(filePath, filePath.resolveSibling("archive.gz"));
+    }
+
+    private static TaskList getTasks(Storage storage, int numTasks) throws DukeException {
+        TaskList tasks = new TaskList(storage.loadTasks());
+        tasks.setChangeRecorder(storage.getHistory());
+        for (int i = 1; i <= numTasks; i++) {
+            tasks.addTask(new Todo("todo desc" + i));
+        }
+        storage.saveTasks(tasks);
+        return tasks;
+    }
+
+    @Test
+    public void cancelEdit_tasksAddedToEnd_reversedWithoutChangedTaskIds()
+            throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 2);
+        String originalTasks = tasks.toString();
+
+        EditHistory history = storage.getHistory();
+        history.beginEdit();
+        tasks.addTask(new Todo("todo desc3"));
+        tasks.addTask(new Todo("todo desc4"));
+
+        assertEquals(0, history.cancelEdit(tasks));
+        assertEquals(originalTasks, tasks.toString());
+        assertFalse(history.undo(tasks));
+    }
+
+    @Test
+    public void cancelEdit_tasksChanged_highestChangedTaskIdReturned()
+            throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 4);
+        String originalTasks = tasks.toString();
+
+        EditHistory history = storage.getHistory();
+        history.beginEdit();
+        tasks.markTaskAsDone(3);
+        tasks.deleteTask(1);
+        tasks.addTask(new Todo("todo desc5"));
+
+        assertEquals(3, history.cancelEdit(tasks));
+        assertEquals(originalTasks, tasks.toString());
+    }
+
+    @Test
+    public void cancelEdit_undoAndRedoSavesClash_undoneAndRedoneAgainOnTheirChanges()
+            throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 2);
+        EditHistory history = storage.getHistory();
+        history.beginEdit();
+        tasks.markTaskAsDone(1);
+        storage.saveTasks(tasks);
+        history.endEdit();
+        String doneTasks = tasks.toString();
+
+        Path filePath = storage.getQuarantinePath().resolveSibling("duke.txt");
+        Files.writeString(filePath, "T | 0 | todo desc3\n", StandardOpenOption.APPEND);
+        history.beginEdit();
+        assertTrue(history.undo(tasks));
+        assertThrows(StaleStorageException.class, () -> storage.saveTasks(tasks));
+        assertEquals(1, history.cancelEdit(tasks));
+        assertEquals(doneTasks, tasks.toString());
+        assertEquals(1, history.getNumUndoableEdits());
+        assertEquals(0, history.getNumRedoableEdits());
+
+        storage.mergeExternalChanges(tasks);
+        history.beginEdit();
+        assertTrue(history.undo(tasks));
+        storage.saveTasks(tasks);
+        history.endEdit();
+        String undoneTasks = "1. [T][\u2718] todo desc1\n2. [T][\u2718] todo desc2\n"
+                + "3. [T][\u2718] todo desc3";
+        assertEquals(undoneTasks, tasks.toString());
+
+        Files.writeString(filePath, "T | 0 | todo desc4\n", StandardOpenOption.APPEND);
+        history.beginEdit();
+        assertTrue(history.redo(tasks));
+        assertThrows(StaleStorageException.class, () -> storage.saveTasks(tasks));
+        assertEquals(1, history.cancelEdit(tasks));
+        assertEquals(undoneTasks, tasks.toString());
+        assertEquals(0, history.getNumUndoableEdits());
+        assertEquals(1, history.getNumRedoableEdits());
+
+        storage.mergeExternalChanges(tasks);
+        history.beginEdit();
+        assertTrue(history.redo(tasks));
+        storage.saveTasks(tasks);
+        history.endEdit();
+        assertEquals(new TaskList(new Storage(filePath, filePath.resolveSibling("archive.gz"))
+                .loadTasks()).toString(), tasks.toString());
+        assertEquals("1. [T][\u2713] todo desc1\n2. [T][\u2718] todo desc2\n"
+                + "3. [T][\u2718] todo desc3\n4. [T][\u2718] todo desc4", tasks.toString());
+    }
+
+    @Test
+    public void undo_rangeDeleted_tasksRestoredInPlace() throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 6);
+        String originalTasks = tasks.toString();
+        tasks.toString(SortOrder.DESCRIPTION);
+
+        EditHistory history = storage.getHistory();
+        history.beginEdit();
+        BitSet taskIds = new BitSet();
+        taskIds.set(2, 5);
+        taskIds.set(6);
+        tasks.deleteTasks(taskIds);
+        history.endEdit();
+
+        assertTrue(history.undo(tasks));
+        assertEquals(originalTasks, tasks.toString());
+        assertEquals(originalTasks, tasks.toString(SortOrder.DESCRIPTION));
+
+        assertTrue(history.redo(tasks));
+        assertEquals("1. [T][\u2718] todo desc1\n2. [T][\u2718] todo desc5", tasks.toString());
+        assertFalse(history.redo(tasks));
+    }
+
+    @Test
+    public void undo_repeatingTaskMarkedAsDone_previousOccurrenceRestored()
+            throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 1);
+        EditHistory history = storage.getHistory();
+        history.beginEdit();
+        tasks.addTask(new Deadline("pay rent", "2026-10-01", false, Recurrence.MONTHLY));
+        history.endEdit();
+        history.beginEdit();
+        tasks.markTaskAsDone(2);
+        tasks.markTaskAsDone(1);
+        history.endEdit();
+
+        assertTrue(history.undo(tasks));
+        assertEquals("1. [T][\u2718] todo desc1\n"
+                + "2. [D][\u2718] pay rent (by: Oct 1 2026, every month)", tasks.toString());
+        assertTrue(history.undo(tasks));
+        assertEquals("1. [T][\u2718] todo desc1", tasks.toString());
+        assertTrue(history.redo(tasks));
+        assertTrue(history.redo(tasks));
+        assertEquals("1. [T][\u2713] todo desc1\n"
+                + "2. [D][\u2718] pay rent (by: Nov 1 2026, every month)", tasks.toString());
+    }
+
+    @Test
+    public void record_newEditAfterUndo_redoCleared() throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 2);
+        EditHistory history = storage.getHistory();
+        history.beginEdit();
+        tasks.deleteTask(1);
+        history.endEdit();
+        history.undo(tasks);
+
+        history.beginEdit();
+        tasks.updateTask(2, new Todo("todo desc3"));
+        history.endEdit();
+
+        assertEquals(1, history.getNumUndoableEdits());
+        assertEquals(0, history.getNumRedoableEdits());
+    }
+
+    @Test
+    public void undo_moreThanMaxEdits_oldestEditsDropped() throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 0);
+        EditHistory history = storage.getHistory();
+        for (int i = 1; i <= EditHistory.MAX_EDITS + 5; i++) {
+            history.beginEdit();
+            tasks.addTask(new Todo("todo desc" + i));
+            history.endEdit();
+        }
+
+        while (history.undo(tasks)) {
+            continue;
+        }
+        assertEquals(5, tasks.size());
+    }
+
+    @Test
+    public void loadTasks_historySaved_editsSurviveRestart() throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 3);
+        EditHistory history = storage.getHistory();
+        history.beginEdit();
+        tasks.deleteTask(2);
+        storage.saveTasks(tasks);
+        history.endEdit();
+        history.undo(tasks);
+        history.beginEdit();
+        tasks.markTaskAsDone(3);
+        storage.saveTasks(tasks);
+        history.endEdit();
+
+        Storage restartedStorage = new Storage(
+                storage.getQuarantinePath().resolveSibling("duke.txt"),
+                storage.getQuarantinePath().resolveSibling("archive.gz"));
+        TaskList restartedTasks = new TaskList(restartedStorage.loadTasks());
+        EditHistory restartedHistory = restartedStorage.getHistory();
+        assertEquals(history.getNumUndoableEdits(), restartedHistory.getNumUndoableEdits());
+
+        assertTrue(restartedHistory.undo(restartedTasks));
+        assertEquals("1. [T][\u2718] todo desc1\n2. [T][\u2718] todo desc2\n"
+                + "3. [T][\u2718] todo desc3", restartedTasks.toString());
+    }
+
+    @Test
+    public void saveTasks_historySaved_onlyNewEditAppended() throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 3);
+        EditHistory history = storage.getHistory();
+        Path historyPath = storage.getQuarantinePath().resolveSibling("duke.txt.history");
+        history.beginEdit();
+        tasks.deleteTask(2);
+        storage.saveTasks(tasks);
+        history.endEdit();
+        String savedHistory = Files.readString(historyPath);
+
+        history.beginEdit();
+        tasks.markTaskAsDone(1);
+        storage.saveTasks(tasks);
+        history.endEdit();
+        assertTrue(Files.readString(historyPath).startsWith(savedHistory));
+        savedHistory = Files.readString(historyPath);
+
+        history.undo(tasks);
+        storage.saveTasks(tasks);
+        assertTrue(Files.readString(historyPath).startsWith(savedHistory));
+    }
+
+    @Test
+    public void loadTasks_historyAppendedManyTimes_editsSurviveRestart()
+            throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 0);
+        EditHistory history = storage.getHistory();
+        for (int i = 1; i <= EditHistory.MAX_EDITS * 2 + 5; i++) {
+            history.beginEdit();
+            tasks.addTask(new Todo("todo desc" + i));
+            if (i % 7 == 0) {
+                tasks.markTaskAsDone(i / 7);
+            }
+            storage.saveTasks(tasks);
+            history.endEdit();
+            if (i % 11 == 0) {
+                history.undo(tasks);
+                storage.saveTasks(tasks);
+                history.undo(tasks);
+                history.redo(tasks);
+                storage.saveTasks(tasks);
+            }
+        }
+        history.undo(tasks);
+        storage.saveTasks(tasks);
+
+        Storage restartedStorage = new Storage(
+                storage.getQuarantinePath().resolveSibling("duke.txt"),
+                storage.getQuarantinePath().resolveSibling("archive.gz"));
+        TaskList restartedTasks = new TaskList(restartedStorage.loadTasks());
+        EditHistory restartedHistory = restartedStorage.getHistory();
+        restartedTasks.setChangeRecorder(restartedHistory);
+        assertEquals(history.getNumUndoableEdits(), restartedHistory.getNumUndoableEdits());
+        assertEquals(history.getNumRedoableEdits(), restartedHistory.getNumRedoableEdits());
+        assertTrue(restartedHistory.redo(restartedTasks));
+        assertTrue(history.redo(tasks));
+        while (history.undo(tasks)) {
+            assertTrue(restartedHistory.undo(restartedTasks));
+            assertEquals(tasks.toString(), restartedTasks.toString());
+        }
+        assertFalse(restartedHistory.undo(restartedTasks));
+    }
+
+    @Test
+    public void loadTasks_tasksChangedOutsideHistory_historyCleared()
+            throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 3);
+        storage.getHistory().beginEdit();
+        tasks.deleteTask(3);
+        storage.saveTasks(tasks);
+        storage.getHistory().endEdit();
+        tasks.setChangeRecorder(null);
+        tasks.deleteTask(1);
+        storage.saveTasks(tasks);
+
+        Storage restartedStorage = new Storage(
+                storage.getQuarantinePath().resolveSibling("duke.txt"),
+                storage.getQuarantinePath().resolveSibling("archive.gz"));
+        restartedStorage.loadTasks();
+        assertEquals(0, restartedStorage.getHistory().getNumUndoableEdits());
+    }
+
+    @Test
+    public void loadTasks_tasksEditedExternallyWithSameCount_historyCleared()
+            throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 3);
+        storage.getHistory().beginEdit();
+        tasks.markTaskAsDone(2);
+        storage.saveTasks(tasks);
+        storage.getHistory().endEdit();
+
+        Path filePath = storage.getQuarantinePath().resolveSibling("duke.txt");
+        // Lines edited by hand are saved without a checksum
+        List<String> lines = Files.readAllLines(filePath);
+        lines.replaceAll(line -> line.endsWith("todo desc1") ? "T | 0 | todo edited" : line);
+        Files.write(filePath, lines);
+
+        Storage restartedStorage = new Storage(filePath,
+                filePath.resolveSibling("archive.gz"));
+        assertEquals(3, restartedStorage.loadTasks().size());
+        assertEquals(0, restartedStorage.getHistory().getNumUndoableEdits());
+    }
+
+    @Test
+    public void undo_editNoLongerFitsList_exceptionThrownAndHistoryCleared()
+            throws IOException, DukeException {
+        Storage storage = getStorage();
+        TaskList tasks = getTasks(storage, 3);
+        EditHistory history = storage.getHistory();
+        history.beginEdit();
+        tasks.updateTask(3, new Todo("todo desc4"));
+        history.endEdit();
+
+        assertThrows(CorruptedStorageException.class, () -> history.undo(new TaskList()));
+        assertEquals(0, history.getNumUndoableEdits());
+    }
+}
@@ -0,0 +1,82 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+import duke.task.DateParser;
+
+/**
+ * Measures how fast dates and commands are parsed, including commands that are rejected. This
+ * takes a while, so it is only run by the benchmark task, which prints the results.
+ */
+@Tag("benchmark")
+public class ParserBenchmarkTest {
+    private static final int NUM_PARSES = 1_000_000;
+    private static final String[] COMMANDS = {
+        "done 1", "delete 2-3", "done x", "done 0", "delete 99999999999", "delete 5-2",
+        "deadline report /by 2020-13-01", "event party /at 2020-02-30", "update 1", "done -1",
+    };
+
+    /**
+     * Returns the time taken by the given action in milliseconds, after running it once to warm
+     * up.
+     */
+    private static long getMillis(Runnable action) {
+        action.run();
+        long startTime = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    @Test
+    public void dateParser_manyDates_fasterThanLocalDate() {
+        String[] dates = new String[365];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = LocalDate.of(2026, 1, 1).plusDays(i).toString();
+        }
+
+        long localDateMillis = getMillis(() -> {
+            for (int i = 0; i < NUM_PARSES; i++) {
+                LocalDate.parse(dates[i % dates.length]);
+            }
+        });
+        long dateParserMillis = getMillis(() -> {
+            for (int i = 0; i < NUM_PARSES; i++) {
+                try {
+                    DateParser.parse(dates[i % dates.length]);
+                } catch (DukeException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        });
+
+        System.out.printf("Parsing %d dates: %d ms with LocalDate.parse, %d ms with DateParser%n",
+                NUM_PARSES, localDateMillis, dateParserMillis);
+        assertTrue(dateParserMillis < localDateMillis);
+    }
+
+    @Test
+    public void parse_mostlyInvalidCommands_timeReported() {
+        int[] numRejected = new int[1];
+        long millis = getMillis(() -> {
+            numRejected[0] = 0;
+            for (int i = 0; i < NUM_PARSES; i++) {
+                try {
+                    Parser.parse(COMMANDS[i % COMMANDS.length]);
+                } catch (DukeException e) {
+                    numRejected[0]++;
+                }
+            }
+        });
+
+        System.out.printf("Parsing %d commands, %d of them rejected: %d ms%n", NUM_PARSES,
+                numRejected[0], millis);
+        assertEquals(NUM_PARSES / COMMANDS.length * 8, numRejected[0]);
+    }
+}
@@ -2,17 +2,32 @@ package duke;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import org.junit.jupiter.api.Test;
 
 import duke.command.AddCommand;
+import duke.command.ArchiveCommand;
 import duke.command.ByeCommand;
 import duke.command.Command;
 import duke.command.DeleteCommand;
+import duke.command.DiffCommand;
 import duke.command.DoneCommand;
+import duke.command.ExportCommand;
+import duke.command.FilterCommand;
 import duke.command.FindCommand;
 import duke.command.ListCommand;
+import duke.command.RedoCommand;
+import duke.command.RestoreCommand;
+import duke.command.SnapshotCommand;
+import duke.command.StatsCommand;
+import duke.command.UndoCommand;
 import duke.exception.DukeException;
+import duke.exception.InvalidDateInputException;
+import duke.exception.InvalidExportFormatException;
+import duke.exception.InvalidFilterException;
+import duke.exception.InvalidRecurrenceException;
+import duke.exception.InvalidSortOrderException;
 import duke.exception.InvalidTaskIdException;
 import duke.exception.MissingKeywordException;
 import duke.exception.MissingTaskDetailsException;
@@ -38,6 +53,22 @@ public class ParserTest {
         assertTrue(c instanceof ListCommand);
     }
 
+    @Test
+    public void parseList_sorted_listCommand() throws DukeException {
+        Command c = Parser.parse("list --sort due");
+        assertTrue(c instanceof ListCommand);
+    }
+
+    @Test
+    public void parseList_unknownSortOrder_exceptionThrown() {
+        try {
+            Parser.parse("list --sort priority");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidSortOrderException);
+        }
+    }
+
     @Test
     public void parseList_leadingAndTrailingSpaces_listCommand() throws DukeException {
         Command c = Parser.parse("    list   ");
@@ -76,7 +107,159 @@ public class ParserTest {
         assertTrue(c instanceof FindCommand);
     }
 
+    @Test
+    public void parseFind_archive_findCommand() throws DukeException {
+        Command c = Parser.parse("find --archive blahblah");
+        assertTrue(c instanceof FindCommand);
+    }
+
+    @Test
+    public void parseFind_archiveMissingKeyword_exceptionThrown() {
+        try {
+            Parser.parse("find --archive");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof MissingKeywordException);
+        }
+    }
+
+    @Test
+    public void parseFind_fuzzy_findCommand() throws DukeException {
+        Command c = Parser.parse("find --fuzzy blah blah");
+        assertTrue(c instanceof FindCommand);
+    }
+
+    @Test
+    public void parseFind_fuzzyMissingKeyword_exceptionThrown() {
+        try {
+            Parser.parse("find --fuzzy");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof MissingKeywordException);
+        }
+    }
+
+    @Test
+    public void parseFind_filterConditions_filterCommand() throws DukeException {
+        Command c = Parser.parse("find type:deadline done:false due<2026-11-01 text:report");
+        assertTrue(c instanceof FilterCommand);
+    }
+
+    @Test
+    public void parseFind_unknownFilterCondition_exceptionThrown() {
+        try {
+            Parser.parse("find type:deadline done:maybe");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidFilterException);
+        }
+    }
+
+    @Test
+    public void parseFind_invalidFilterDate_exceptionThrown() {
+        try {
+            Parser.parse("find due>=2026-13-01");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidDateInputException);
+        }
+    }
+
+    // Archive
+    @Test
+    public void parseArchive_validMixedCase_archiveCommand() throws DukeException {
+        Command c = Parser.parse("ArChIvE");
+        assertTrue(c instanceof ArchiveCommand);
+    }
+
+    // Stats
+    @Test
+    public void parseStats_validMixedCase_statsCommand() throws DukeException {
+        Command c = Parser.parse("StAtS");
+        assertTrue(c instanceof StatsCommand);
+    }
+
+    // Undo and redo
+    @Test
+    public void parseUndo_validLowercase_undoCommand() throws DukeException {
+        Command c = Parser.parse("undo");
+        assertTrue(c instanceof UndoCommand);
+    }
+
+    @Test
+    public void parseRedo_validUppercase_redoCommand() throws DukeException {
+        Command c = Parser.parse("REDO");
+        assertTrue(c instanceof RedoCommand);
+    }
+
+    // Snapshots
+    @Test
+    public void parseSnapshot_noArguments_snapshotCommand() throws DukeException {
+        Command c = Parser.parse("snapshot");
+        assertTrue(c instanceof SnapshotCommand);
+    }
+
+    @Test
+    public void parseSnapshot_unknownArgument_exceptionThrown() {
+        try {
+            Parser.parse("snapshot now");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("OOPS!!! Type 'snapshot' to take a snapshot, or 'snapshot --list' to see "
+                    + "all snapshots.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseRestore_dateAndHour_restoreCommand() throws DukeException {
+        Command c = Parser.parse("restore 2026-10-16T18");
+        assertTrue(c instanceof RestoreCommand);
+    }
+
+    @Test
+    public void parseDiff_noTime_diffCommand() throws DukeException {
+        Command c = Parser.parse("diff");
+        assertTrue(c instanceof DiffCommand);
+    }
+
+    @Test
+    public void parseDiff_invalidDate_exceptionThrown() {
+        try {
+            Parser.parse("diff last friday");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidDateInputException);
+        }
+    }
+
     // Done
+    @Test
+    public void parseExport_formatAndPath_exportCommand() throws DukeException {
+        Command c = Parser.parse("export ICS my tasks.ics");
+        assertTrue(c instanceof ExportCommand);
+    }
+
+    @Test
+    public void parseExport_missingPath_exceptionThrown() {
+        try {
+            Parser.parse("export csv");
+            fail();
+        } catch (DukeException e) {
+            assertEquals("OOPS!!! Type 'export <csv, jsonl, or ics> <path>' to export your tasks "
+                    + "to a file.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseExport_unknownFormat_exceptionThrown() {
+        try {
+            Parser.parse("export xml tasks.xml");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidExportFormatException);
+        }
+    }
+
     @Test
     public void parseDone_missingTaskId_exceptionThrown() {
         try {
@@ -123,6 +306,34 @@ public class ParserTest {
         }
     }
 
+    @Test
+    public void parseDone_invalidTaskId_noStackTrace() {
+        try {
+            Parser.parse("done task1");
+            fail();
+        } catch (DukeException e) {
+            assertEquals(0, e.getStackTrace().length);
+        }
+    }
+
+    @Test
+    public void parseDone_idsAndRanges_doneCommand() throws DukeException {
+        Command c = Parser.parse("done 3,7, 10-250");
+        assertTrue(c instanceof DoneCommand);
+    }
+
+    @Test
+    public void parseDone_reversedRange_exceptionThrown() {
+        try {
+            Parser.parse("done 5-2");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidTaskIdException);
+            assertEquals("OOPS!!! Failed to mark task as complete! Please key in only the integer "
+                    + "representing the task!", e.getMessage());
+        }
+    }
+
     // Delete
     @Test
     public void parseDelete_missingTaskId_exceptionThrown() {
@@ -169,6 +380,60 @@ public class ParserTest {
         }
     }
 
+    @Test
+    public void parseDelete_range_deleteCommand() throws DukeException {
+        Command c = Parser.parse("delete 1-500");
+        assertTrue(c instanceof DeleteCommand);
+    }
+
+    @Test
+    public void parseDelete_completedTasks_deleteCommand() throws DukeException {
+        Command c = Parser.parse("delete --done");
+        assertTrue(c instanceof DeleteCommand);
+    }
+
+    @Test
+    public void parseDelete_zeroTaskId_exceptionThrown() {
+        try {
+            Parser.parse("delete 0");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidTaskIdException);
+        }
+    }
+
+    @Test
+    public void parseDone_taskIdTooLarge_exceptionThrown() {
+        try {
+            Parser.parse("done 99999999999");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidTaskIdException);
+        }
+    }
+
+    @Test
+    public void parseUpdate_invalidTaskId_exceptionThrown() {
+        try {
+            Parser.parse("update x todo read");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidTaskIdException);
+            assertEquals("OOPS!!! Failed to update task! Please key in only the integer "
+                    + "representing the task!", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parseUpdate_missingTaskDetails_exceptionThrown() {
+        try {
+            Parser.parse("update 3");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof MissingTaskDetailsException);
+        }
+    }
+
     // To do, Deadline, Event
     @Test
     public void parseTodo_missingDetails_exceptionThrown() {
@@ -244,6 +509,24 @@ public class ParserTest {
         assertTrue(c instanceof AddCommand);
     }
 
+    @Test
+    public void parseDeadline_validRecurrence_addCommand() throws DukeException {
+        Command c = Parser.parse("deadline pay rent /by 2020-10-30 /every monthly");
+        assertTrue(c instanceof AddCommand);
+    }
+
+    @Test
+    public void parseDeadline_invalidRecurrence_exceptionThrown() {
+        try {
+            Parser.parse("deadline pay rent /by 2020-10-30 /every year");
+            fail();
+        } catch (DukeException e) {
+            assertTrue(e instanceof InvalidRecurrenceException);
+            assertEquals("OOPS!!! year is not a recognised recurrence. Please key in either daily, "
+                    + "weekly, or monthly.", e.getMessage());
+        }
+    }
+
     @Test
     public void parseEvent_missingDate_exceptionThrown() {
         try {
@@ -0,0 +1,63 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+import duke.task.TaskList;
+import duke.task.Todo;
+
+public class SnapshotStoreTest {
+    private static SnapshotStore getSnapshotStore() throws IOException {
+        return new SnapshotStore(Files.createTempDirectory("duke").resolve("snapshots"));
+    }
+
+    @Test
+    public void find_someSnapshots_latestAtOrBeforeTime() throws IOException {
+        SnapshotStore snapshots = getSnapshotStore();
+        TaskList tasks = new TaskList();
+        snapshots.save(tasks, LocalDateTime.of(2026, 10, 15, 9, 0));
+        snapshots.save(tasks, LocalDateTime.of(2026, 10, 16, 9, 0));
+        snapshots.save(tasks, LocalDateTime.of(2026, 10, 16, 18, 30));
+        snapshots.save(tasks, LocalDateTime.of(2026, 10, 19, 9, 0));
+
+        assertNull(snapshots.find("2026-10-14"));
+        assertEquals("2026-10-16T18-30-00", snapshots.find("2026-10-16"));
+        assertEquals("2026-10-16T09-00-00", snapshots.find("2026-10-16T12"));
+        assertEquals("2026-10-16T18-30-00", snapshots.find("2026-10-18"));
+        assertEquals("2026-10-19T09-00-00", snapshots.find(null));
+    }
+
+    @Test
+    public void save_moreThanMaxSnapshots_oldestDeleted() throws IOException {
+        SnapshotStore snapshots = getSnapshotStore();
+        TaskList tasks = new TaskList();
+        LocalDateTime time = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int i = 0; i < SnapshotStore.MAX_SNAPSHOTS + 2; i++) {
+            snapshots.save(tasks, time.plusDays(i));
+        }
+
+        List<String> names = snapshots.getNames();
+        assertEquals(SnapshotStore.MAX_SNAPSHOTS, names.size());
+        assertEquals("2026-01-03T09-00-00", names.get(0));
+    }
+
+    @Test
+    public void load_savedSnapshot_tasksUnchangedByLaterChanges()
+            throws IOException, DukeException {
+        SnapshotStore snapshots = getSnapshotStore();
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("todo desc1"));
+        String name = snapshots.save(tasks, LocalDateTime.of(2026, 10, 16, 9, 0));
+        tasks.markTaskAsDone(1);
+
+        assertEquals("1. [T][\u2718] todo desc1", new TaskList(snapshots.load(name)).toString());
+    }
+}
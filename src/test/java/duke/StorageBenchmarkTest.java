@@ -0,0 +1,193 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TaskList;
+import duke.task.Todo;
+
+/**
+ * Measures how fast tasks are saved and exported, and how many bytes saving them allocates. This
+ * takes a while, so it is only run by the benchmark task, which prints the results.
+ */
+@Tag("benchmark")
+public class StorageBenchmarkTest {
+    private static final int NUM_TASKS = 100_000;
+    private static final int NUM_RUNS = 10;
+    private static final long DURABILITY_RUN_MILLIS = 1000;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * A channel that throws away everything written to it.
+     */
+    private static class DiscardingChannel implements WritableByteChannel {
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            source.position(source.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static List<Task> getTasks(int numTasks) throws DukeException {
+        List<Task> tasks = new ArrayList<>(numTasks);
+        LocalDate firstDate = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < numTasks; i++) {
+            String date = firstDate.plusDays(i % 365).toString();
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo("read book " + i, i % 2 == 0));
+                break;
+            case 1:
+                tasks.add(new Deadline("submit report " + i, date, i % 2 == 0));
+                break;
+            default:
+                tasks.add(new Event("team meeting " + i, date, false, Recurrence.WEEKLY));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread so far.
+     */
+    private static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void writeTasks_manyTasks_fewBytesAllocatedPerTask() throws IOException, DukeException {
+        TaskList tasks = new TaskList(getTasks(NUM_TASKS));
+        WritableByteChannel channel = new DiscardingChannel();
+        for (int i = 0; i < NUM_RUNS; i++) {
+            Storage.writeTasks(tasks, channel);
+            for (Task task : tasks) {
+                task.serialise();
+            }
+        }
+
+        long startTime = System.nanoTime();
+        long startBytes = getAllocatedBytes();
+        for (int i = 0; i < NUM_RUNS; i++) {
+            Storage.writeTasks(tasks, channel);
+        }
+        long writeBytes = getAllocatedBytes() - startBytes;
+        long writeNanos = System.nanoTime() - startTime;
+
+        // Each task used to be serialised into a string of its own before it was written
+        startBytes = getAllocatedBytes();
+        for (int i = 0; i < NUM_RUNS; i++) {
+            for (Task task : tasks) {
+                task.serialise();
+            }
+        }
+        long stringBytes = getAllocatedBytes() - startBytes;
+
+        System.out.printf("Writing %d tasks: %.1f bytes allocated per task, %.1f ms per write%n",
+                NUM_TASKS, (double) writeBytes / NUM_RUNS / NUM_TASKS,
+                writeNanos / 1e6 / NUM_RUNS);
+        System.out.printf("Serialising each task to a string: %.1f bytes allocated per task%n",
+                (double) stringBytes / NUM_RUNS / NUM_TASKS);
+        assertTrue(writeBytes < stringBytes);
+    }
+
+    @Test
+    public void saveTasks_eachDurability_savesPerSecondReported() throws Exception {
+        List<Task> savedTasks = getTasks(1000);
+        for (Durability durability : Durability.values()) {
+            for (int numThreads : new int[] {1, 8}) {
+                Path filePath = this.directory.resolve(durability + "-" + numThreads)
+                        .resolve("duke.txt");
+                Files.createDirectories(filePath.getParent());
+                Storage storage = new Storage(filePath, filePath.resolveSibling("archive.gz"),
+                        durability);
+                storage.loadTasks();
+
+                ExecutorService threads = Executors.newFixedThreadPool(numThreads);
+                List<Future<Integer>> numSaves = new ArrayList<>();
+                long endTime = System.nanoTime()
+                        + TimeUnit.MILLISECONDS.toNanos(DURABILITY_RUN_MILLIS);
+                for (int i = 0; i < numThreads; i++) {
+                    numSaves.add(threads.submit(() -> {
+                        TaskList tasks = new TaskList(savedTasks);
+                        int count = 0;
+                        while (System.nanoTime() < endTime) {
+                            storage.saveTasks(tasks);
+                            count++;
+                        }
+                        return count;
+                    }));
+                }
+                int totalSaves = 0;
+                for (Future<Integer> count : numSaves) {
+                    totalSaves += count.get();
+                }
+                threads.shutdown();
+                storage.close();
+
+                System.out.printf("Saving 1000 tasks, %s, %d threads: %d saves per second%n",
+                        durability, numThreads, totalSaves * 1000 / DURABILITY_RUN_MILLIS);
+                assertEquals(1000, new Storage(filePath, filePath.resolveSibling("archive.gz"))
+                        .loadTasks().size());
+            }
+        }
+    }
+
+    @Test
+    public void exportTasks_eachFormat_tasksPerSecondReported() throws IOException, DukeException {
+        TaskList tasks = new TaskList(getTasks(NUM_TASKS));
+        Storage storage = new Storage(this.directory.resolve("data").resolve("duke.txt"),
+                this.directory.resolve("data").resolve("archive.gz"));
+        for (ExportFormat format : ExportFormat.values()) {
+            Path path = this.directory.resolve("tasks." + format.name().toLowerCase());
+            storage.exportTasks(tasks, format, path);
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < NUM_RUNS; i++) {
+                storage.exportTasks(tasks, format, path);
+            }
+            long nanos = (System.nanoTime() - startTime) / NUM_RUNS;
+
+            System.out.printf("Exporting %d tasks as %s: %d tasks per second, %d bytes%n",
+                    NUM_TASKS, format.getName(), NUM_TASKS * 1_000_000_000L / nanos,
+                    Files.size(path));
+            assertTrue(Files.size(path) > NUM_TASKS);
+        }
+    }
+}
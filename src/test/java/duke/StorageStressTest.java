@@ -0,0 +1,128 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.exception.DukeException;
+import duke.task.Task;
+
+/**
+ * Runs several Duke processes on the same saved tasks at once, to check that every task they add
+ * is saved, without any process overwriting the tasks saved by another or having to be told to
+ * try again. This takes a while, so it is only run by the stressTest task, which saves tasks with
+ * the durability given by its <code>durability</code> project property. Asynchronous saves cannot
+ * pass, since a save that clashes with another process is only found out after the reply.
+ */
+@Tag("stress")
+public class StorageStressTest {
+    private static final int NUM_PROCESSES = 4;
+    private static final int NUM_TASKS_PER_PROCESS = 50;
+    private static final long TIMEOUT_SECONDS = 120;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Loads the saved tasks in the working directory and adds tasks to them, as a separate
+     * process. Every command is given on one thread, which changes made by the other processes
+     * are merged on as well, like in the application. Every reply and warning that reports a
+     * failure is printed, and makes the process exit with a failure as well.
+     */
+    public static class AddingProcess {
+        /**
+         * Adds the tasks.
+         *
+         * @param args The ID of the process and the number of tasks to add.
+         * @throws Exception If a command could not be given.
+         */
+        public static void main(String[] args) throws Exception {
+            ExecutorService commandThread = Executors.newSingleThreadExecutor();
+            try {
+                Duke duke = new Duke(commandThread);
+                duke.setWarningHandler(System.out::println);
+                commandThread.submit(() -> {
+                    duke.loadTasks();
+                    return null;
+                }).get();
+
+                int numTasks = Integer.parseInt(args[1]);
+                for (int i = 1; i <= numTasks; i++) {
+                    String input = "todo process" + args[0] + " task" + i;
+                    String response = commandThread.submit(() -> duke.getResponse(input)).get();
+                    if (response.startsWith("OOPS!!! ")) {
+                        System.out.println(response);
+                        System.exit(1);
+                    }
+                }
+
+                commandThread.submit(() -> {
+                    duke.close();
+                    return null;
+                }).get();
+            } finally {
+                commandThread.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void saveTasks_severalProcessesAddingTasks_noTaskLostOrRetried()
+            throws IOException, InterruptedException, DukeException {
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        List<Process> processes = new ArrayList<>();
+        Set<String> expectedDescriptions = new HashSet<>();
+        for (int i = 1; i <= NUM_PROCESSES; i++) {
+            // The processes save with the durability this test is run with
+            processes.add(new ProcessBuilder(java.toString(), "-cp",
+                    System.getProperty("java.class.path"),
+                    "-Dduke.durability=" + System.getProperty("duke.durability", ""),
+                    AddingProcess.class.getName(),
+                    Integer.toString(i), Integer.toString(NUM_TASKS_PER_PROCESS))
+                    .directory(this.directory.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(this.directory.resolve("process" + i + ".log").toFile())
+                    .start());
+            for (int j = 1; j <= NUM_TASKS_PER_PROCESS; j++) {
+                expectedDescriptions.add("process" + i + " task" + j);
+            }
+        }
+        try {
+            for (int i = 1; i <= NUM_PROCESSES; i++) {
+                Process process = processes.get(i - 1);
+                assertTrue(process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                // Any output is a failure that a user would have been told about
+                assertEquals("", Files.readString(this.directory.resolve("process" + i + ".log")));
+                assertEquals(0, process.exitValue());
+            }
+        } finally {
+            for (Process process : processes) {
+                process.destroyForcibly();
+            }
+        }
+
+        Path filePath = this.directory.resolve("data").resolve("duke.txt");
+        List<Task> tasks = new Storage(filePath, filePath.resolveSibling("archive.gz")).loadTasks();
+        Set<String> descriptions = new HashSet<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        assertEquals(NUM_PROCESSES * NUM_TASKS_PER_PROCESS, tasks.size());
+        assertEquals(expectedDescriptions, descriptions);
+    }
+}
@@ -0,0 +1,372 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.CorruptedStorageException;
+import duke.exception.DukeException;
+import duke.exception.StaleStorageException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.TaskList;
+import duke.task.Todo;
+
+public class StorageTest {
+    private static Path getTempFilePath() throws IOException {
+        return Files.createTempDirectory("duke").resolve("data").resolve("duke.txt");
+    }
+
+    private static Storage getStorage(Path filePath) {
+        return getStorage(filePath, Durability.SYNC);
+    }
+
+    private static Storage getStorage(Path filePath, Durability durability) {
+        return new Storage(filePath, filePath.resolveSibling("archive.gz"), durability);
+    }
+
+    @Test
+    public void loadTasks_newFile_emptyList() throws IOException, DukeException {
+        Storage storage = getStorage(getTempFilePath());
+
+        assertEquals(0, storage.loadTasks().size());
+    }
+
+    @Test
+    public void saveTasks_someTasks_loadedBackInOrder() throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("todo desc1", true));
+        testInputTasks.add(new Deadline("deadline desc1", "2020-12-30"));
+        testInputTasks.add(new Event("event desc1", "2020-12-30", true));
+        testInputTasks.add(new Event("event desc2", "2020-12-30", false, Recurrence.WEEKLY));
+        TaskList tasks = new TaskList(testInputTasks);
+
+        getStorage(filePath).saveTasks(tasks);
+
+        assertEquals("4ece66cf G 1\n7fbc3114 T | 1 | todo desc1\n"
+                + "e3b69039 D | 0 | deadline desc1 | 2020-12-30\n"
+                + "58fefe31 E | 1 | event desc1 | 2020-12-30\n"
+                + "4e86171c E | 0 | event desc2 | 2020-12-30 | weekly\n",
+                Files.readString(filePath));
+        assertEquals(tasks.toString(), new TaskList(getStorage(filePath).loadTasks()).toString());
+    }
+
+    @Test
+    public void loadTasks_unreadableFile_causeAndStackTraceKept() throws IOException {
+        Path filePath = getTempFilePath();
+        Files.createDirectories(filePath);
+
+        try {
+            getStorage(filePath).loadTasks();
+            fail();
+        } catch (CorruptedStorageException e) {
+            assertTrue(e.getCause() instanceof IOException);
+            assertTrue(e.getStackTrace().length > 0);
+        }
+    }
+
+    @Test
+    public void loadTasks_withoutChecksums_loaded() throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Files.createDirectories(filePath.getParent());
+        Files.writeString(filePath, "T | 1 | todo desc1\nD | 0 | deadline desc1 | 2020-12-30");
+
+        assertEquals("1. [T][\u2713] todo desc1\n2. [D][\u2718] deadline desc1 (by: Dec 30 2020)",
+                new TaskList(getStorage(filePath).loadTasks()).toString());
+    }
+
+    @Test
+    public void loadTasks_movedMonthlyDeadline_firstOccurrenceKept()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Files.createDirectories(filePath.getParent());
+        Files.writeString(filePath, "D | 0 | pay rent | 2021-02-28 | monthly | 2021-01-31\n");
+        Task task = getStorage(filePath).loadTasks().get(0);
+        task.markAsDone();
+
+        assertEquals("[D][\u2718] pay rent (by: Mar 31 2021, every month)", task.toString());
+    }
+
+    @Test
+    public void loadTasks_damagedTasks_onlyDamagedTasksQuarantined()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Files.createDirectories(filePath.getParent());
+        Files.writeString(filePath, "7fbc3114 T | 1 | todo desc1\n7fbc3114 T | 1 | todo desc2\n"
+                + "X | 0 | unknown task type\n");
+        Storage storage = getStorage(filePath);
+
+        assertEquals("1. [T][\u2713] todo desc1", new TaskList(storage.loadTasks()).toString());
+        assertEquals(2, storage.getNumQuarantinedTasks());
+        assertEquals("7fbc3114 T | 1 | todo desc2\nX | 0 | unknown task type\n",
+                Files.readString(storage.getQuarantinePath()));
+    }
+
+    @Test
+    public void loadTasks_damagedTasksLoadedTwice_quarantinedOnce()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Files.createDirectories(filePath.getParent());
+        Files.writeString(filePath, "7fbc3114 T | 1 | todo desc1\nX | 0 | unknown task type\n");
+        getStorage(filePath).loadTasks();
+        Storage storage = getStorage(filePath);
+        storage.loadTasks();
+
+        assertEquals(1, storage.getNumQuarantinedTasks());
+        assertEquals("X | 0 | unknown task type" + System.lineSeparator(),
+                Files.readString(storage.getQuarantinePath()));
+    }
+
+    @Test
+    public void saveTasks_previouslySaved_noTemporaryFileLeft() throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath);
+        storage.saveTasks(new TaskList(new ArrayList<>(List.of(new Todo("todo desc1")))));
+        storage.saveTasks(new TaskList());
+
+        assertEquals("d7c73775 G 2\n", Files.readString(filePath));
+        assertEquals(Set.of(filePath, filePath.resolveSibling("duke.txt.lock")),
+                Files.list(filePath.getParent()).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void saveTasks_groupDurability_savedBeforeReturning()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath, Durability.GROUP);
+        storage.saveTasks(new TaskList(new ArrayList<>(List.of(new Todo("todo desc1")))));
+
+        assertEquals("4ece66cf G 1\ne2b3d062 T | 0 | todo desc1\n", Files.readString(filePath));
+        storage.close();
+    }
+
+    @Test
+    public void saveTasks_asyncDurability_savedAfterFlush() throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath, Durability.ASYNC);
+        for (int i = 1; i <= 10; i++) {
+            Todo todo = new Todo("todo desc" + i);
+            storage.saveTasks(new TaskList(new ArrayList<>(List.of(todo))));
+        }
+        storage.flush();
+
+        assertEquals("1. [T][\u2718] todo desc10",
+                new TaskList(storage.loadTasks()).toString());
+        storage.close();
+    }
+
+    private static TaskList getSavedTasks(Storage storage, int numTasks) throws DukeException {
+        List<Task> savedTasks = new ArrayList<>();
+        for (int i = 1; i <= numTasks; i++) {
+            savedTasks.add(new Todo("todo desc" + i));
+        }
+        storage.saveTasks(new TaskList(savedTasks));
+        return new TaskList(storage.loadTasks());
+    }
+
+    @Test
+    public void mergeExternalChanges_unchanged_nothingMerged() throws IOException, DukeException {
+        Storage storage = getStorage(getTempFilePath());
+        TaskList tasks = getSavedTasks(storage, 3);
+        tasks.addTask(new Todo("todo desc4"));
+        storage.saveTasks(tasks);
+
+        assertEquals(0, storage.mergeExternalChanges(tasks));
+        assertEquals(4, tasks.size());
+    }
+
+    @Test
+    public void mergeExternalChanges_taskInsertedAndDeleted_onlyChangedTasksMerged()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath);
+        TaskList tasks = getSavedTasks(storage, 5);
+
+        // The first line is the header, so the tasks start from the second
+        List<String> lines = new ArrayList<>(Files.readAllLines(filePath));
+        lines.add(2, "D | 0 | deadline desc1 | 2020-12-30");
+        Files.write(filePath, lines);
+        assertEquals(1, storage.mergeExternalChanges(tasks));
+        assertEquals(new TaskList(getStorage(filePath).loadTasks()).toString(), tasks.toString());
+
+        lines.remove(5);
+        lines.set(5, "T | 1 | todo desc5");
+        Files.write(filePath, lines);
+        assertEquals(2, storage.mergeExternalChanges(tasks));
+        assertEquals("1. [T][\u2718] todo desc1\n2. [D][\u2718] deadline desc1 (by: Dec 30 2020)\n"
+                + "3. [T][\u2718] todo desc2\n4. [T][\u2718] todo desc3\n"
+                + "5. [T][\u2713] todo desc5", tasks.toString());
+    }
+
+    @Test
+    public void saveTasks_changedExternally_notOverwritten() throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath);
+        TaskList tasks = getSavedTasks(storage, 2);
+        Files.writeString(filePath, "T | 1 | todo desc3\n");
+
+        tasks.addTask(new Todo("todo desc4"));
+        try {
+            storage.saveTasks(tasks);
+            fail();
+        } catch (StaleStorageException e) {
+            assertEquals("T | 1 | todo desc3\n", Files.readString(filePath));
+            assertTrue(e.getCause() instanceof IOException);
+            assertTrue(e.getStackTrace().length > 0);
+        }
+
+        assertEquals(3, storage.mergeExternalChanges(tasks));
+        assertEquals("1. [T][\u2713] todo desc3", tasks.toString());
+        storage.saveTasks(tasks);
+        assertEquals("a0c007e3 G 3\n91b25038 T | 1 | todo desc3\n",
+                Files.readString(filePath));
+    }
+
+    @Test
+    public void searchArchive_noArchive_emptyList() throws IOException, DukeException {
+        Storage storage = getStorage(getTempFilePath());
+
+        assertEquals(0, storage.searchArchive("desc").size());
+    }
+
+    @Test
+    public void searchArchive_archivedSeveralTimes_matchesFromAllArchives()
+            throws IOException, DukeException {
+        Storage storage = getStorage(getTempFilePath());
+        storage.archiveTasks(List.of(new Todo("pay rent", true), new Todo("standup", true)));
+        storage.archiveTasks(List.of(new Deadline("pay rent", "2020-12-30", true)));
+
+        assertEquals("1. [T][\u2713] pay rent\n2. [D][\u2713] pay rent (by: Dec 30 2020)",
+                new TaskList(storage.searchArchive("rent")).toString());
+    }
+
+    @Test
+    public void searchArchive_manyBlocks_matchesFromAllBlocks() throws IOException, DukeException {
+        Storage storage = getStorage(getTempFilePath());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(new Todo(i % 300 == 0 ? "pay rent " + i : "standup " + i, true));
+        }
+        storage.archiveTasks(tasks);
+
+        assertEquals("1. [T][\u2713] pay rent 0\n2. [T][\u2713] pay rent 300\n"
+                        + "3. [T][\u2713] pay rent 600\n4. [T][\u2713] pay rent 900",
+                new TaskList(storage.searchArchive("RENT")).toString());
+        for (String keyword : List.of("9", "standup 9", "standup 99")) {
+            assertEquals(new TaskList(tasks).search(keyword).toString(),
+                    new TaskList(storage.searchArchive(keyword)).toString());
+        }
+    }
+
+    @Test
+    public void searchArchive_partialIndexEntryBeforeAppend_matchesFromAllArchives()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath);
+        storage.archiveTasks(List.of(new Todo("pay rent", true)));
+        // An entry cut short by a crash while it was being written
+        Path indexPath = filePath.resolveSibling("archive.gz.idx");
+        Files.write(indexPath, new byte[] {0, 0, 0, 0, 0, 7}, StandardOpenOption.APPEND);
+
+        storage.archiveTasks(List.of(new Todo("pay rent again", true)));
+        assertEquals("1. [T][\u2713] pay rent\n2. [T][\u2713] pay rent again",
+                new TaskList(storage.searchArchive("rent")).toString());
+    }
+
+    @Test
+    public void searchArchive_archiveWithoutIndex_matchesFound() throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Path archivePath = filePath.resolveSibling("archive.gz");
+        Files.createDirectories(archivePath.getParent());
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(archivePath)), StandardCharsets.UTF_8)) {
+            writer.write("T | 1 | pay rent\nT | 1 | standup\n");
+        }
+        Storage storage = new Storage(filePath, archivePath);
+        storage.archiveTasks(List.of(new Todo("pay rent again", true)));
+
+        assertEquals("1. [T][\u2713] pay rent\n2. [T][\u2713] pay rent again",
+                new TaskList(storage.searchArchive("rent")).toString());
+    }
+
+    @Test
+    public void archiveAndSaveTasks_changedExternally_archivedOnlyOnceSaved()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath);
+        storage.archiveTasks(List.of(new Todo("old report", true)));
+        TaskList tasks = getSavedTasks(storage, 1);
+        tasks.addTask(new Todo("new report", true));
+        storage.saveTasks(tasks);
+        Files.writeString(filePath, "T | 0 | todo desc2\n", StandardOpenOption.APPEND);
+
+        List<Task> archivedTasks = List.of(tasks.getTask(2));
+        tasks.deleteTask(2);
+        assertThrows(StaleStorageException.class,
+                () -> storage.archiveAndSaveTasks(archivedTasks, tasks));
+        assertEquals("1. [T][\u2713] old report",
+                new TaskList(storage.searchArchive("report")).toString());
+
+        tasks.addTask(archivedTasks.get(0));
+        storage.mergeExternalChanges(tasks);
+        tasks.deleteTask(2);
+        storage.archiveAndSaveTasks(archivedTasks, tasks);
+        assertEquals("1. [T][\u2713] old report\n2. [T][\u2713] new report",
+                new TaskList(storage.searchArchive("report")).toString());
+        assertEquals("1. [T][\u2718] todo desc1\n2. [T][\u2718] todo desc2",
+                new TaskList(getStorage(filePath).loadTasks()).toString());
+    }
+
+    @Test
+    public void exportTasks_pathOfSavedTasks_refusedAndSavedTasksKept()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath);
+        TaskList tasks = getSavedTasks(storage, 1);
+        String savedTasks = Files.readString(filePath);
+
+        try {
+            storage.exportTasks(tasks, ExportFormat.CSV, filePath.resolveSibling("..")
+                    .resolve("data").resolve("duke.txt"));
+            fail();
+        } catch (DukeException e) {
+            assertEquals(savedTasks, Files.readString(filePath));
+        }
+    }
+
+    @Test
+    public void exportTasks_existingFile_replacedWithoutTemporaryFileLeft()
+            throws IOException, DukeException {
+        Path filePath = getTempFilePath();
+        Storage storage = getStorage(filePath);
+        TaskList tasks = getSavedTasks(storage, 1);
+        Path exportPath = filePath.getParent().resolveSibling("tasks.csv");
+        Files.writeString(exportPath, "an older and longer export\n".repeat(9));
+
+        storage.exportTasks(tasks, ExportFormat.CSV, exportPath);
+
+        assertEquals("id,type,description,done,date,recurrence\r\n1,todo,todo desc1,false,,\r\n",
+                Files.readString(exportPath));
+        assertEquals(Set.of(exportPath, filePath.getParent()),
+                Files.list(exportPath.getParent()).collect(Collectors.toSet()));
+    }
+}
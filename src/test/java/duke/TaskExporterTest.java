@@ -0,0 +1,122 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.DukeException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.task.Todo;
+
+public class TaskExporterTest {
+    private static final Instant TIME = Instant.parse("2020-11-06T10:30:00Z");
+
+    private static String export(ExportFormat format, List<Task> tasks) throws IOException {
+        StringBuilder out = new StringBuilder();
+        TaskExporter exporter = TaskExporter.create(format, out, TIME);
+        exporter.writeHeader();
+        for (int i = 0; i < tasks.size(); i++) {
+            exporter.write(i + 1, tasks.get(i));
+        }
+        exporter.writeFooter();
+        return out.toString();
+    }
+
+    @Test
+    public void write_csv_fieldsQuotedWhereNeeded() throws IOException, DukeException {
+        List<Task> tasks = List.of(new Todo("read book", true),
+                new Deadline("report, \"final\"", "2020-11-30", false, Recurrence.WEEKLY));
+
+        assertEquals("id,type,description,done,date,recurrence\r\n"
+                + "1,todo,read book,true,,\r\n"
+                + "2,deadline,\"report, \"\"final\"\"\",false,2020-11-30,weekly\r\n",
+                export(ExportFormat.CSV, tasks));
+    }
+
+    @Test
+    public void write_jsonLines_oneObjectPerLine() throws IOException, DukeException {
+        List<Task> tasks = List.of(new Todo("say \"hi\" \\ bye"),
+                new Event("party", "2020-12-25", true, Recurrence.NONE));
+
+        assertEquals("{\"id\":1,\"type\":\"todo\",\"description\":\"say \\\"hi\\\" \\\\ bye\","
+                + "\"done\":false}\n"
+                + "{\"id\":2,\"type\":\"event\",\"description\":\"party\",\"done\":true,"
+                + "\"date\":\"2020-12-25\"}\n", export(ExportFormat.JSON_LINES, tasks));
+    }
+
+    @Test
+    public void write_iCalendar_deadlinesAsTodosAndEventsAsEvents()
+            throws IOException, DukeException {
+        List<Task> tasks = List.of(new Deadline("report; draft", "2020-11-30", true),
+                new Event("standup", "2020-11-09", false, Recurrence.DAILY));
+
+        assertEquals("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Duke//Duke//EN\r\n"
+                + "BEGIN:VTODO\r\nUID:20201106T103000Z-1@duke\r\nDTSTAMP:20201106T103000Z\r\n"
+                + "SUMMARY:report\\; draft\r\nDUE;VALUE=DATE:20201130\r\nSTATUS:COMPLETED\r\n"
+                + "END:VTODO\r\n"
+                + "BEGIN:VEVENT\r\nUID:20201106T103000Z-2@duke\r\nDTSTAMP:20201106T103000Z\r\n"
+                + "SUMMARY:standup\r\nDTSTART;VALUE=DATE:20201109\r\nRRULE:FREQ=DAILY\r\n"
+                + "END:VEVENT\r\n"
+                + "END:VCALENDAR\r\n", export(ExportFormat.ICALENDAR, tasks));
+    }
+
+    @Test
+    public void write_iCalendarRecurringDeadline_todoStartsOnDueDate()
+            throws IOException, DukeException {
+        List<Task> tasks = List.of(new Deadline("pay rent", "2020-11-30", false,
+                Recurrence.MONTHLY));
+
+        assertEquals("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Duke//Duke//EN\r\n"
+                + "BEGIN:VTODO\r\nUID:20201106T103000Z-1@duke\r\nDTSTAMP:20201106T103000Z\r\n"
+                + "SUMMARY:pay rent\r\nDTSTART;VALUE=DATE:20201130\r\nDUE;VALUE=DATE:20201130\r\n"
+                + "RRULE:FREQ=MONTHLY;BYMONTHDAY=28,29,30;BYSETPOS=-1\r\nSTATUS:NEEDS-ACTION\r\n"
+                + "END:VTODO\r\n"
+                + "END:VCALENDAR\r\n", export(ExportFormat.ICALENDAR, tasks));
+    }
+
+    @Test
+    public void write_iCalendarMonthlyTasksPastThe28th_ruleFromFirstOccurrence()
+            throws IOException, DukeException {
+        Task deadline = new Deadline("pay rent", "2020-01-31", false, Recurrence.MONTHLY);
+        deadline.markAsDone();
+        Task event = new Event("book club", "2020-01-30", false, Recurrence.MONTHLY);
+        event.markAsDone();
+        assertEquals("[D][\u2718] pay rent (by: Feb 29 2020, every month)", deadline.toString());
+
+        assertEquals("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Duke//Duke//EN\r\n"
+                + "BEGIN:VTODO\r\nUID:20201106T103000Z-1@duke\r\nDTSTAMP:20201106T103000Z\r\n"
+                + "SUMMARY:pay rent\r\nDTSTART;VALUE=DATE:20200131\r\nDUE;VALUE=DATE:20200131\r\n"
+                + "RRULE:FREQ=MONTHLY;BYMONTHDAY=28,29,30,31;BYSETPOS=-1\r\n"
+                + "STATUS:NEEDS-ACTION\r\nEND:VTODO\r\n"
+                + "BEGIN:VEVENT\r\nUID:20201106T103000Z-2@duke\r\nDTSTAMP:20201106T103000Z\r\n"
+                + "SUMMARY:book club\r\nDTSTART;VALUE=DATE:20200130\r\n"
+                + "RRULE:FREQ=MONTHLY;BYMONTHDAY=28,29,30;BYSETPOS=-1\r\nEND:VEVENT\r\n"
+                + "END:VCALENDAR\r\n", export(ExportFormat.ICALENDAR, List.of(deadline, event)));
+    }
+
+    @Test
+    public void write_iCalendarLongDescription_linesFolded() throws IOException {
+        String description = "\u00e9".repeat(100);
+        String calendar = export(ExportFormat.ICALENDAR, List.of(new Todo(description)));
+
+        StringBuilder unfolded = new StringBuilder();
+        for (String line : calendar.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+            if (line.startsWith(" ")) {
+                unfolded.append(line.substring(1));
+            } else {
+                unfolded.append('\n').append(line);
+            }
+        }
+        assertTrue(unfolded.toString().contains("\nSUMMARY:" + description + "\n"));
+    }
+}
@@ -0,0 +1,159 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ColumnarTaskStoreTest {
+    private static final String[] WORDS = {"book", "Rent", "caf\u00e9", "\u5bb6\u8cc3", "", "a b"};
+
+    private static String serialise(Task task) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            task.serialiseTo(builder);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return builder.toString();
+    }
+
+    private static List<String> serialise(Iterable<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(serialise(task));
+        }
+        return lines;
+    }
+
+    private static List<String> toLines(TaskStore store) {
+        List<String> lines = serialise(store);
+        assertEquals(store.size(), lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(lines.get(i), serialise(store.get(i)));
+        }
+        return lines;
+    }
+
+    private static Task getRandomTask(Random random, int i) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + i;
+        boolean isDone = random.nextBoolean();
+        LocalDate date = LocalDate.of(2026, 1, 1).plusDays(random.nextInt(400));
+        Recurrence recurrence = Recurrence.values()[random.nextInt(Recurrence.values().length)];
+        LocalDate firstOccurrence = date.minusDays(random.nextInt(3));
+        switch (random.nextInt(3)) {
+        case 0:
+            Task todo = new Todo(description);
+            if (isDone) {
+                todo.markAsDone();
+            }
+            return todo;
+        case 1:
+            return new Deadline(description, date, isDone, recurrence, firstOccurrence);
+        default:
+            return new Event(description, date, isDone, recurrence, firstOccurrence);
+        }
+    }
+
+    @Test
+    public void of_manyTasks_sameTasksInOrder() {
+        Random random = new Random(7);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(getRandomTask(random, i));
+        }
+
+        assertEquals(serialise(tasks), toLines(ColumnarTaskStore.of(tasks)));
+        assertEquals(serialise(tasks.subList(130, 1000)),
+                serialise(() -> ColumnarTaskStore.of(tasks).iterator(130)));
+    }
+
+    @Test
+    public void randomChanges_sameAsArrayList() {
+        Random random = new Random(43);
+        TaskStore store = ColumnarTaskStore.empty();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+            Task task = getRandomTask(random, i);
+            switch (random.nextInt(5)) {
+            case 0:
+                store = store.insert(index, task);
+                expected.add(index, task);
+                break;
+            case 1:
+                if (!expected.isEmpty()) {
+                    store = store.remove(index);
+                    expected.remove(index);
+                }
+                break;
+            case 2:
+                if (!expected.isEmpty()) {
+                    store = store.set(index, task);
+                    expected.set(index, task);
+                }
+                break;
+            case 3:
+                BitSet indices = new BitSet();
+                for (int j = random.nextInt(3); j > 0 && !expected.isEmpty(); j--) {
+                    indices.set(random.nextInt(expected.size()));
+                }
+                List<Task> removedTasks = new ArrayList<>();
+                store = store.removeAll(indices, removedTasks);
+                List<Task> expectedRemovedTasks = new ArrayList<>();
+                for (int j = indices.length() - 1; j >= 0; j = indices.previousSetBit(j - 1)) {
+                    expectedRemovedTasks.add(0, expected.remove(j));
+                }
+                assertEquals(serialise(expectedRemovedTasks), serialise(removedTasks));
+                break;
+            default:
+                store = store.append(task);
+                expected.add(task);
+                break;
+            }
+            if (i % 100 == 0) {
+                assertEquals(serialise(expected), toLines(store));
+            }
+        }
+
+        assertEquals(serialise(expected), toLines(store));
+    }
+
+    @Test
+    public void set_olderVersionKept_olderVersionUnchanged() {
+        List<Task> tasks = List.of(new Todo("todo desc1"), new Todo("todo desc2"));
+        TaskStore original = ColumnarTaskStore.of(tasks);
+        TaskStore changed = original.set(1, new Todo("todo desc3")).remove(0);
+
+        assertEquals(serialise(tasks), toLines(original));
+        assertEquals(List.of("T | 0 | todo desc3"), toLines(changed));
+    }
+
+    @Test
+    public void search_mixedCaseAndNonLatinText_sameAsTaskContainsKeyword() {
+        Random random = new Random(11);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            tasks.add(getRandomTask(random, i));
+        }
+        TaskStore store = ColumnarTaskStore.of(tasks);
+
+        for (String keyword : new String[] {"BOOK", "rent 1", "CAF\u00c9", "\u8cc3", "", " 29"}) {
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks) {
+                if (task.containsKeyword(keyword)) {
+                    expected.add(task);
+                }
+            }
+            List<Task> matchingTasks = new ArrayList<>();
+            store.search(keyword, matchingTasks);
+            assertEquals(serialise(expected), serialise(matchingTasks));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exception.InvalidDateInputException;
+
+public class DateParserTest {
+    @Test
+    public void parse_validDate_success() throws InvalidDateInputException {
+        assertEquals(LocalDate.of(2020, 2, 29), DateParser.parse("2020-02-29"));
+        assertEquals(LocalDate.of(2007, 12, 31), DateParser.parse("2007-12-31"));
+    }
+
+    @Test
+    public void parse_sameDateTwice_cachedDateReturned() throws InvalidDateInputException {
+        LocalDate first = DateParser.parse(new String("2021-06-15"));
+        LocalDate second = DateParser.parse(new String("2021-06-15"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void parse_dayOutOfRange_exceptionThrown() {
+        for (String date : new String[] {"2021-02-29", "2020-04-31", "2020-13-01", "2020-00-10"}) {
+            try {
+                DateParser.parse(date);
+                fail(date);
+            } catch (InvalidDateInputException e) {
+                assertEquals("OOPS!!! " + date + " is not a recognised date format. Please key in "
+                        + "dates in the format yyyy-MM-dd. For example, 2007-03-31.",
+                        e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void parse_otherFormat_exceptionThrown() {
+        for (String date : new String[] {"2020-1-01", "2020/01/01", "2020-01-0a", ""}) {
+            try {
+                DateParser.parse(date);
+                fail(date);
+            } catch (InvalidDateInputException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void parse_extendedYear_success() throws InvalidDateInputException {
+        assertEquals(LocalDate.of(12345, 1, 1), DateParser.parse("+12345-01-01"));
+    }
+}
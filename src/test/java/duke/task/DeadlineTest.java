@@ -1,6 +1,7 @@
 package duke.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import org.junit.jupiter.api.Test;
@@ -42,4 +43,51 @@ public class DeadlineTest {
 
         assertEquals("D | 1 | deadline description | 2020-10-30", deadline.serialise());
     }
+
+    @Test
+    public void serialise_singleDigitMonthAndDay_zeroPadded() throws InvalidDateInputException {
+        Deadline deadline = new Deadline("deadline description", "0999-01-05");
+
+        assertEquals("D | 0 | deadline description | 0999-01-05", deadline.serialise());
+    }
+
+    @Test
+    public void serialise_recurringDeadline_recurrenceAppended() throws InvalidDateInputException {
+        Deadline deadline = new Deadline("pay rent", "2020-10-30", false, Recurrence.MONTHLY);
+
+        assertEquals("D | 0 | pay rent | 2020-10-30 | monthly", deadline.serialise());
+    }
+
+    @Test
+    public void markAsDone_recurringDeadline_movesToNextOccurrence()
+            throws InvalidDateInputException {
+        Deadline deadline = new Deadline("pay rent", "2020-10-30", false, Recurrence.MONTHLY);
+        deadline.markAsDone();
+
+        assertFalse(deadline.isDone());
+        assertEquals("[D][\u2718] pay rent (by: Nov 30 2020, every month)", deadline.toString());
+    }
+
+    @Test
+    public void markAsDone_monthlyDeadlineOnThe31st_keepsDayOfMonthAfterFebruary()
+            throws InvalidDateInputException {
+        Deadline deadline = new Deadline("pay rent", "2021-01-31", false, Recurrence.MONTHLY);
+        deadline.markAsDone();
+        assertEquals("[D][\u2718] pay rent (by: Feb 28 2021, every month)", deadline.toString());
+        deadline.markAsDone();
+        assertEquals("[D][\u2718] pay rent (by: Mar 31 2021, every month)", deadline.toString());
+        deadline.markAsDone();
+        assertEquals("[D][\u2718] pay rent (by: Apr 30 2021, every month)", deadline.toString());
+        deadline.markAsDone();
+        assertEquals("[D][\u2718] pay rent (by: May 31 2021, every month)", deadline.toString());
+    }
+
+    @Test
+    public void serialise_movedRecurringDeadline_firstOccurrenceAppended()
+            throws InvalidDateInputException {
+        Deadline deadline = new Deadline("pay rent", "2021-01-31", false, Recurrence.MONTHLY);
+        deadline.markAsDone();
+
+        assertEquals("D | 0 | pay rent | 2021-02-28 | monthly | 2021-01-31", deadline.serialise());
+    }
 }
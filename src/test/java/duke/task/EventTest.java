@@ -1,6 +1,7 @@
 package duke.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import org.junit.jupiter.api.Test;
@@ -41,4 +42,20 @@ public class EventTest {
 
         assertEquals("E | 1 | event description | 2020-10-30", event.serialise());
     }
+
+    @Test
+    public void serialise_recurringEvent_recurrenceAppended() throws InvalidDateInputException {
+        Event event = new Event("standup", "2020-10-30", false, Recurrence.DAILY);
+
+        assertEquals("E | 0 | standup | 2020-10-30 | daily", event.serialise());
+    }
+
+    @Test
+    public void markAsDone_recurringEvent_movesToNextOccurrence() throws InvalidDateInputException {
+        Event event = new Event("team meeting", "2020-10-30", false, Recurrence.WEEKLY);
+        event.markAsDone();
+
+        assertFalse(event.isDone());
+        assertEquals("[E][\u2718] team meeting (at: Nov 6 2020, every week)", event.toString());
+    }
 }
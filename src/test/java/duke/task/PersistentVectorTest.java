@@ -0,0 +1,93 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentVectorTest {
+    private static List<Integer> toList(PersistentVector<Integer> vector) {
+        List<Integer> list = new ArrayList<>();
+        for (Integer element : vector) {
+            list.add(element);
+        }
+        assertEquals(vector.size(), list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.get(i), vector.get(i));
+        }
+        return list;
+    }
+
+    @Test
+    public void append_manyElements_allElementsInOrder() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 40000; i++) {
+            vector = vector.append(i);
+            expected.add(i);
+        }
+
+        assertEquals(expected, toList(vector));
+    }
+
+    @Test
+    public void take_everyLength_prefixKept() {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 1100; i++) {
+            elements.add(i);
+        }
+        PersistentVector<Integer> vector = PersistentVector.of(elements);
+
+        for (int count = 0; count <= elements.size(); count++) {
+            PersistentVector<Integer> prefix = vector.take(count);
+            assertEquals(elements.subList(0, count), toList(prefix));
+            assertEquals(count + 1, prefix.append(-1).size());
+        }
+    }
+
+    @Test
+    public void set_olderVersionKept_olderVersionUnchanged() {
+        PersistentVector<Integer> original = PersistentVector.of(List.of(1, 2, 3));
+        PersistentVector<Integer> changed = original.set(1, 20).insert(0, 0).remove(3);
+
+        assertEquals(List.of(1, 2, 3), toList(original));
+        assertEquals(List.of(0, 1, 20), toList(changed));
+    }
+
+    @Test
+    public void randomChanges_sameAsArrayList() {
+        Random random = new Random(43);
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+            switch (random.nextInt(4)) {
+            case 0:
+                vector = vector.insert(index, i);
+                expected.add(index, i);
+                break;
+            case 1:
+                if (!expected.isEmpty()) {
+                    vector = vector.remove(index);
+                    expected.remove(index);
+                }
+                break;
+            case 2:
+                if (!expected.isEmpty()) {
+                    vector = vector.set(index, i);
+                    expected.set(index, i);
+                }
+                break;
+            default:
+                vector = vector.append(i);
+                expected.add(i);
+                break;
+            }
+        }
+
+        assertEquals(expected, toList(vector));
+    }
+}
@@ -0,0 +1,40 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class QueryCacheTest {
+
+    @Test
+    public void getResult_repeatedQuery_resultReused() {
+        TaskList tasks = new TaskList();
+        QueryCache queryCache = tasks.getQueryCache();
+        List<String> computations = new ArrayList<>();
+
+        queryCache.getResult("list", () -> "result" + computations.add("list"));
+        assertEquals("resulttrue", queryCache.getResult("list", () -> "other result"));
+
+        assertEquals(List.of("list"), computations);
+        assertEquals(1, queryCache.getNumHits());
+        assertEquals(1, queryCache.getNumMisses());
+    }
+
+    @Test
+    public void getResult_taskListChanged_resultComputedAgain() {
+        TaskList tasks = new TaskList();
+        QueryCache queryCache = tasks.getQueryCache();
+
+        assertEquals("", queryCache.getResult("list", tasks::toString));
+        tasks.addTask(new Todo("todo desc1"));
+        assertEquals("1. [T][\u2718] todo desc1", queryCache.getResult("list", tasks::toString));
+        tasks.markTaskAsDone(1);
+        assertEquals("1. [T][\u2713] todo desc1", queryCache.getResult("list", tasks::toString));
+
+        assertEquals(0, queryCache.getNumHits());
+        assertEquals(3, queryCache.getNumMisses());
+    }
+}
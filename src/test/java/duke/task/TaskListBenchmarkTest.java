@@ -0,0 +1,133 @@
+package duke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the memory taken by a long list of tasks in each {@link TaskLayout}, and the time taken
+ * to list, search and filter it. This takes a while, so it is only run by the benchmark task, which
+ * prints the results.
+ */
+@Tag("benchmark")
+public class TaskListBenchmarkTest {
+    private static final int NUM_TASKS = 200_000;
+    private static final int NUM_RUNS = 9;
+    private static final String[] WORDS = {"pay", "rent", "read", "book", "call", "mum", "submit",
+        "report", "buy", "milk", "clean", "room", "plan", "trip", "water", "plants"};
+
+    private static List<Task> getTasks() {
+        List<Task> tasks = new ArrayList<>(NUM_TASKS);
+        LocalDate firstDate = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < NUM_TASKS; i++) {
+            String description = WORDS[i % WORDS.length] + " " + WORDS[i / 7 % WORDS.length]
+                    + " " + i;
+            LocalDate date = firstDate.plusDays(i % 1000);
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo(description));
+                break;
+            case 1:
+                tasks.add(new Deadline(description, date, i % 2 == 0, Recurrence.NONE, date));
+                break;
+            default:
+                tasks.add(new Event(description, date, false, Recurrence.WEEKLY, date));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Returns the median time taken by the given action in microseconds, after running it once to
+     * warm up.
+     */
+    private static long getMedianMicros(Runnable action) {
+        action.run();
+        long[] times = new long[NUM_RUNS];
+        for (int i = 0; i < NUM_RUNS; i++) {
+            long startTime = System.nanoTime();
+            action.run();
+            times[i] = (System.nanoTime() - startTime) / 1000;
+        }
+        Arrays.sort(times);
+        return times[NUM_RUNS / 2];
+    }
+
+    /**
+     * A filter that counts the tasks that it checks.
+     */
+    private static class CountingFilter extends TaskFilter {
+        private int numCheckedTasks;
+
+        @Override
+        public boolean test(Task task) {
+            this.numCheckedTasks++;
+            return super.test(task);
+        }
+    }
+
+    private static long measure(TaskLayout layout, String expectedList) {
+        long heapBefore = getUsedHeap();
+        TaskList tasks = new TaskList(getTasks(), layout);
+        long heapTaken = getUsedHeap() - heapBefore;
+
+        long listMicros = getMedianMicros(() -> assertEquals(expectedList, tasks.toString()));
+        long searchMicros = getMedianMicros(() -> tasks.search("rent 9"));
+        long getMicros = getMedianMicros(() -> {
+            for (int taskId = 1; taskId <= NUM_TASKS; taskId++) {
+                tasks.getTask(taskId);
+            }
+        });
+        System.out.printf("%s: %d bytes per task, list %d ms, find %d ms, get each task %d ms%n",
+                layout, heapTaken / NUM_TASKS, listMicros / 1000, searchMicros / 1000,
+                getMicros / 1000);
+        return heapTaken;
+    }
+
+    @Test
+    public void columnsLayout_manyTasks_lessHeapThanObjects() {
+        String expectedList = new TaskList(getTasks()).toString();
+        long objectsHeap = measure(TaskLayout.OBJECTS, expectedList);
+        long columnsHeap = measure(TaskLayout.COLUMNS, expectedList);
+
+        assertTrue(columnsHeap < objectsHeap);
+    }
+
+    @Test
+    public void filter_dueWithinAWeek_onlyTasksWithinDatesChecked() {
+        TaskList tasks = new TaskList(getTasks());
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        CountingFilter textFilter = new CountingFilter();
+        textFilter.withKeyword("rent 9");
+        CountingFilter dueFilter = new CountingFilter();
+        dueFilter.withDateFrom(from).withDateUntil(from.plusDays(6)).withKeyword("rent 9");
+
+        long textMicros = getMedianMicros(() -> tasks.filter(textFilter));
+        long dueMicros = getMedianMicros(() -> tasks.filter(dueFilter));
+        int numTextChecked = textFilter.numCheckedTasks / (NUM_RUNS + 1);
+        int numDueChecked = dueFilter.numCheckedTasks / (NUM_RUNS + 1);
+        System.out.printf("find text:rent 9: %d tasks checked, %d us%n", numTextChecked,
+                textMicros);
+        System.out.printf("find due>=2026-03-01 due<=2026-03-07 text:rent 9: "
+                + "%d tasks checked, %d us%n", numDueChecked, dueMicros);
+
+        assertEquals(NUM_TASKS, numTextChecked);
+        assertTrue(numDueChecked < NUM_TASKS / 100);
+    }
+}
@@ -3,8 +3,11 @@ package duke.task;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 import org.junit.jupiter.api.Test;
 
@@ -85,6 +88,19 @@ public class TaskListTest {
         assertTrue(updatedTask.isDone());
     }
 
+    @Test
+    public void updateTaskThatIsCompleted_recurringTask_keepsDateAndCompleted()
+            throws DukeException {
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("todo desc1", true));
+        TaskList tasks = new TaskList(testInputTasks);
+
+        tasks.updateTask(1, new Deadline("pay rent", "2020-10-30", false, Recurrence.MONTHLY));
+
+        assertEquals("[D][\u2713] pay rent (by: Oct 30 2020, every month)",
+                tasks.getTask(1).toString());
+    }
+
     @Test
     public void deleteTask_taskListWithSomeItems_success() throws DukeException {
         List<Task> testInputTasks = new ArrayList<>();
@@ -102,6 +118,26 @@ public class TaskListTest {
         assertEquals(numItemsInitial - 1, numItemsAfter);
     }
 
+    @Test
+    public void deleteTasks_someTaskIds_remainingTasksKeepOrder() throws DukeException {
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("todo desc1"));
+        Task firstTaskToDelete = new Todo("todo desc2");
+        testInputTasks.add(firstTaskToDelete);
+        testInputTasks.add(new Deadline("deadline desc1", "2020-12-30"));
+        Task secondTaskToDelete = new Event("event desc1", "2020-12-30");
+        testInputTasks.add(secondTaskToDelete);
+
+        TaskList tasks = new TaskList(testInputTasks);
+        BitSet taskIds = new BitSet();
+        taskIds.set(2);
+        taskIds.set(4);
+
+        assertEquals(List.of(firstTaskToDelete, secondTaskToDelete), tasks.deleteTasks(taskIds));
+        assertEquals("1. [T][\u2718] todo desc1\n2. [D][\u2718] deadline desc1 (by: Dec 30 2020)",
+                tasks.toString());
+    }
+
     @Test
     public void size_emptyTaskList_zero() throws InvalidDateInputException {
         List<Task> testInputTasks = new ArrayList<>();
@@ -158,6 +194,195 @@ public class TaskListTest {
                 + "3. [E][\u2718] event blah blah (at: Dec 30 2020)", filteredTasks.toString());
     }
 
+    @Test
+    public void search_keywordLongerThanDescription_emptyTaskList() {
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("blah"));
+
+        TaskList tasks = new TaskList(testInputTasks);
+        TaskList filteredTasks = tasks.search("blahblah");
+        assertEquals(0, filteredTasks.size());
+    }
+
+    @Test
+    public void searchRanked_typosAndPrefixes_bestMatchesFirst() throws InvalidDateInputException {
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("Buy groceries"));
+        testInputTasks.add(new Todo("Submit assigment"));
+        testInputTasks.add(new Deadline("Submit assignment", "2020-10-30"));
+        testInputTasks.add(new Todo("Read about assignments"));
+        testInputTasks.add(new Todo("Submit report"));
+
+        TaskList tasks = new TaskList(testInputTasks);
+        assertEquals("1. [D][\u2718] Submit assignment (by: Oct 30 2020)\n"
+                + "2. [T][\u2718] Submit assigment\n"
+                + "3. [T][\u2718] Submit report\n"
+                + "4. [T][\u2718] Read about assignments",
+                tasks.searchRanked("submit assignment", 10).toString());
+    }
+
+    @Test
+    public void searchRanked_moreMatchesThanLimit_onlyBestMatches() {
+        List<Task> testInputTasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            testInputTasks.add(new Todo("read chapter " + i));
+        }
+        testInputTasks.add(new Todo("read chapter 42 again"));
+
+        TaskList tasks = new TaskList(testInputTasks);
+        assertEquals("1. [T][\u2718] read chapter 42\n2. [T][\u2718] read chapter 42 again\n"
+                + "3. [T][\u2718] read chapter 0", tasks.searchRanked("chapter 42", 3).toString());
+    }
+
+    @Test
+    public void filter_severalConditions_onlyTasksMeetingAllConditions()
+            throws InvalidDateInputException {
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("write report"));
+        testInputTasks.add(new Deadline("submit report", "2026-10-30"));
+        testInputTasks.add(new Deadline("submit report", "2026-10-31", true));
+        testInputTasks.add(new Deadline("submit report", "2026-11-01"));
+        testInputTasks.add(new Deadline("pay bills", "2026-10-30"));
+        testInputTasks.add(new Event("report review", "2026-10-30"));
+
+        TaskList tasks = new TaskList(testInputTasks);
+        TaskFilter filter = new TaskFilter().withKeyword("REPORT").withDone(false)
+                .withDateUntil(LocalDate.of(2026, 10, 31)).withType(Deadline.class);
+        assertEquals("1. [D][\u2718] submit report (by: Oct 30 2026)",
+                tasks.filter(filter).toString());
+    }
+
+    @Test
+    public void filter_dateRange_onlyTasksWithinDatesCheckedInListOrder() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("todo desc1"));
+        for (int i = 0; i < 100; i++) {
+            LocalDate date = LocalDate.of(2026, 10, 1).plusDays(i * 37 % 100);
+            tasks.addTask(new Deadline("deadline desc" + i, date, false, Recurrence.NONE, date));
+        }
+        tasks.toString(SortOrder.DUE);
+        tasks.deleteTask(2);
+        tasks.addTask(new Event("event desc1", LocalDate.of(2026, 10, 5), false,
+                Recurrence.NONE, LocalDate.of(2026, 10, 5)));
+
+        int[] numCheckedTasks = new int[1];
+        TaskFilter filter = new TaskFilter() {
+            @Override
+            public boolean test(Task task) {
+                numCheckedTasks[0]++;
+                return super.test(task);
+            }
+        };
+        filter.withDateFrom(LocalDate.of(2026, 10, 3)).withDateUntil(LocalDate.of(2026, 10, 6))
+                .withDateFrom(LocalDate.of(2026, 10, 4));
+
+        assertEquals("1. [D][\u2718] deadline desc19 (by: Oct 4 2026)\n"
+                + "2. [D][\u2718] deadline desc65 (by: Oct 6 2026)\n"
+                + "3. [D][\u2718] deadline desc92 (by: Oct 5 2026)\n"
+                + "4. [E][\u2718] event desc1 (at: Oct 5 2026)", tasks.filter(filter).toString());
+        assertEquals(4, numCheckedTasks[0]);
+        assertEquals(0, tasks.filter(new TaskFilter().withDateFrom(LocalDate.of(2026, 10, 7))
+                .withDateUntil(LocalDate.of(2026, 10, 6))).size());
+        assertEquals(100, tasks.filter(new TaskFilter().withDateFrom(LocalDate.of(2000, 1, 1)))
+                .size());
+    }
+
+    @Test
+    public void toStringSorted_listChangedAfterSorting_sortedWithOriginalTaskIds()
+            throws InvalidDateInputException {
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("b todo"));
+        testInputTasks.add(new Deadline("c deadline", "2020-12-30"));
+        testInputTasks.add(new Event("a event", "2020-11-30"));
+
+        TaskList tasks = new TaskList(testInputTasks);
+        assertEquals("3. [E][\u2718] a event (at: Nov 30 2020)\n"
+                + "2. [D][\u2718] c deadline (by: Dec 30 2020)\n"
+                + "1. [T][\u2718] b todo", tasks.toString(SortOrder.DUE));
+
+        tasks.addTask(new Deadline("d deadline", "2020-10-30"));
+        tasks.deleteTask(1);
+        tasks.updateTask(1, new Deadline("e deadline", "2021-01-30"));
+        tasks.markTaskAsDone(2);
+        assertEquals("3. [D][\u2718] d deadline (by: Oct 30 2020)\n"
+                + "2. [E][\u2713] a event (at: Nov 30 2020)\n"
+                + "1. [D][\u2718] e deadline (by: Jan 30 2021)", tasks.toString(SortOrder.DUE));
+        assertEquals("2. [E][\u2713] a event (at: Nov 30 2020)\n"
+                + "3. [D][\u2718] d deadline (by: Oct 30 2020)\n"
+                + "1. [D][\u2718] e deadline (by: Jan 30 2021)",
+                tasks.toString(SortOrder.DESCRIPTION));
+        assertEquals("1. [D][\u2718] e deadline (by: Jan 30 2021)\n"
+                + "3. [D][\u2718] d deadline (by: Oct 30 2020)\n"
+                + "2. [E][\u2713] a event (at: Nov 30 2020)", tasks.toString(SortOrder.DONE));
+    }
+
+    @Test
+    public void toStringSorted_manyTasksAddedAndDeleted_taskIdsMatchList() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("todo desc0"));
+        tasks.toString(SortOrder.TYPE);
+        for (int i = 1; i <= 500; i++) {
+            tasks.addTask(new Todo("todo desc" + i));
+            if (i % 3 == 0) {
+                tasks.deleteTask(i / 3);
+            }
+        }
+
+        assertEquals(tasks.toString(), tasks.toString(SortOrder.TYPE));
+    }
+
+    @Test
+    public void columnsLayout_listChanged_sameAsObjectsLayout() throws InvalidDateInputException {
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("b todo"));
+        testInputTasks.add(new Deadline("c deadline", "2020-12-30"));
+        testInputTasks.add(new Event("a \u5bb6\u8cc3 event", "2020-11-30"));
+        testInputTasks.add(new Deadline("pay rent", "2020-01-31", false, Recurrence.MONTHLY));
+
+        TaskList objects = new TaskList(testInputTasks, TaskLayout.OBJECTS);
+        TaskList columns = new TaskList(testInputTasks, TaskLayout.COLUMNS);
+        for (TaskList tasks : List.of(objects, columns)) {
+            tasks.toString(SortOrder.DUE);
+            tasks.addTask(new Todo("d todo"));
+            tasks.markTaskAsDone(4);
+            tasks.insertTask(1, new Deadline("e deadline", "2020-10-30"));
+            tasks.updateTask(3, new Todo("f todo"));
+            BitSet taskIds = new BitSet();
+            taskIds.set(2);
+            taskIds.set(6);
+            tasks.deleteTasks(taskIds);
+        }
+
+        assertEquals("1. [D][\u2718] e deadline (by: Oct 30 2020)\n"
+                + "2. [T][\u2718] f todo\n"
+                + "3. [E][\u2718] a \u5bb6\u8cc3 event (at: Nov 30 2020)\n"
+                + "4. [D][\u2718] pay rent (by: Feb 29 2020, every month)", columns.toString());
+        assertEquals(objects.toString(SortOrder.DUE), columns.toString(SortOrder.DUE));
+        assertEquals(objects.search("\u8cc3").toString(), columns.search("\u8cc3").toString());
+        assertEquals(LocalDate.of(2020, 1, 31), columns.getTask(4).getFirstOccurrence());
+        assertEquals(objects.snapshot().toString(), columns.snapshot().toString());
+    }
+
+    @Test
+    public void snapshot_listChangedAfterSnapshot_snapshotUnchanged()
+            throws InvalidDateInputException {
+        List<Task> testInputTasks = new ArrayList<>();
+        testInputTasks.add(new Todo("todo desc1"));
+        testInputTasks.add(new Deadline("pay rent", "2020-10-01", false, Recurrence.MONTHLY));
+
+        TaskList tasks = new TaskList(testInputTasks);
+        TaskList snapshot = tasks.snapshot();
+        tasks.markTaskAsDone(1);
+        tasks.markTaskAsDone(2);
+        tasks.deleteTask(1);
+        tasks.addTask(new Todo("todo desc2"));
+
+        assertEquals("1. [T][\u2718] todo desc1\n"
+                + "2. [D][\u2718] pay rent (by: Oct 1 2020, every month)", snapshot.toString());
+        assertEquals("1. [D][\u2718] pay rent (by: Nov 1 2020, every month)\n"
+                + "2. [T][\u2718] todo desc2", tasks.toString());
+    }
+
     @Test
     public void toString_emptyTaskList_emptyString() {
         TaskList tasks = new TaskList();
@@ -178,4 +403,91 @@ public class TaskListTest {
                 + "3. [D][\u2718] deadline " + "desc1 (by: Dec 30 2020)\n"
                 + "4. [E][\u2718] event desc1 (at: Dec 30 2020)", tasks.toString());
     }
+
+    @Test
+    public void subscribe_someChanges_changesReceivedInOrder()
+            throws InterruptedException, InvalidDateInputException {
+        TaskList tasks = new TaskList();
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        tasks.subscribe(subscriber);
+
+        tasks.addTask(new Todo("todo desc1"));
+        tasks.addTask(new Todo("todo desc2"));
+        tasks.addTask(new Deadline("deadline desc1", "2020-12-30"));
+        tasks.updateTask(2, new Todo("todo desc3"));
+        tasks.markTaskAsDone(1);
+        BitSet taskIds = new BitSet();
+        taskIds.set(1);
+        taskIds.set(3);
+        tasks.deleteTasks(taskIds);
+
+        assertEquals(List.of("ADDED 1: todo desc1", "ADDED 2: todo desc2",
+                "ADDED 3: deadline desc1", "UPDATED 2: todo desc3", "MARKED_AS_DONE 1: todo desc1",
+                "DELETED 3: deadline desc1", "DELETED 1: todo desc1"), subscriber.awaitChanges(7));
+    }
+
+    @Test
+    public void subscribe_subscriberFallsBehind_errorReceived() throws InterruptedException {
+        TaskList tasks = new TaskList();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        tasks.subscribe(subscriber);
+
+        for (int i = 0; i < 1000; i++) {
+            tasks.addTask(new Todo("todo desc" + i));
+        }
+        subscriber.request(1);
+
+        assertEquals(List.of("error"), subscriber.awaitChanges(1));
+    }
+
+    /**
+     * Records the changes it receives, requesting a fixed number of them up front.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<TaskChange> {
+        private final long numInitialRequests;
+        private final List<String> changes = new ArrayList<>();
+        private Flow.Subscription subscription;
+
+        RecordingSubscriber(long numInitialRequests) {
+            this.numInitialRequests = numInitialRequests;
+        }
+
+        void request(long n) {
+            this.subscription.request(n);
+        }
+
+        synchronized List<String> awaitChanges(int numChanges) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (this.changes.size() < numChanges && System.currentTimeMillis() < deadline) {
+                this.wait(100);
+            }
+            return new ArrayList<>(this.changes);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (this.numInitialRequests > 0) {
+                subscription.request(this.numInitialRequests);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(TaskChange change) {
+            // Tasks are not copied, so only the parts that cannot change are recorded
+            this.changes.add(change.getType() + " " + change.getTaskId() + ": "
+                    + change.getTask().getDescription());
+            this.notifyAll();
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            this.changes.add("error");
+            this.notifyAll();
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
 }